@@ -0,0 +1,101 @@
+package com.finki.agrimanagement.benchmark;
+
+import com.finki.agrimanagement.dto.email.EmailViewModel;
+import com.finki.agrimanagement.dto.email.FertilizationCancelledEmail;
+import com.finki.agrimanagement.dto.email.FertilizationCompletedEmail;
+import com.finki.agrimanagement.dto.email.FertilizationDueEmail;
+import com.finki.agrimanagement.dto.email.IrrigationCompletedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationFailedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationPostponedEmail;
+import com.finki.agrimanagement.enums.NotificationType;
+import com.finki.agrimanagement.service.impl.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders/sec and, with {@code -prof gc}, bytes allocated per render for every email template.
+ * {@code bulk} renders a dispatcher-sized batch through one reused context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateRenderBenchmark {
+
+    private static final int BATCH_SIZE = 20;
+
+    @Param({"IRRIGATION_COMPLETED", "IRRIGATION_FAILED", "IRRIGATION_POSTPONED",
+            "FERTILIZATION_DUE", "FERTILIZATION_COMPLETED", "FERTILIZATION_CANCELLED"})
+    private NotificationType type;
+
+    private EmailTemplateRenderer renderer;
+    private EmailViewModel email;
+    private List<EmailViewModel> batch;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(templateEngine);
+
+        email = sample(type, 0);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(sample(type, i));
+        }
+    }
+
+    @Benchmark
+    public String single() {
+        return renderer.render(email);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> bulk() {
+        return renderer.renderAll(type, batch);
+    }
+
+    private static EmailViewModel sample(NotificationType type, int i) {
+        String parcel = "Parcel " + i;
+        String scheduled = String.format("%02d/05/2026 06:00", i % 28 + 1);
+        return switch (type) {
+            case IRRIGATION_COMPLETED -> new IrrigationCompletedEmail(parcel, "Green Farm", "Pepper", 120.0,
+                    scheduled, scheduled, scheduled);
+            case IRRIGATION_FAILED -> new IrrigationFailedEmail(parcel, "Green Farm", "Pepper", 120.0,
+                    scheduled, "Valve did not open", i % 3);
+            case IRRIGATION_POSTPONED -> new IrrigationPostponedEmail(parcel, "Green Farm", "Pepper", 120.0,
+                    scheduled, scheduled, "Heavy rain expected");
+            case FERTILIZATION_DUE -> new FertilizationDueEmail(parcel, "Green Farm", "Pepper", "NPK", scheduled);
+            case FERTILIZATION_COMPLETED -> new FertilizationCompletedEmail(parcel, "Green Farm", "Pepper", "NPK",
+                    scheduled, scheduled);
+            case FERTILIZATION_CANCELLED -> new FertilizationCancelledEmail(parcel, "Green Farm", "Pepper", "NPK",
+                    scheduled);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.finki.agrimanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.finki.agrimanagement.config.ExportConfig;
+import com.finki.agrimanagement.dto.projection.IrrigationExportRow;
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.repository.CropRepository;
+import com.finki.agrimanagement.repository.FarmRepository;
+import com.finki.agrimanagement.repository.FertilizationRepository;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.repository.ParcelRepository;
+import com.finki.agrimanagement.service.ParcelService;
+import com.finki.agrimanagement.service.impl.ExportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Irrigation export at 10k, 100k and 1M rows as an XLSX workbook and as CSV and NDJSON.
+ * The repository streams prebuilt projection rows, so only the sheet builders and writers are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ExportServiceImpl exportService;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 6, 0);
+        IrrigationStatus[] statuses = IrrigationStatus.values();
+        List<IrrigationExportRow> irrigations = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime scheduled = start.plusMinutes(i);
+            irrigations.add(new IrrigationRow((long) i, "Parcel " + (i % 500), "Farm " + (i % 20), scheduled,
+                    30, 120.0 + i % 50, statuses[i % statuses.length], scheduled, scheduled.plusMinutes(30), i % 3));
+        }
+
+        IrrigationRepository irrigationRepository = mock(IrrigationRepository.class);
+        when(irrigationRepository.streamAllForExport()).thenAnswer(invocation -> irrigations.stream());
+        exportService = new ExportServiceImpl(mock(FarmRepository.class), mock(ParcelRepository.class),
+                irrigationRepository, mock(FertilizationRepository.class), mock(CropRepository.class),
+                mock(ParcelService.class), new ExportConfig(), new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void xlsx() throws IOException {
+        try (Workbook workbook = exportService.exportAllIrrigations()) {
+            workbook.write(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void csv() throws IOException {
+        exportService.writeAllIrrigations(ExportFormat.CSV, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void ndjson() throws IOException {
+        exportService.writeAllIrrigations(ExportFormat.NDJSON, OutputStream.nullOutputStream());
+    }
+
+    private record IrrigationRow(Long getId, String getParcelName, String getFarmName,
+                                 LocalDateTime getScheduledDatetime, Integer getDurationMinutes,
+                                 Double getWaterAmountLiters, IrrigationStatus getStatus,
+                                 LocalDateTime getStartDatetime, LocalDateTime getFinishedDatetime,
+                                 Integer getRetryCount) implements IrrigationExportRow {
+    }
+}
@@ -0,0 +1,92 @@
+package com.finki.agrimanagement.benchmark;
+
+import com.finki.agrimanagement.dto.projection.IrrigationDueEntry;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.scheduler.IrrigationDueIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Due-selection in the scheduler: moving a rescheduled irrigation inside an index of pending irrigations,
+ * and taking the irrigations that became due off the front of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IrrigationDueIndexBenchmark {
+
+    private static final int DUE_PER_RUN = 50;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 6, 0);
+
+    @Param({"10000", "100000"})
+    private int pending;
+
+    private IrrigationDueIndex index;
+    private Irrigation[] rescheduled;
+    private Irrigation[] due;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<IrrigationDueEntry> entries = new ArrayList<>(pending);
+        for (long id = 1; id <= pending; id++) {
+            entries.add(new DueEntry(id, NOW.plusMinutes(1 + id % 10_000)));
+        }
+        index = new IrrigationDueIndex();
+        index.rebuild(entries);
+
+        rescheduled = new Irrigation[1024];
+        for (int i = 0; i < rescheduled.length; i++) {
+            rescheduled[i] = irrigation(1L + (i * 7919L) % pending, NOW.plusMinutes(1 + (i * 31L) % 10_000));
+        }
+        due = new Irrigation[DUE_PER_RUN];
+        for (int i = 0; i < DUE_PER_RUN; i++) {
+            due[i] = irrigation(pending + 1L + i, NOW.minusMinutes(i));
+        }
+    }
+
+    @Benchmark
+    public int reschedule() {
+        index.track(rescheduled[next++ & (rescheduled.length - 1)]);
+        return index.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DUE_PER_RUN)
+    public List<Long> pollDue() {
+        for (Irrigation irrigation : due) {
+            index.track(irrigation);
+        }
+        return index.pollDue(NOW);
+    }
+
+    private static Irrigation irrigation(Long id, LocalDateTime scheduledDatetime) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setId(id);
+        irrigation.setScheduledDatetime(scheduledDatetime);
+        irrigation.setStatus(IrrigationStatus.SCHEDULED);
+        return irrigation;
+    }
+
+    private record DueEntry(Long getId, LocalDateTime getScheduledDatetime) implements IrrigationDueEntry {
+    }
+}
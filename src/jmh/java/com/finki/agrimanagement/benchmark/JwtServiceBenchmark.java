@@ -0,0 +1,75 @@
+package com.finki.agrimanagement.benchmark;
+
+import com.finki.agrimanagement.config.JwtCacheConfig;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.service.impl.JwtServiceImpl;
+import com.finki.agrimanagement.service.impl.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the per-request validation done by the authentication filter,
+ * with and without the verified-claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("a-benchmark-secret-that-is-long-enough-for-hs256".getBytes());
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtCacheConfig cacheConfig = new JwtCacheConfig();
+        cacheConfig.setEnabled(cacheEnabled);
+        jwtService = new JwtServiceImpl(SECRET, 1_800_000, 604_800_000, new VerifiedTokenCache(cacheConfig));
+        user = User.builder()
+                .id(1L)
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("bench@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    /**
+     * What {@code JwtAuthenticationFilter} does for every authenticated request
+     */
+    @Benchmark
+    public boolean authenticateRequest() {
+        String username = jwtService.extractUsername(token);
+        return username != null && jwtService.isTokenValid(token, user);
+    }
+}
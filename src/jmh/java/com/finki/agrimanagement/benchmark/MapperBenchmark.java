@@ -0,0 +1,146 @@
+package com.finki.agrimanagement.benchmark;
+
+import com.finki.agrimanagement.dto.request.IrrigationRequestDTO;
+import com.finki.agrimanagement.dto.request.ParcelRequestDTO;
+import com.finki.agrimanagement.dto.response.FarmResponseDTO;
+import com.finki.agrimanagement.dto.response.FertilizationResponseDTO;
+import com.finki.agrimanagement.dto.response.IrrigationResponseDTO;
+import com.finki.agrimanagement.dto.response.ParcelResponseDTO;
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.mapper.FarmMapper;
+import com.finki.agrimanagement.mapper.FarmMapperImpl;
+import com.finki.agrimanagement.mapper.FertilizationMapper;
+import com.finki.agrimanagement.mapper.FertilizationMapperImpl;
+import com.finki.agrimanagement.mapper.IrrigationMapper;
+import com.finki.agrimanagement.mapper.IrrigationMapperImpl;
+import com.finki.agrimanagement.mapper.ParcelMapper;
+import com.finki.agrimanagement.mapper.ParcelMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the MapStruct mappers used on every list and detail endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final IrrigationMapper irrigationMapper = new IrrigationMapperImpl();
+    private final ParcelMapper parcelMapper = new ParcelMapperImpl();
+    private final FertilizationMapper fertilizationMapper = new FertilizationMapperImpl();
+    private final FarmMapper farmMapper = new FarmMapperImpl();
+
+    private Farm farm;
+    private Parcel parcel;
+    private Irrigation irrigation;
+    private Fertilization fertilization;
+    private IrrigationRequestDTO irrigationRequest;
+    private ParcelRequestDTO parcelRequest;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 5, 1, 6, 0);
+
+        farm = new Farm();
+        farm.setId(1L);
+        farm.setName("Green Farm");
+        farm.setLocation("Skopje");
+
+        Crop crop = new Crop();
+        crop.setId(1L);
+        crop.setName("Pepper");
+
+        parcel = new Parcel();
+        parcel.setId(1L);
+        parcel.setName("North");
+        parcel.setLatitude(41.99);
+        parcel.setLongitude(21.43);
+        parcel.setArea(12.5);
+        parcel.setFarm(farm);
+        parcel.setCrop(crop);
+        farm.getParcels().add(parcel);
+
+        irrigation = new Irrigation();
+        irrigation.setId(1L);
+        irrigation.setParcel(parcel);
+        irrigation.setScheduledDatetime(now);
+        irrigation.setDurationMinutes(30);
+        irrigation.setWaterAmountLiters(120.0);
+        irrigation.setStatus(IrrigationStatus.COMPLETED);
+        irrigation.setStartDatetime(now);
+        irrigation.setFinishedDatetime(now.plusMinutes(30));
+
+        fertilization = new Fertilization();
+        fertilization.setId(1L);
+        fertilization.setParcel(parcel);
+        fertilization.setScheduledDatetime(now);
+        fertilization.setFertilizerType("NPK");
+        fertilization.setStatus(FertilizationStatus.COMPLETED);
+
+        irrigationRequest = new IrrigationRequestDTO();
+        irrigationRequest.setParcelId(1L);
+        irrigationRequest.setScheduledDatetime(now);
+        irrigationRequest.setDurationMinutes(30);
+        irrigationRequest.setWaterAmountLiters(120.0);
+        irrigationRequest.setStatus(IrrigationStatus.SCHEDULED);
+
+        parcelRequest = new ParcelRequestDTO();
+        parcelRequest.setName("North");
+        parcelRequest.setLatitude(41.99);
+        parcelRequest.setLongitude(21.43);
+        parcelRequest.setArea(12.5);
+        parcelRequest.setFarmId(1L);
+        parcelRequest.setCropId(1L);
+    }
+
+    @Benchmark
+    public IrrigationResponseDTO irrigationToDTO() {
+        return irrigationMapper.toDTO(irrigation);
+    }
+
+    @Benchmark
+    public Irrigation irrigationToEntity() {
+        return irrigationMapper.toEntity(irrigationRequest);
+    }
+
+    @Benchmark
+    public ParcelResponseDTO parcelToDTO() {
+        return parcelMapper.toDTO(parcel);
+    }
+
+    @Benchmark
+    public Parcel parcelToEntity() {
+        return parcelMapper.toEntity(parcelRequest);
+    }
+
+    @Benchmark
+    public FertilizationResponseDTO fertilizationToDTO() {
+        return fertilizationMapper.toDTO(fertilization);
+    }
+
+    @Benchmark
+    public FarmResponseDTO farmToDTO() {
+        return farmMapper.toDTO(farm);
+    }
+}
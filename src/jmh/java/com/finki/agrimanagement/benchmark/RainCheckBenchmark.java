@@ -0,0 +1,94 @@
+package com.finki.agrimanagement.benchmark;
+
+import com.finki.agrimanagement.config.WeatherCacheConfig;
+import com.finki.agrimanagement.dto.weather.CoordDTO;
+import com.finki.agrimanagement.dto.weather.RainCheckResultDTO;
+import com.finki.agrimanagement.service.impl.WeatherCache;
+import com.finki.agrimanagement.service.impl.WeatherServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rain decision made for every due irrigation, with OpenWeather answered from the weather cache,
+ * for a single parcel and for a scheduler run covering {@value #PARCELS} parcels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RainCheckBenchmark {
+
+    private static final int PARCELS = 100;
+
+    @Param({"CLEAR", "RAINING", "RAIN_EXPECTED"})
+    private String conditions;
+
+    private WeatherServiceImpl weatherService;
+    private List<CoordDTO> locations;
+
+    @Setup
+    public void setUp() {
+        String body = switch (conditions) {
+            case "RAINING" -> """
+                    {"weather":[{"main":"Rain","description":"light rain"}],"rain":{"1h":0.3}}""";
+            case "RAIN_EXPECTED" -> """
+                    {"weather":[{"main":"Clouds","description":"overcast clouds"}],"rain":{"1h":1.2}}""";
+            default -> """
+                    {"weather":[{"main":"Clear","description":"clear sky"}]}""";
+        };
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request ->
+                Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()));
+        WeatherCacheConfig cacheConfig = new WeatherCacheConfig();
+        cacheConfig.setTtl(Duration.ofDays(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        weatherService = new WeatherServiceImpl(webClientBuilder, "http://weather.test", "key",
+                10, Duration.ofSeconds(5), new WeatherCache(cacheConfig, meterRegistry), meterRegistry);
+
+        locations = new ArrayList<>(PARCELS);
+        for (int i = 0; i < PARCELS; i++) {
+            locations.add(new CoordDTO(21.40 + (i % 10) * 0.03, 41.90 + (i / 10) * 0.03));
+        }
+        // Load every weather cell up front so only the decision is measured
+        weatherService.checkRainConditions(locations);
+    }
+
+    @Benchmark
+    public RainCheckResultDTO singleParcel() {
+        CoordDTO location = locations.get(0);
+        return weatherService.checkRainConditions(location.getLat(), location.getLon());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARCELS)
+    public Map<CoordDTO, RainCheckResultDTO> schedulerRun() {
+        return weatherService.checkRainConditions(locations);
+    }
+}
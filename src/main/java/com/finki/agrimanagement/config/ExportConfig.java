@@ -0,0 +1,33 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "export")
+@Getter
+@Setter
+public class ExportConfig {
+
+    /**
+     * Number of rows kept in memory per sheet, older rows are flushed to a temporary file
+     */
+    private int rowWindowSize = 100;
+
+    /**
+     * Number of leading rows used to estimate column widths
+     */
+    private int widthSampleRows = 100;
+
+    /**
+     * Upper bound for an estimated column width, in characters
+     */
+    private int maxColumnWidthChars = 60;
+
+    /**
+     * Number of rows written to a CSV or NDJSON export between flushes to the client
+     */
+    private int textFlushRows = 500;
+}
@@ -0,0 +1,40 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "export.jobs")
+@Getter
+@Setter
+public class ExportJobConfig {
+
+    /**
+     * Number of export jobs generated at the same time
+     */
+    private int workerThreads = 2;
+
+    /**
+     * Number of submitted jobs that may wait for a worker before new submissions are rejected
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * Directory where finished export files are kept until they expire
+     */
+    private String storageDirectory;
+
+    /**
+     * How long a finished job and its file stay available for download
+     */
+    private Duration resultTtl = Duration.ofHours(1);
+
+    /**
+     * Interval in minutes between removals of expired jobs
+     */
+    private int cleanupIntervalMinutes = 5;
+}
@@ -0,0 +1,34 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "history.partitions")
+@Getter
+@Setter
+public class HistoryPartitionConfig {
+
+    /**
+     * Number of months after the current one for which irrigation and fertilization partitions are kept created,
+     * so rows scheduled ahead land in their own month instead of the default partition
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Whether monthly partitions older than the retention period are detached into the history archive schema
+     */
+    private boolean archiveEnabled = false;
+
+    /**
+     * Number of whole months, before the current one, kept attached when archiving is enabled
+     */
+    private int retentionMonths = 24;
+
+    /**
+     * When partitions are created and archived
+     */
+    private String maintenanceCron = "0 15 1 * * *";
+}
@@ -0,0 +1,48 @@
+package com.finki.agrimanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "irrigation.execution")
+public class IrrigationExecutionConfig {
+
+    /**
+     * Maximum number of irrigations executed at the same time
+     */
+    private int maxConcurrency;
+
+    /**
+     * Seconds after which an execution tick stops starting new irrigations
+     */
+    private int tickDeadlineSeconds;
+
+    /**
+     * Interval in minutes between full reloads of the due-work index from the database
+     */
+    private int reconcileIntervalMinutes;
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getTickDeadlineSeconds() {
+        return tickDeadlineSeconds;
+    }
+
+    public void setTickDeadlineSeconds(int tickDeadlineSeconds) {
+        this.tickDeadlineSeconds = tickDeadlineSeconds;
+    }
+
+    public int getReconcileIntervalMinutes() {
+        return reconcileIntervalMinutes;
+    }
+
+    public void setReconcileIntervalMinutes(int reconcileIntervalMinutes) {
+        this.reconcileIntervalMinutes = reconcileIntervalMinutes;
+    }
+}
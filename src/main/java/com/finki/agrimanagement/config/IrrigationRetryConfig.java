@@ -22,6 +22,11 @@ public class IrrigationRetryConfig {
      */
     private int overdueHours;
 
+    /**
+     * Number of overdue irrigations locked and marked as FAILED per transaction
+     */
+    private int overdueBatchSize;
+
     public int getMaxAttempts() {
         return maxAttempts;
     }
@@ -45,5 +50,13 @@ public class IrrigationRetryConfig {
     public void setOverdueHours(int overdueHours) {
         this.overdueHours = overdueHours;
     }
+
+    public int getOverdueBatchSize() {
+        return overdueBatchSize;
+    }
+
+    public void setOverdueBatchSize(int overdueBatchSize) {
+        this.overdueBatchSize = overdueBatchSize;
+    }
 }
 
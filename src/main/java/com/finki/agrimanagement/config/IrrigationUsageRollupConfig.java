@@ -0,0 +1,41 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "irrigation.usage-rollup")
+@Getter
+@Setter
+public class IrrigationUsageRollupConfig {
+
+    /**
+     * Whether to build the daily usage rows of past days from the irrigation history after startup
+     * when they are missing, retrying on the leader until the backfill has finished
+     */
+    private boolean backfillOnStartup = true;
+
+    /**
+     * How often the leader checks for an unfinished backfill and resumes it
+     */
+    private Duration backfillCheckInterval = Duration.ofMinutes(10);
+
+    /**
+     * Number of days rebuilt per transaction while backfilling
+     */
+    private int backfillChunkDays = 31;
+
+    /**
+     * Number of days before today rebuilt every night, correcting any drift of the incremental updates
+     */
+    private int reconcileDays = 2;
+
+    /**
+     * When the nightly rebuild of the last days runs
+     */
+    private String reconcileCron = "0 30 0 * * *";
+}
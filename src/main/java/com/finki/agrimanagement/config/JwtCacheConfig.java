@@ -0,0 +1,20 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "jwt.cache")
+@Getter
+@Setter
+public class JwtCacheConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of verified tokens kept, least recently used tokens are evicted first
+     */
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,42 @@
+package com.finki.agrimanagement.config;
+
+import com.finki.agrimanagement.enums.NotificationType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Configuration
+@ConfigurationProperties(prefix = "notification.digest")
+@Getter
+@Setter
+public class NotificationDigestConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * How long notifications of a digested type wait for others to the same recipient
+     */
+    private Duration window = Duration.ofMinutes(5);
+
+    /**
+     * Largest number of notifications combined into one digest email
+     */
+    private int maxEvents = 500;
+
+    /**
+     * Notification types that are combined into digests; the others are always sent one by one
+     */
+    private Set<NotificationType> types = EnumSet.of(
+            NotificationType.IRRIGATION_COMPLETED,
+            NotificationType.IRRIGATION_POSTPONED,
+            NotificationType.FERTILIZATION_DUE);
+
+    public boolean isDigested(NotificationType type) {
+        return enabled && types.contains(type);
+    }
+}
@@ -0,0 +1,50 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notification.outbox")
+@Getter
+@Setter
+public class NotificationOutboxConfig {
+
+    /**
+     * Delay between checks for pending notifications once the outbox has been drained
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Number of emails sent over one SMTP connection
+     */
+    private int batchSize = 20;
+
+    /**
+     * Upper bound on emails sent per second, to stay within the mail provider's limits
+     */
+    private double maxPerSecond = 5;
+
+    /**
+     * Send attempts after which a notification is marked as failed
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Delay before the first retry, doubled after every further failed attempt
+     */
+    private Duration initialBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Longest delay between two retries
+     */
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * How long sent notifications are kept before they are deleted
+     */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,54 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@ConfigurationProperties(prefix = "scheduler.cluster")
+@Getter
+@Setter
+public class SchedulerClusterConfig {
+
+    /**
+     * Name of this instance in the leader lease and in irrigation claims, unique across the cluster
+     */
+    private String instanceId = defaultInstanceId();
+
+    /**
+     * How long the leader lease stays valid without being renewed
+     */
+    private Duration leaseTtl = Duration.ofSeconds(60);
+
+    /**
+     * Delay between renewals of the leader lease, well below the lease TTL
+     */
+    private Duration leaseRenewInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long a claimed irrigation is reserved for the instance that claimed it.
+     * Must be longer than a tick can run, after that another instance may pick it up.
+     */
+    private Duration claimTtl = Duration.ofMinutes(10);
+
+    /**
+     * Number of due fertilizations locked and marked as pending per transaction
+     */
+    private int fertilizationClaimBatchSize = 100;
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
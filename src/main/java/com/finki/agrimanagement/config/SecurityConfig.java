@@ -2,6 +2,7 @@ package com.finki.agrimanagement.config;
 
 import com.finki.agrimanagement.repository.UserRepository;
 import com.finki.agrimanagement.service.JwtService;
+import com.finki.agrimanagement.service.impl.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,6 +28,7 @@ public class SecurityConfig {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -35,6 +37,7 @@ public class SecurityConfig {
                 .cors(cors -> cors.configure(http)) // Enable CORS
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/api/farms/**").authenticated()
                         .requestMatchers("/api/parcels/**").authenticated()
                         .requestMatchers("/api/crops/**").authenticated()
@@ -60,8 +63,8 @@ public class SecurityConfig {
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return username -> userPrincipalCache.get(username, email -> userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
     }
 
     @Bean
@@ -0,0 +1,27 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.user-cache")
+@Getter
+@Setter
+public class UserCacheConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a loaded user is served to authenticated requests before it is read from the database again
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of cached users, least recently used users are evicted first
+     */
+    private int maxEntries = 1_000;
+}
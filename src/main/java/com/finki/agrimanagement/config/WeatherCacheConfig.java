@@ -0,0 +1,32 @@
+package com.finki.agrimanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "openweather.cache")
+@Getter
+@Setter
+public class WeatherCacheConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * Size of the lat/lon grid cell, in degrees, that shares one cached weather reading
+     */
+    private double cellSizeDegrees = 0.01;
+
+    /**
+     * How long a cached weather reading is served before it is fetched again
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of cached grid cells, least recently used cells are evicted first
+     */
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,48 @@
+package com.finki.agrimanagement.controller;
+
+import com.finki.agrimanagement.dto.response.FarmDashboardResponseDTO;
+import com.finki.agrimanagement.dto.response.WaterUsageResponseDTO;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.UsagePeriod;
+import com.finki.agrimanagement.service.DashboardService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/farms/{farmId}/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<FarmDashboardResponseDTO> getFarmDashboard(
+            @PathVariable Long farmId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(dashboardService.getFarmDashboard(farmId, from, to, user));
+    }
+
+    @GetMapping("/water-usage")
+    public ResponseEntity<List<WaterUsageResponseDTO>> getWaterUsage(
+            @PathVariable Long farmId,
+            @RequestParam(defaultValue = "DAY") UsagePeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(dashboardService.getWaterUsage(farmId, period, from, to, user));
+    }
+}
@@ -1,5 +1,7 @@
 package com.finki.agrimanagement.controller;
 
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportReportType;
 import com.finki.agrimanagement.service.ExportService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -7,6 +9,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -23,13 +26,13 @@ public class ExportController {
     @GetMapping("/farms")
     public void exportFarmOverview(HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportFarmOverviewReport();
-        writeWorkbookToResponse(response, workbook, "farm-overview-report");
+        writeWorkbookToResponse(response, ExportReportType.FARM_OVERVIEW, workbook, "farm-overview-report");
     }
 
     @GetMapping("/irrigations")
     public void exportAllIrrigations(HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportAllIrrigations();
-        writeWorkbookToResponse(response, workbook, "irrigations-all");
+        writeWorkbookToResponse(response, ExportReportType.IRRIGATIONS, workbook, "irrigations-all");
     }
 
     @GetMapping("/irrigations/farm/{farmId}")
@@ -37,13 +40,32 @@ public class ExportController {
             @PathVariable Long farmId,
             HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportIrrigationByFarm(farmId);
-        writeWorkbookToResponse(response, workbook, "irrigations-farm-" + farmId);
+        writeWorkbookToResponse(response, ExportReportType.IRRIGATIONS, workbook, "irrigations-farm-" + farmId);
+    }
+
+    @GetMapping("/irrigations/{format:csv|ndjson}")
+    public void streamAllIrrigations(
+            @PathVariable String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format);
+        prepareTextResponse(response, exportFormat, "irrigations-all");
+        exportService.writeAllIrrigations(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/irrigations/farm/{farmId}/{format:csv|ndjson}")
+    public void streamIrrigationsByFarm(
+            @PathVariable Long farmId,
+            @PathVariable String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format);
+        prepareTextResponse(response, exportFormat, "irrigations-farm-" + farmId);
+        exportService.writeIrrigationsByFarm(farmId, exportFormat, response.getOutputStream());
     }
 
     @GetMapping("/fertilizations")
     public void exportAllFertilizations(HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportAllFertilizations();
-        writeWorkbookToResponse(response, workbook, "fertilizations-all");
+        writeWorkbookToResponse(response, ExportReportType.FERTILIZATIONS, workbook, "fertilizations-all");
     }
 
     @GetMapping("/fertilizations/farm/{farmId}")
@@ -51,7 +73,26 @@ public class ExportController {
             @PathVariable Long farmId,
             HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportFertilizationByFarm(farmId);
-        writeWorkbookToResponse(response, workbook, "fertilizations-farm-" + farmId);
+        writeWorkbookToResponse(response, ExportReportType.FERTILIZATIONS, workbook, "fertilizations-farm-" + farmId);
+    }
+
+    @GetMapping("/fertilizations/{format:csv|ndjson}")
+    public void streamAllFertilizations(
+            @PathVariable String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format);
+        prepareTextResponse(response, exportFormat, "fertilizations-all");
+        exportService.writeAllFertilizations(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/fertilizations/farm/{farmId}/{format:csv|ndjson}")
+    public void streamFertilizationsByFarm(
+            @PathVariable Long farmId,
+            @PathVariable String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromExtension(format);
+        prepareTextResponse(response, exportFormat, "fertilizations-farm-" + farmId);
+        exportService.writeFertilizationsByFarm(farmId, exportFormat, response.getOutputStream());
     }
 
     @GetMapping("/parcel/{parcelId}")
@@ -59,13 +100,13 @@ public class ExportController {
             @PathVariable Long parcelId,
             HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportParcelActivityReport(parcelId);
-        writeWorkbookToResponse(response, workbook, "parcel-" + parcelId + "-activity");
+        writeWorkbookToResponse(response, ExportReportType.PARCEL_ACTIVITY, workbook, "parcel-" + parcelId + "-activity");
     }
 
     @GetMapping("/crops")
     public void exportCropManagement(HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportCropManagementReport();
-        writeWorkbookToResponse(response, workbook, "crop-management-report");
+        writeWorkbookToResponse(response, ExportReportType.CROP_MANAGEMENT, workbook, "crop-management-report");
     }
 
     @GetMapping("/farm/{farmId}")
@@ -73,7 +114,7 @@ public class ExportController {
             @PathVariable Long farmId,
             HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportCompleteFarmReport(farmId);
-        writeWorkbookToResponse(response, workbook, "farm-" + farmId + "-complete");
+        writeWorkbookToResponse(response, ExportReportType.COMPLETE_FARM, workbook, "farm-" + farmId + "-complete");
     }
 
     @GetMapping("/parcel/{parcelId}/weather")
@@ -81,19 +122,27 @@ public class ExportController {
             @PathVariable Long parcelId,
             HttpServletResponse response) throws IOException {
         Workbook workbook = exportService.exportParcelWeather(parcelId);
-        writeWorkbookToResponse(response, workbook, "parcel-" + parcelId + "-weather");
+        writeWorkbookToResponse(response, ExportReportType.PARCEL_WEATHER, workbook, "parcel-" + parcelId + "-weather");
+    }
+
+    private void prepareTextResponse(HttpServletResponse response, ExportFormat format, String baseFilename) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        String filename = baseFilename + "-" + timestamp + "." + format.getExtension();
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
     }
 
-    private void writeWorkbookToResponse(HttpServletResponse response, Workbook workbook, String baseFilename)
-            throws IOException {
+    private void writeWorkbookToResponse(HttpServletResponse response, ExportReportType reportType,
+                                         Workbook workbook, String baseFilename) throws IOException {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
         String filename = baseFilename + "-" + timestamp + ".xlsx";
 
         response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        workbook.write(response.getOutputStream());
-        workbook.close();
+        exportService.writeWorkbook(reportType, workbook, response.getOutputStream());
     }
 }
 
@@ -0,0 +1,49 @@
+package com.finki.agrimanagement.controller;
+
+import com.finki.agrimanagement.dto.request.ExportJobRequestDTO;
+import com.finki.agrimanagement.dto.response.ExportJobResponseDTO;
+import com.finki.agrimanagement.service.ExportJobService;
+import jakarta.validation.Valid;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/export/jobs")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    public ExportJobController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ExportJobResponseDTO> submitJob(@Valid @RequestBody ExportJobRequestDTO dto) {
+        return new ResponseEntity<>(exportJobService.submitJob(dto), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ExportJobResponseDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadJobResult(@PathVariable String jobId) {
+        Resource file = exportJobService.getJobResult(jobId);
+        ExportJobResponseDTO job = exportJobService.getJob(jobId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFilename() + "\"")
+                .body(file);
+    }
+}
@@ -2,6 +2,7 @@ package com.finki.agrimanagement.controller;
 
 import com.finki.agrimanagement.dto.request.FertilizationRequestDTO;
 import com.finki.agrimanagement.dto.response.FertilizationResponseDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.entity.User;
 import com.finki.agrimanagement.enums.FertilizationStatus;
 import com.finki.agrimanagement.service.FertilizationService;
@@ -50,8 +51,10 @@ public class FertilizationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<FertilizationResponseDTO>> getAllFertilizations() {
-        return ResponseEntity.ok(fertilizationService.getAllFertilizations());
+    public ResponseEntity<PageResponseDTO<FertilizationResponseDTO>> getAllFertilizations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(fertilizationService.getAllFertilizations(cursor, size));
     }
 
     @GetMapping("/{id}")
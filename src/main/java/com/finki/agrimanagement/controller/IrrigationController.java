@@ -2,6 +2,7 @@ package com.finki.agrimanagement.controller;
 
 import com.finki.agrimanagement.dto.request.IrrigationRequestDTO;
 import com.finki.agrimanagement.dto.response.IrrigationResponseDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.entity.User;
 import com.finki.agrimanagement.enums.IrrigationStatus;
 import com.finki.agrimanagement.service.IrrigationExecutionService;
@@ -42,8 +43,10 @@ public class IrrigationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<IrrigationResponseDTO>> getAllIrrigations() {
-        return ResponseEntity.ok(irrigationService.getAllIrrigations());
+    public ResponseEntity<PageResponseDTO<IrrigationResponseDTO>> getAllIrrigations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(irrigationService.getAllIrrigations(cursor, size));
     }
 
     @GetMapping("/{id}")
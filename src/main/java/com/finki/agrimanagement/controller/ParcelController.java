@@ -1,6 +1,7 @@
 package com.finki.agrimanagement.controller;
 
 import com.finki.agrimanagement.dto.request.ParcelRequestDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.dto.response.ParcelResponseDTO;
 import com.finki.agrimanagement.dto.weather.ParcelWeatherDTO;
 import com.finki.agrimanagement.service.ParcelService;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -34,8 +36,10 @@ public class ParcelController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ParcelResponseDTO>> getAllParcels() {
-        return ResponseEntity.ok(parcelService.getAllParcels());
+    public ResponseEntity<PageResponseDTO<ParcelResponseDTO>> getAllParcels(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(parcelService.getAllParcels(cursor, size));
     }
 
     @GetMapping("/farm/{farmId}")
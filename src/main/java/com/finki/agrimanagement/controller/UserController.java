@@ -1,5 +1,6 @@
 package com.finki.agrimanagement.controller;
 
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.dto.response.UserResponseDTO;
 import com.finki.agrimanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -7,8 +8,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -18,8 +17,10 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<PageResponseDTO<UserResponseDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getAllUsers(cursor, size));
     }
 
     @GetMapping("/{id}")
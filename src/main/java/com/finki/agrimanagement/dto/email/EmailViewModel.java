@@ -0,0 +1,30 @@
+package com.finki.agrimanagement.dto.email;
+
+import com.finki.agrimanagement.enums.NotificationType;
+
+/**
+ * Values shown in one notification email. Each record component is exposed to the
+ * template of the notification type as a variable of the same name.
+ */
+public interface EmailViewModel {
+
+    NotificationType type();
+
+    String subject();
+
+    String parcelName();
+
+    String farmName();
+
+    String cropName();
+
+    /**
+     * Value shown in the time column when the notification is part of a digest
+     */
+    String digestTime();
+
+    /**
+     * Value shown in the details column when the notification is part of a digest
+     */
+    Object digestDetail();
+}
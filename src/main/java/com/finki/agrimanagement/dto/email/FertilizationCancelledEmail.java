@@ -0,0 +1,30 @@
+package com.finki.agrimanagement.dto.email;
+
+import com.finki.agrimanagement.enums.NotificationType;
+
+public record FertilizationCancelledEmail(String parcelName,
+                                          String farmName,
+                                          String cropName,
+                                          String fertilizerType,
+                                          String scheduledDate) implements EmailViewModel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.FERTILIZATION_CANCELLED;
+    }
+
+    @Override
+    public String subject() {
+        return "🚫 Fertilization Cancelled - " + parcelName;
+    }
+
+    @Override
+    public String digestTime() {
+        return scheduledDate;
+    }
+
+    @Override
+    public Object digestDetail() {
+        return fertilizerType;
+    }
+}
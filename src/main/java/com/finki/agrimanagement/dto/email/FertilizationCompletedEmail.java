@@ -0,0 +1,31 @@
+package com.finki.agrimanagement.dto.email;
+
+import com.finki.agrimanagement.enums.NotificationType;
+
+public record FertilizationCompletedEmail(String parcelName,
+                                          String farmName,
+                                          String cropName,
+                                          String fertilizerType,
+                                          String scheduledDate,
+                                          String completedDate) implements EmailViewModel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.FERTILIZATION_COMPLETED;
+    }
+
+    @Override
+    public String subject() {
+        return "✅ Fertilization Completed - " + parcelName;
+    }
+
+    @Override
+    public String digestTime() {
+        return completedDate;
+    }
+
+    @Override
+    public Object digestDetail() {
+        return fertilizerType;
+    }
+}
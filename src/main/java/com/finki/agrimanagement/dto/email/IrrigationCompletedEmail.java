@@ -0,0 +1,32 @@
+package com.finki.agrimanagement.dto.email;
+
+import com.finki.agrimanagement.enums.NotificationType;
+
+public record IrrigationCompletedEmail(String parcelName,
+                                       String farmName,
+                                       String cropName,
+                                       Double waterAmount,
+                                       String scheduledTime,
+                                       String startTime,
+                                       String finishTime) implements EmailViewModel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.IRRIGATION_COMPLETED;
+    }
+
+    @Override
+    public String subject() {
+        return "✅ Irrigation Completed - " + parcelName;
+    }
+
+    @Override
+    public String digestTime() {
+        return finishTime;
+    }
+
+    @Override
+    public Object digestDetail() {
+        return waterAmount;
+    }
+}
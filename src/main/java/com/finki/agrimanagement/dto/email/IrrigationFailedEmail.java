@@ -0,0 +1,32 @@
+package com.finki.agrimanagement.dto.email;
+
+import com.finki.agrimanagement.enums.NotificationType;
+
+public record IrrigationFailedEmail(String parcelName,
+                                    String farmName,
+                                    String cropName,
+                                    Double waterAmount,
+                                    String scheduledTime,
+                                    String reason,
+                                    Integer retryCount) implements EmailViewModel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.IRRIGATION_FAILED;
+    }
+
+    @Override
+    public String subject() {
+        return "❌ Irrigation Failed - " + parcelName;
+    }
+
+    @Override
+    public String digestTime() {
+        return scheduledTime;
+    }
+
+    @Override
+    public Object digestDetail() {
+        return reason;
+    }
+}
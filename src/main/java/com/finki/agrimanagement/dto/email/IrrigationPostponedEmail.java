@@ -0,0 +1,32 @@
+package com.finki.agrimanagement.dto.email;
+
+import com.finki.agrimanagement.enums.NotificationType;
+
+public record IrrigationPostponedEmail(String parcelName,
+                                       String farmName,
+                                       String cropName,
+                                       Double waterAmount,
+                                       String originalTime,
+                                       String newTime,
+                                       String weatherReason) implements EmailViewModel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.IRRIGATION_POSTPONED;
+    }
+
+    @Override
+    public String subject() {
+        return "⏰ Irrigation Postponed - " + parcelName;
+    }
+
+    @Override
+    public String digestTime() {
+        return originalTime;
+    }
+
+    @Override
+    public Object digestDetail() {
+        return weatherReason;
+    }
+}
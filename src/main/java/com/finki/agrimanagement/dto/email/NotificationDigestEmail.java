@@ -0,0 +1,21 @@
+package com.finki.agrimanagement.dto.email;
+
+import java.util.List;
+
+/**
+ * Values shown in a digest email that combines several notifications of one type
+ */
+public record NotificationDigestEmail(String title,
+                                      int count,
+                                      String firstTime,
+                                      String lastTime,
+                                      List<Item> items) {
+
+    public record Item(String farmName, String parcelName, String cropName, String time, Object detail) {
+
+        public static Item of(EmailViewModel notification) {
+            return new Item(notification.farmName(), notification.parcelName(), notification.cropName(),
+                    notification.digestTime(), notification.digestDetail());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.finki.agrimanagement.dto.projection;
+
+/**
+ * Parcel count and planted area of one crop on a farm, aggregated in the query.
+ */
+public interface CropAreaRow {
+
+    Long getCropId();
+
+    String getCropName();
+
+    Long getParcelCount();
+
+    Double getTotalArea();
+}
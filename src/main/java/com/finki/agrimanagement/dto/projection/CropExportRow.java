@@ -0,0 +1,25 @@
+package com.finki.agrimanagement.dto.projection;
+
+/**
+ * Crop row for exports, with the parcel count and planted area aggregated in the query.
+ */
+public interface CropExportRow {
+
+    Long getId();
+
+    String getName();
+
+    Integer getIrrigationFrequencyDays();
+
+    Integer getFertilizationFrequencyDays();
+
+    String getFertilizerType();
+
+    Integer getIrrigationDurationMinutes();
+
+    Double getWaterRequirementLitersPerSqm();
+
+    Long getParcelCount();
+
+    Double getTotalArea();
+}
@@ -0,0 +1,22 @@
+package com.finki.agrimanagement.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Farm row for exports, with its parcel count aggregated in the query
+ * and the water used by its completed irrigations summed from the daily usage rollup.
+ */
+public interface FarmExportRow {
+
+    Long getId();
+
+    String getName();
+
+    String getLocation();
+
+    Long getParcelCount();
+
+    LocalDateTime getCreatedAt();
+
+    Double getWaterUsedLiters();
+}
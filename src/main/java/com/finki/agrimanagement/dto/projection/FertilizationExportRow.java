@@ -0,0 +1,27 @@
+package com.finki.agrimanagement.dto.projection;
+
+import com.finki.agrimanagement.enums.FertilizationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat fertilization row for exports, with the parcel and farm names joined in.
+ */
+public interface FertilizationExportRow {
+
+    Long getId();
+
+    String getParcelName();
+
+    String getFarmName();
+
+    LocalDateTime getScheduledDatetime();
+
+    String getFertilizerType();
+
+    FertilizationStatus getStatus();
+
+    LocalDateTime getCompletedDatetime();
+
+    String getNotes();
+}
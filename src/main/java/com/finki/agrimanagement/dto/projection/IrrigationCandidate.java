@@ -0,0 +1,24 @@
+package com.finki.agrimanagement.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of a parcel that needs an irrigation scheduled,
+ * carrying only the parcel and crop columns the auto-scheduler uses.
+ */
+public interface IrrigationCandidate {
+
+    Long getParcelId();
+
+    String getParcelName();
+
+    Double getArea();
+
+    LocalDateTime getLastIrrigatedAt();
+
+    Integer getIrrigationFrequencyDays();
+
+    Integer getIrrigationDurationMinutes();
+
+    Double getWaterRequirementLitersPerSqm();
+}
@@ -0,0 +1,13 @@
+package com.finki.agrimanagement.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal view of a pending irrigation used to rebuild the in-memory due-work index.
+ */
+public interface IrrigationDueEntry {
+
+    Long getId();
+
+    LocalDateTime getScheduledDatetime();
+}
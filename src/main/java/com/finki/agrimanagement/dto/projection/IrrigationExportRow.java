@@ -0,0 +1,31 @@
+package com.finki.agrimanagement.dto.projection;
+
+import com.finki.agrimanagement.enums.IrrigationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat irrigation row for exports, with the parcel and farm names joined in.
+ */
+public interface IrrigationExportRow {
+
+    Long getId();
+
+    String getParcelName();
+
+    String getFarmName();
+
+    LocalDateTime getScheduledDatetime();
+
+    Integer getDurationMinutes();
+
+    Double getWaterAmountLiters();
+
+    IrrigationStatus getStatus();
+
+    LocalDateTime getStartDatetime();
+
+    LocalDateTime getFinishedDatetime();
+
+    Integer getRetryCount();
+}
@@ -0,0 +1,13 @@
+package com.finki.agrimanagement.dto.projection;
+
+import com.finki.agrimanagement.enums.IrrigationStatus;
+
+/**
+ * Number of irrigations in one status, counted in the query.
+ */
+public interface IrrigationStatusCountRow {
+
+    IrrigationStatus getStatus();
+
+    Long getCount();
+}
@@ -0,0 +1,30 @@
+package com.finki.agrimanagement.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat parcel row for exports, with the farm and crop names joined in
+ * and the water used by its completed irrigations summed from the daily usage rollup.
+ */
+public interface ParcelExportRow {
+
+    Long getId();
+
+    String getName();
+
+    String getFarmName();
+
+    String getCropName();
+
+    Double getArea();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    LocalDateTime getLastIrrigatedAt();
+
+    LocalDateTime getLastFertilizedAt();
+
+    Double getWaterUsedLiters();
+}
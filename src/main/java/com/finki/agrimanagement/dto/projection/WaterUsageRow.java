@@ -0,0 +1,17 @@
+package com.finki.agrimanagement.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Water used by completed irrigations in one day, week or month, summed in the query.
+ */
+public interface WaterUsageRow {
+
+    LocalDateTime getPeriodStart();
+
+    Double getWaterLiters();
+
+    Long getDurationMinutes();
+
+    Long getIrrigationCount();
+}
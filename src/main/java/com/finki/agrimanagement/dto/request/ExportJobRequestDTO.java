@@ -0,0 +1,19 @@
+package com.finki.agrimanagement.dto.request;
+
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ExportJobRequestDTO {
+
+    @NotNull(message = "Report type is required")
+    private ExportReportType reportType;
+
+    private ExportFormat format = ExportFormat.XLSX;
+
+    private Long farmId;
+
+    private Long parcelId;
+}
@@ -0,0 +1,17 @@
+package com.finki.agrimanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CropAreaResponseDTO {
+
+    private Long cropId;
+    private String cropName;
+    private long parcelCount;
+    private double totalArea;
+
+}
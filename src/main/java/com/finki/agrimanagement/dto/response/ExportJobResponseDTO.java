@@ -0,0 +1,24 @@
+package com.finki.agrimanagement.dto.response;
+
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportJobStatus;
+import com.finki.agrimanagement.enums.ExportReportType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ExportJobResponseDTO {
+
+    private String id;
+    private ExportReportType reportType;
+    private ExportFormat format;
+    private Long farmId;
+    private Long parcelId;
+    private ExportJobStatus status;
+    private String filename;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.finki.agrimanagement.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class FarmDashboardResponseDTO {
+
+    private Long farmId;
+    private LocalDate from;
+    private LocalDate to;
+    private long completedIrrigations;
+    private long failedIrrigations;
+    private long stoppedIrrigations;
+    private Double successRate;
+    private Double failureRate;
+    private long overdueIrrigations;
+    private long overdueFertilizations;
+    private List<CropAreaResponseDTO> cropAreas;
+
+}
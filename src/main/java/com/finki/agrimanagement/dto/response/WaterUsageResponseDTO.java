@@ -0,0 +1,19 @@
+package com.finki.agrimanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaterUsageResponseDTO {
+
+    private LocalDate periodStart;
+    private double waterLiters;
+    private long durationMinutes;
+    private long irrigationCount;
+
+}
@@ -0,0 +1,63 @@
+package com.finki.agrimanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Water used by the irrigations of one parcel that finished on one day in one status,
+ * so usage reports read a row per parcel and day instead of every irrigation.
+ * Kept up to date as irrigations finish, and rebuilt from the irrigation table by the rollup job.
+ */
+@Entity
+@Table(name = "irrigation_daily_usage", indexes = {
+        @Index(name = "idx_irrigation_daily_usage_date", columnList = "usage_date")
+})
+public class IrrigationDailyUsage {
+
+    @EmbeddedId
+    private IrrigationDailyUsageId id;
+
+    @Column(name = "water_liters", nullable = false)
+    private Double waterLiters = 0.0;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Long durationMinutes = 0L;
+
+    @Column(name = "irrigation_count", nullable = false)
+    private Long irrigationCount = 0L;
+
+    public IrrigationDailyUsageId getId() {
+        return id;
+    }
+
+    public void setId(IrrigationDailyUsageId id) {
+        this.id = id;
+    }
+
+    public Double getWaterLiters() {
+        return waterLiters;
+    }
+
+    public void setWaterLiters(Double waterLiters) {
+        this.waterLiters = waterLiters;
+    }
+
+    public Long getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Long durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public Long getIrrigationCount() {
+        return irrigationCount;
+    }
+
+    public void setIrrigationCount(Long irrigationCount) {
+        this.irrigationCount = irrigationCount;
+    }
+}
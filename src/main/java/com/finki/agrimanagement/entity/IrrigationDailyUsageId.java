@@ -0,0 +1,64 @@
+package com.finki.agrimanagement.entity;
+
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class IrrigationDailyUsageId implements Serializable {
+
+    @Column(name = "parcel_id", nullable = false)
+    private Long parcelId;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private IrrigationStatus status;
+
+    public IrrigationDailyUsageId() {
+    }
+
+    public IrrigationDailyUsageId(Long parcelId, LocalDate usageDate, IrrigationStatus status) {
+        this.parcelId = parcelId;
+        this.usageDate = usageDate;
+        this.status = status;
+    }
+
+    public Long getParcelId() {
+        return parcelId;
+    }
+
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+
+    public IrrigationStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IrrigationDailyUsageId other)) {
+            return false;
+        }
+        return Objects.equals(parcelId, other.parcelId)
+                && Objects.equals(usageDate, other.usageDate)
+                && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(parcelId, usageDate, status);
+    }
+}
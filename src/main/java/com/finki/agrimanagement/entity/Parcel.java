@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.time.LocalDateTime;
@@ -20,7 +21,8 @@ import java.util.List;
 public class Parcel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parcel_id_seq")
+    @SequenceGenerator(name = "parcel_id_seq", sequenceName = "parcel_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -0,0 +1,55 @@
+package com.finki.agrimanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of a rollup backfill. Days before {@code nextDate} are rebuilt, the backfill is done
+ * once {@code nextDate} reaches {@code backfillTo}; later days are kept up by the incremental updates.
+ */
+@Entity
+@Table(name = "usage_rollup_backfill")
+public class UsageRollupBackfill {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "next_date", nullable = false)
+    private LocalDate nextDate;
+
+    @Column(name = "backfill_to", nullable = false)
+    private LocalDate backfillTo;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getNextDate() {
+        return nextDate;
+    }
+
+    public void setNextDate(LocalDate nextDate) {
+        this.nextDate = nextDate;
+    }
+
+    public LocalDate getBackfillTo() {
+        return backfillTo;
+    }
+
+    public void setBackfillTo(LocalDate backfillTo) {
+        this.backfillTo = backfillTo;
+    }
+
+    public boolean isDone() {
+        return !nextDate.isBefore(backfillTo);
+    }
+}
@@ -0,0 +1,8 @@
+package com.finki.agrimanagement.enums;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
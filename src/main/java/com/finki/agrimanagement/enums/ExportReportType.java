@@ -0,0 +1,11 @@
+package com.finki.agrimanagement.enums;
+
+public enum ExportReportType {
+    FARM_OVERVIEW,
+    IRRIGATIONS,
+    FERTILIZATIONS,
+    PARCEL_ACTIVITY,
+    CROP_MANAGEMENT,
+    COMPLETE_FARM,
+    PARCEL_WEATHER
+}
@@ -0,0 +1,46 @@
+package com.finki.agrimanagement.enums;
+
+import com.finki.agrimanagement.dto.email.EmailViewModel;
+import com.finki.agrimanagement.dto.email.FertilizationCancelledEmail;
+import com.finki.agrimanagement.dto.email.FertilizationCompletedEmail;
+import com.finki.agrimanagement.dto.email.FertilizationDueEmail;
+import com.finki.agrimanagement.dto.email.IrrigationCompletedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationFailedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationPostponedEmail;
+
+public enum NotificationType {
+    IRRIGATION_COMPLETED("email/irrigation-completed", "Irrigations Completed", IrrigationCompletedEmail.class),
+    IRRIGATION_FAILED("email/irrigation-failed", "Irrigations Failed", IrrigationFailedEmail.class),
+    IRRIGATION_POSTPONED("email/irrigation-postponed", "Irrigations Postponed", IrrigationPostponedEmail.class),
+    FERTILIZATION_DUE("email/fertilization-due", "Fertilizations Due", FertilizationDueEmail.class),
+    FERTILIZATION_COMPLETED("email/fertilization-completed", "Fertilizations Completed", FertilizationCompletedEmail.class),
+    FERTILIZATION_CANCELLED("email/fertilization-cancelled", "Fertilizations Cancelled", FertilizationCancelledEmail.class);
+
+    private final String template;
+    private final String digestTitle;
+    private final Class<? extends EmailViewModel> viewModelType;
+
+    NotificationType(String template, String digestTitle, Class<? extends EmailViewModel> viewModelType) {
+        this.template = template;
+        this.digestTitle = digestTitle;
+        this.viewModelType = viewModelType;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Heading of a digest email that combines several notifications of this type
+     */
+    public String getDigestTitle() {
+        return digestTitle;
+    }
+
+    /**
+     * View model the notification payload is stored as
+     */
+    public Class<? extends EmailViewModel> getViewModelType() {
+        return viewModelType;
+    }
+}
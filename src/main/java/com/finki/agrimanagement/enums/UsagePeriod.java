@@ -0,0 +1,7 @@
+package com.finki.agrimanagement.enums;
+
+public enum UsagePeriod {
+    DAY,
+    WEEK,
+    MONTH
+}
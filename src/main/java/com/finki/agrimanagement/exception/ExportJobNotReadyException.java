@@ -0,0 +1,7 @@
+package com.finki.agrimanagement.exception;
+
+public class ExportJobNotReadyException extends RuntimeException {
+    public ExportJobNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.finki.agrimanagement.exception;
+
+public class ExportQueueFullException extends RuntimeException {
+    public ExportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,34 @@
 package com.finki.agrimanagement.repository;
 
+import com.finki.agrimanagement.dto.projection.CropExportRow;
 import com.finki.agrimanagement.entity.Crop;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CropRepository extends JpaRepository<Crop, Long> {
-}
 
+    /**
+     * Export rows for every crop, with parcel count and planted area aggregated in the query
+     */
+    @Query("""
+            SELECT c.id AS id,
+                   c.name AS name,
+                   c.irrigationFrequencyDays AS irrigationFrequencyDays,
+                   c.fertilizationFrequencyDays AS fertilizationFrequencyDays,
+                   c.fertilizerType AS fertilizerType,
+                   c.irrigationDurationMinutes AS irrigationDurationMinutes,
+                   c.waterRequirementLitersPerSqm AS waterRequirementLitersPerSqm,
+                   COUNT(p) AS parcelCount,
+                   COALESCE(SUM(p.area), 0) AS totalArea
+            FROM Crop c
+            LEFT JOIN c.parcels p
+            GROUP BY c.id, c.name, c.irrigationFrequencyDays, c.fertilizationFrequencyDays, c.fertilizerType,
+                     c.irrigationDurationMinutes, c.waterRequirementLitersPerSqm
+            ORDER BY c.id
+            """)
+    List<CropExportRow> findAllForExport();
+}
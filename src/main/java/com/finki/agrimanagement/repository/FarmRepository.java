@@ -1,7 +1,9 @@
 package com.finki.agrimanagement.repository;
 
+import com.finki.agrimanagement.dto.projection.FarmExportRow;
 import com.finki.agrimanagement.entity.Farm;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,28 @@ import java.util.List;
 @Repository
 public interface FarmRepository extends JpaRepository<Farm, Long> {
     List<Farm> findByUserId(Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Export rows for every farm, with parcels counted in the query instead of loaded per farm
+     * and the water used summed from the daily usage rollup
+     */
+    @Query("""
+            SELECT f.id AS id,
+                   f.name AS name,
+                   f.location AS location,
+                   COUNT(p) AS parcelCount,
+                   f.createdAt AS createdAt,
+                   (SELECT COALESCE(SUM(u.waterLiters), 0)
+                    FROM IrrigationDailyUsage u
+                    JOIN Parcel up ON up.id = u.id.parcelId
+                    WHERE up.farm.id = f.id
+                      AND u.id.status = com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED) AS waterUsedLiters
+            FROM Farm f
+            LEFT JOIN f.parcels p
+            GROUP BY f.id, f.name, f.location, f.createdAt
+            ORDER BY f.id
+            """)
+    List<FarmExportRow> findAllForExport();
 }
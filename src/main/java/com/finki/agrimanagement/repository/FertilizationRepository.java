@@ -1,24 +1,204 @@
 package com.finki.agrimanagement.repository;
 
+import com.finki.agrimanagement.dto.projection.FertilizationExportRow;
 import com.finki.agrimanagement.entity.Fertilization;
 import com.finki.agrimanagement.enums.FertilizationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FertilizationRepository extends JpaRepository<Fertilization, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     List<Fertilization> findByParcelId(Long parcelId);
 
     List<Fertilization> findByStatus(FertilizationStatus status);
 
+    /**
+     * First page of the fertilizations with the given status, ordered by scheduled time and id,
+     * with the parcel, farm and crop fetched in the same query
+     */
+    @Query("""
+            SELECT fe FROM Fertilization fe
+            JOIN FETCH fe.parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE fe.status = :status
+            ORDER BY fe.scheduledDatetime, fe.id
+            """)
+    List<Fertilization> findPageByStatus(@Param("status") FertilizationStatus status, Limit limit);
+
+    /**
+     * Next page of the fertilizations with the given status, continuing after the given scheduled time and id
+     */
+    @Query("""
+            SELECT fe FROM Fertilization fe
+            JOIN FETCH fe.parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE fe.status = :status
+              AND (fe.scheduledDatetime, fe.id) > (:scheduledDatetime, :id)
+            ORDER BY fe.scheduledDatetime, fe.id
+            """)
+    List<Fertilization> findPageByStatusAfter(@Param("status") FertilizationStatus status,
+                                              @Param("scheduledDatetime") LocalDateTime scheduledDatetime,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
     List<Fertilization> findByStatusAndScheduledDatetimeBefore(FertilizationStatus status, LocalDateTime dateTime);
 
-    List<Fertilization> findByParcelIdAndStatus(Long parcelId, FertilizationStatus status);
+    /**
+     * Filters on the parcel_id column itself; the derived query would join parcel and filter on its id,
+     * which keeps the (parcel_id, status) index from being used
+     */
+    @Query("SELECT f FROM Fertilization f WHERE f.parcel.id = :parcelId AND f.status = :status")
+    List<Fertilization> findByParcelIdAndStatus(@Param("parcelId") Long parcelId,
+                                                @Param("status") FertilizationStatus status);
 
     List<Fertilization> findByStatusAndParcelIdIn(FertilizationStatus status, List<Long> parcelIds);
-}
 
+    /**
+     * Lock up to the given number of scheduled fertilizations that are due, earliest first,
+     * skipping rows another transaction has locked, and return their ids. Must be called inside a transaction.
+     */
+    @Query(value = """
+            SELECT id FROM fertilization
+            WHERE status = 'SCHEDULED' AND scheduled_datetime < :now
+            ORDER BY scheduled_datetime
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockDueScheduledIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Move the given fertilizations to a new status in one statement, without loading them
+     *
+     * @return the number of fertilizations updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Fertilization f SET f.status = :status, f.updatedAt = :updatedAt WHERE f.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") FertilizationStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * The given fertilizations with the parcel, farm and crop fetched in the same query, as notifications need them
+     */
+    @Query("""
+            SELECT fe FROM Fertilization fe
+            JOIN FETCH fe.parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE fe.id IN :ids
+            """)
+    List<Fertilization> findAllWithParcelByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream every fertilization as a flat export row, joined with its parcel and farm in one query
+     * and fetched in chunks instead of loaded into memory at once.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT f.id AS id,
+                   p.name AS parcelName,
+                   fa.name AS farmName,
+                   f.scheduledDatetime AS scheduledDatetime,
+                   f.fertilizerType AS fertilizerType,
+                   f.status AS status,
+                   f.completedDatetime AS completedDatetime,
+                   f.notes AS notes
+            FROM Fertilization f
+            JOIN f.parcel p
+            JOIN p.farm fa
+            ORDER BY f.id
+            """)
+    Stream<FertilizationExportRow> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT f.id AS id,
+                   p.name AS parcelName,
+                   fa.name AS farmName,
+                   f.scheduledDatetime AS scheduledDatetime,
+                   f.fertilizerType AS fertilizerType,
+                   f.status AS status,
+                   f.completedDatetime AS completedDatetime,
+                   f.notes AS notes
+            FROM Fertilization f
+            JOIN f.parcel p
+            JOIN p.farm fa
+            WHERE fa.id = :farmId
+            ORDER BY f.id
+            """)
+    Stream<FertilizationExportRow> streamByFarmIdForExport(@Param("farmId") Long farmId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT f.id AS id,
+                   p.name AS parcelName,
+                   fa.name AS farmName,
+                   f.scheduledDatetime AS scheduledDatetime,
+                   f.fertilizerType AS fertilizerType,
+                   f.status AS status,
+                   f.completedDatetime AS completedDatetime,
+                   f.notes AS notes
+            FROM Fertilization f
+            JOIN f.parcel p
+            JOIN p.farm fa
+            WHERE p.id = :parcelId
+            ORDER BY f.id
+            """)
+    Stream<FertilizationExportRow> streamByParcelIdForExport(@Param("parcelId") Long parcelId);
+
+    /**
+     * Number of fertilizations of a farm not yet done although their scheduled time has passed
+     */
+    @Query("""
+            SELECT COUNT(f)
+            FROM Fertilization f
+            WHERE f.parcel.farm.id = :farmId
+              AND f.status IN (com.finki.agrimanagement.enums.FertilizationStatus.SCHEDULED,
+                               com.finki.agrimanagement.enums.FertilizationStatus.PENDING)
+              AND f.scheduledDatetime < :now
+            """)
+    long countOverdueByFarmId(@Param("farmId") Long farmId, @Param("now") LocalDateTime now);
+
+    /**
+     * Create the missing monthly partitions of the fertilization table from the month of {@code fromMonth}
+     * up to {@code monthsAhead} months from now
+     *
+     * @return the number of partitions created
+     */
+    @Transactional
+    @Query(value = "SELECT ensure_monthly_partitions('fertilization', :fromMonth, :monthsAhead)", nativeQuery = true)
+    int createMonthlyPartitions(@Param("fromMonth") LocalDate fromMonth, @Param("monthsAhead") int monthsAhead);
+
+    /**
+     * Detach the monthly partitions of the fertilization table that end on or before {@code cutoff}
+     * and move them to the history archive schema. Partitions that still hold unfinished fertilizations are kept.
+     *
+     * @return the names of the detached partitions
+     */
+    @Transactional
+    @Query(value = "SELECT detach_monthly_partitions_before('fertilization', :cutoff)", nativeQuery = true)
+    List<String> detachMonthlyPartitionsBefore(@Param("cutoff") LocalDate cutoff);
+}
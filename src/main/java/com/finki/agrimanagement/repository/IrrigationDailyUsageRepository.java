@@ -0,0 +1,127 @@
+package com.finki.agrimanagement.repository;
+
+import com.finki.agrimanagement.dto.projection.WaterUsageRow;
+import com.finki.agrimanagement.entity.IrrigationDailyUsage;
+import com.finki.agrimanagement.entity.IrrigationDailyUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IrrigationDailyUsageRepository extends JpaRepository<IrrigationDailyUsage, IrrigationDailyUsageId> {
+
+    /**
+     * Add one finished irrigation to the row of its parcel, day and status, creating the row if there is none
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO irrigation_daily_usage u
+            USING (VALUES (CAST(:parcelId AS BIGINT), CAST(:usageDate AS DATE), CAST(:status AS VARCHAR(50)),
+                           CAST(:waterLiters AS DOUBLE PRECISION), CAST(:durationMinutes AS BIGINT)))
+                AS s (parcel_id, usage_date, status, water_liters, duration_minutes)
+            ON u.parcel_id = s.parcel_id AND u.usage_date = s.usage_date AND u.status = s.status
+            WHEN MATCHED THEN
+                UPDATE SET water_liters = u.water_liters + s.water_liters,
+                           duration_minutes = u.duration_minutes + s.duration_minutes,
+                           irrigation_count = u.irrigation_count + 1
+            WHEN NOT MATCHED THEN
+                INSERT (parcel_id, usage_date, status, water_liters, duration_minutes, irrigation_count)
+                VALUES (s.parcel_id, s.usage_date, s.status, s.water_liters, s.duration_minutes, 1)
+            """, nativeQuery = true)
+    int addUsage(@Param("parcelId") Long parcelId,
+                 @Param("usageDate") LocalDate usageDate,
+                 @Param("status") String status,
+                 @Param("waterLiters") double waterLiters,
+                 @Param("durationMinutes") long durationMinutes);
+
+    @Modifying
+    @Query("DELETE FROM IrrigationDailyUsage u WHERE u.id.usageDate >= :from AND u.id.usageDate < :to")
+    int deleteByUsageDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Recompute the rows of the given days from the completed and stopped irrigations that finished on them
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO irrigation_daily_usage
+                (parcel_id, usage_date, status, water_liters, duration_minutes, irrigation_count)
+            SELECT i.parcel_id,
+                   CAST(i.finished_datetime AS DATE),
+                   i.status,
+                   COALESCE(SUM(i.water_amount_liters), 0),
+                   COALESCE(SUM(i.duration_minutes), 0),
+                   COUNT(*)
+            FROM irrigation i
+            WHERE i.status IN ('COMPLETED', 'STOPPED')
+              AND i.finished_datetime >= :from
+              AND i.finished_datetime < :to
+            GROUP BY i.parcel_id, CAST(i.finished_datetime AS DATE), i.status
+            """, nativeQuery = true)
+    int insertFromIrrigations(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(u.id.usageDate) FROM IrrigationDailyUsage u")
+    LocalDate findEarliestUsageDate();
+
+    /**
+     * Water used by the completed irrigations of a farm, summed per day, week or month from the daily rows
+     */
+    @Query("""
+            SELECT cast(u.id.usageDate AS LocalDateTime) AS periodStart,
+                   SUM(u.waterLiters) AS waterLiters,
+                   SUM(u.durationMinutes) AS durationMinutes,
+                   SUM(u.irrigationCount) AS irrigationCount
+            FROM IrrigationDailyUsage u
+            JOIN Parcel p ON p.id = u.id.parcelId
+            WHERE p.farm.id = :farmId
+              AND u.id.status = com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED
+              AND u.id.usageDate >= :from
+              AND u.id.usageDate < :to
+            GROUP BY u.id.usageDate
+            ORDER BY periodStart
+            """)
+    List<WaterUsageRow> sumWaterUsageByDay(@Param("farmId") Long farmId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT truncate(cast(u.id.usageDate AS LocalDateTime), week) AS periodStart,
+                   SUM(u.waterLiters) AS waterLiters,
+                   SUM(u.durationMinutes) AS durationMinutes,
+                   SUM(u.irrigationCount) AS irrigationCount
+            FROM IrrigationDailyUsage u
+            JOIN Parcel p ON p.id = u.id.parcelId
+            WHERE p.farm.id = :farmId
+              AND u.id.status = com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED
+              AND u.id.usageDate >= :from
+              AND u.id.usageDate < :to
+            GROUP BY truncate(cast(u.id.usageDate AS LocalDateTime), week)
+            ORDER BY periodStart
+            """)
+    List<WaterUsageRow> sumWaterUsageByWeek(@Param("farmId") Long farmId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
+    @Query("""
+            SELECT truncate(cast(u.id.usageDate AS LocalDateTime), month) AS periodStart,
+                   SUM(u.waterLiters) AS waterLiters,
+                   SUM(u.durationMinutes) AS durationMinutes,
+                   SUM(u.irrigationCount) AS irrigationCount
+            FROM IrrigationDailyUsage u
+            JOIN Parcel p ON p.id = u.id.parcelId
+            WHERE p.farm.id = :farmId
+              AND u.id.status = com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED
+              AND u.id.usageDate >= :from
+              AND u.id.usageDate < :to
+            GROUP BY truncate(cast(u.id.usageDate AS LocalDateTime), month)
+            ORDER BY periodStart
+            """)
+    List<WaterUsageRow> sumWaterUsageByMonth(@Param("farmId") Long farmId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+}
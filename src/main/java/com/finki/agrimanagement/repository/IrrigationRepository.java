@@ -1,28 +1,309 @@
 package com.finki.agrimanagement.repository;
 
+import com.finki.agrimanagement.dto.projection.IrrigationDueEntry;
+import com.finki.agrimanagement.dto.projection.IrrigationExportRow;
+import com.finki.agrimanagement.dto.projection.IrrigationStatusCountRow;
 import com.finki.agrimanagement.entity.Irrigation;
 import com.finki.agrimanagement.enums.IrrigationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IrrigationRepository extends JpaRepository<Irrigation, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     List<Irrigation> findByParcelId(Long parcelId);
 
     List<Irrigation> findByStatus(IrrigationStatus status);
 
-    List<Irrigation> findByStatusAndScheduledDatetimeAfter(IrrigationStatus status, LocalDateTime dateTime);
+    /**
+     * First page of the irrigations with the given status, ordered by scheduled time and id,
+     * with the parcel, farm and crop fetched in the same query
+     */
+    @Query("""
+            SELECT i FROM Irrigation i
+            JOIN FETCH i.parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE i.status = :status
+            ORDER BY i.scheduledDatetime, i.id
+            """)
+    List<Irrigation> findPageByStatus(@Param("status") IrrigationStatus status, Limit limit);
 
-    List<Irrigation> findByStatusAndScheduledDatetimeBefore(IrrigationStatus status, LocalDateTime dateTime);
+    /**
+     * Next page of the irrigations with the given status, continuing after the given scheduled time and id
+     */
+    @Query("""
+            SELECT i FROM Irrigation i
+            JOIN FETCH i.parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE i.status = :status
+              AND (i.scheduledDatetime, i.id) > (:scheduledDatetime, :id)
+            ORDER BY i.scheduledDatetime, i.id
+            """)
+    List<Irrigation> findPageByStatusAfter(@Param("status") IrrigationStatus status,
+                                           @Param("scheduledDatetime") LocalDateTime scheduledDatetime,
+                                           @Param("id") Long id,
+                                           Limit limit);
 
-    List<Irrigation> findByParcelIdAndStatus(Long parcelId, IrrigationStatus status);
+    List<Irrigation> findByStatusAndScheduledDatetimeAfter(IrrigationStatus status, LocalDateTime dateTime);
+
+    /**
+     * Filters on the parcel_id column itself; the derived query would join parcel and filter on its id,
+     * which keeps the (parcel_id, status) index from being used
+     */
+    @Query("SELECT i FROM Irrigation i WHERE i.parcel.id = :parcelId AND i.status = :status")
+    List<Irrigation> findByParcelIdAndStatus(@Param("parcelId") Long parcelId, @Param("status") IrrigationStatus status);
 
     List<Irrigation> findByStatusAndScheduledDatetimeAfterAndParcelIdIn(
             IrrigationStatus status,
             LocalDateTime dateTime,
             List<Long> parcelIds);
+
+    /**
+     * Id and due time of every SCHEDULED or RETRYING irrigation. The statuses are literals rather than
+     * parameters so PostgreSQL can answer this from the partial index of pending irrigations alone.
+     */
+    @Query("""
+            SELECT i.id AS id, i.scheduledDatetime AS scheduledDatetime
+            FROM Irrigation i
+            WHERE i.status IN (com.finki.agrimanagement.enums.IrrigationStatus.SCHEDULED,
+                               com.finki.agrimanagement.enums.IrrigationStatus.RETRYING)
+            """)
+    List<IrrigationDueEntry> findPendingDueEntries();
+
+    /**
+     * Lock up to the given number of SCHEDULED or RETRYING irrigations due before the deadline, earliest first,
+     * and return their ids. Rows another transaction has locked and irrigations an instance has claimed
+     * for execution are skipped. Must be called inside a transaction.
+     */
+    @Query(value = """
+            SELECT id FROM irrigation
+            WHERE status IN ('SCHEDULED', 'RETRYING') AND scheduled_datetime < :deadline
+              AND (claimed_until IS NULL OR claimed_until <= :now)
+            ORDER BY scheduled_datetime
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockOverdueIds(@Param("deadline") LocalDateTime deadline,
+                              @Param("now") LocalDateTime now,
+                              @Param("limit") int limit);
+
+    /**
+     * Load the irrigation and lock its row until the end of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Irrigation i WHERE i.id = :id")
+    Optional<Irrigation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Move the given irrigations to a new status in one statement, without loading them
+     *
+     * @return the number of irrigations updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Irrigation i
+            SET i.status = :status, i.statusDescription = :statusDescription, i.updatedAt = :updatedAt
+            WHERE i.id IN :ids
+            """)
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") IrrigationStatus status,
+                           @Param("statusDescription") String statusDescription,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * The given irrigations with the parcel, farm and crop fetched in the same query, as notifications need them
+     */
+    @Query("""
+            SELECT i FROM Irrigation i
+            JOIN FETCH i.parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE i.id IN :ids
+            """)
+    List<Irrigation> findAllWithParcelByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Claim the given irrigations for execution by one instance, skipping those that are no longer due,
+     * are claimed by another instance, or are locked by a concurrent claim. The claimed irrigations can
+     * then be loaded by their claim token.
+     *
+     * @return the number of irrigations claimed
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE irrigation
+            SET claim_token = :claimToken, claimed_until = :claimedUntil
+            WHERE id IN (
+                SELECT id FROM irrigation
+                WHERE id IN (:ids)
+                  AND status IN ('SCHEDULED', 'RETRYING')
+                  AND scheduled_datetime <= :now
+                  AND (claimed_until IS NULL OR claimed_until <= :now)
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int claimDue(@Param("ids") Collection<Long> ids,
+                 @Param("now") LocalDateTime now,
+                 @Param("claimToken") String claimToken,
+                 @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Release the claim on the irrigation if it still holds the given claim token,
+     * so the next tick of any instance can claim it again
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE irrigation
+            SET claim_token = NULL, claimed_until = NULL
+            WHERE id = :id AND claim_token = :claimToken
+            """, nativeQuery = true)
+    int releaseClaim(@Param("id") Long id, @Param("claimToken") String claimToken);
+
+    /**
+     * Stream every irrigation as a flat export row, joined with its parcel and farm in one query
+     * and fetched in chunks instead of loaded into memory at once.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT i.id AS id,
+                   p.name AS parcelName,
+                   fa.name AS farmName,
+                   i.scheduledDatetime AS scheduledDatetime,
+                   i.durationMinutes AS durationMinutes,
+                   i.waterAmountLiters AS waterAmountLiters,
+                   i.status AS status,
+                   i.startDatetime AS startDatetime,
+                   i.finishedDatetime AS finishedDatetime,
+                   i.retryCount AS retryCount
+            FROM Irrigation i
+            JOIN i.parcel p
+            JOIN p.farm fa
+            ORDER BY i.id
+            """)
+    Stream<IrrigationExportRow> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT i.id AS id,
+                   p.name AS parcelName,
+                   fa.name AS farmName,
+                   i.scheduledDatetime AS scheduledDatetime,
+                   i.durationMinutes AS durationMinutes,
+                   i.waterAmountLiters AS waterAmountLiters,
+                   i.status AS status,
+                   i.startDatetime AS startDatetime,
+                   i.finishedDatetime AS finishedDatetime,
+                   i.retryCount AS retryCount
+            FROM Irrigation i
+            JOIN i.parcel p
+            JOIN p.farm fa
+            WHERE fa.id = :farmId
+            ORDER BY i.id
+            """)
+    Stream<IrrigationExportRow> streamByFarmIdForExport(@Param("farmId") Long farmId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT i.id AS id,
+                   p.name AS parcelName,
+                   fa.name AS farmName,
+                   i.scheduledDatetime AS scheduledDatetime,
+                   i.durationMinutes AS durationMinutes,
+                   i.waterAmountLiters AS waterAmountLiters,
+                   i.status AS status,
+                   i.startDatetime AS startDatetime,
+                   i.finishedDatetime AS finishedDatetime,
+                   i.retryCount AS retryCount
+            FROM Irrigation i
+            JOIN i.parcel p
+            JOIN p.farm fa
+            WHERE p.id = :parcelId
+            ORDER BY i.id
+            """)
+    Stream<IrrigationExportRow> streamByParcelIdForExport(@Param("parcelId") Long parcelId);
+
+    /**
+     * Finish time of the earliest completed or stopped irrigation, where the usage rollup starts
+     */
+    @Query("""
+            SELECT MIN(i.finishedDatetime)
+            FROM Irrigation i
+            WHERE i.status IN (com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED,
+                               com.finki.agrimanagement.enums.IrrigationStatus.STOPPED)
+            """)
+    LocalDateTime findEarliestFinishedDatetime();
+
+    /**
+     * Number of irrigations of a farm per status, among those that finished in the given window
+     */
+    @Query("""
+            SELECT i.status AS status, COUNT(i) AS count
+            FROM Irrigation i
+            WHERE i.parcel.farm.id = :farmId
+              AND i.finishedDatetime >= :from
+              AND i.finishedDatetime < :to
+            GROUP BY i.status
+            """)
+    List<IrrigationStatusCountRow> countFinishedByStatus(@Param("farmId") Long farmId,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    /**
+     * Number of irrigations of a farm still waiting to run although their scheduled time has passed
+     */
+    @Query("""
+            SELECT COUNT(i)
+            FROM Irrigation i
+            WHERE i.parcel.farm.id = :farmId
+              AND i.status IN (com.finki.agrimanagement.enums.IrrigationStatus.SCHEDULED,
+                               com.finki.agrimanagement.enums.IrrigationStatus.RETRYING)
+              AND i.scheduledDatetime < :now
+            """)
+    long countOverdueByFarmId(@Param("farmId") Long farmId, @Param("now") LocalDateTime now);
+
+    /**
+     * Create the missing monthly partitions of the irrigation table from the month of {@code fromMonth}
+     * up to {@code monthsAhead} months from now
+     *
+     * @return the number of partitions created
+     */
+    @Transactional
+    @Query(value = "SELECT ensure_monthly_partitions('irrigation', :fromMonth, :monthsAhead)", nativeQuery = true)
+    int createMonthlyPartitions(@Param("fromMonth") LocalDate fromMonth, @Param("monthsAhead") int monthsAhead);
+
+    /**
+     * Detach the monthly partitions of the irrigation table that end on or before {@code cutoff}
+     * and move them to the history archive schema. Partitions that still hold unfinished irrigations are kept.
+     *
+     * @return the names of the detached partitions
+     */
+    @Transactional
+    @Query(value = "SELECT detach_monthly_partitions_before('irrigation', :cutoff)", nativeQuery = true)
+    List<String> detachMonthlyPartitionsBefore(@Param("cutoff") LocalDate cutoff);
 }
@@ -0,0 +1,40 @@
+package com.finki.agrimanagement.repository;
+
+import com.finki.agrimanagement.entity.NotificationOutbox;
+import com.finki.agrimanagement.enums.NotificationOutboxStatus;
+import com.finki.agrimanagement.enums.NotificationType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    List<NotificationOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(NotificationOutboxStatus status,
+                                                                                    LocalDateTime now,
+                                                                                    Limit limit);
+
+    /**
+     * Notifications of the recipient and type that have not been attempted yet and are due before the given time.
+     * Notifications waiting out a retry backoff have attempts above zero and are left alone.
+     */
+    List<NotificationOutbox> findByStatusAndTypeAndRecipientAndAttemptsAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            NotificationOutboxStatus status,
+            NotificationType type,
+            String recipient,
+            int attempts,
+            LocalDateTime before,
+            Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status = :status AND n.sentAt < :before")
+    int deleteSentBefore(@Param("status") NotificationOutboxStatus status, @Param("before") LocalDateTime before);
+}
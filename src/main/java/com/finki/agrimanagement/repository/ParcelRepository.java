@@ -1,9 +1,17 @@
 package com.finki.agrimanagement.repository;
 
+import com.finki.agrimanagement.dto.projection.CropAreaRow;
+import com.finki.agrimanagement.dto.projection.IrrigationCandidate;
+import com.finki.agrimanagement.dto.projection.ParcelExportRow;
 import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,6 +21,116 @@ public interface ParcelRepository extends JpaRepository<Parcel, Long> {
 
     List<Parcel> findByCropId(Long cropId);
 
-    List<Parcel> findByFarmIdIn(List<Long> farmIds);
-}
+    /**
+     * Page of parcels ordered by id, starting after the given id,
+     * with the farm and crop fetched in the same query
+     */
+    @Query("""
+            SELECT p FROM Parcel p
+            JOIN FETCH p.farm f
+            LEFT JOIN FETCH f.user
+            LEFT JOIN FETCH p.crop
+            WHERE p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<Parcel> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Filters on the farm_id column itself so the farm index is used, instead of joining farm
+     */
+    @Query("SELECT p FROM Parcel p WHERE p.farm.id IN :farmIds")
+    List<Parcel> findByFarmIdIn(@Param("farmIds") List<Long> farmIds);
+
+    /**
+     * Find parcels with an irrigation frequency configured that have no SCHEDULED irrigation
+     * by their next required irrigation plus a grace period of half the frequency.
+     * The next required irrigation is last irrigated + frequency, but never earlier than
+     * the earliest slot an overdue or never irrigated parcel would be scheduled at.
+     */
+    @Query("""
+            SELECT p.id AS parcelId,
+                   p.name AS parcelName,
+                   p.area AS area,
+                   p.lastIrrigatedAt AS lastIrrigatedAt,
+                   c.irrigationFrequencyDays AS irrigationFrequencyDays,
+                   c.irrigationDurationMinutes AS irrigationDurationMinutes,
+                   c.waterRequirementLitersPerSqm AS waterRequirementLitersPerSqm
+            FROM Parcel p
+            JOIN p.crop c
+            WHERE c.irrigationFrequencyDays IS NOT NULL
+              AND NOT EXISTS (
+                  SELECT 1 FROM Irrigation i
+                  WHERE i.parcel = p
+                    AND i.status = :status
+                    AND i.scheduledDatetime <= greatest(COALESCE(p.lastIrrigatedAt + (c.irrigationFrequencyDays) day,
+                                                                  :earliestSlot),
+                                                         :earliestSlot)
+                                               + (c.irrigationFrequencyDays / 2) day
+              )
+            """)
+    List<IrrigationCandidate> findIrrigationCandidates(@Param("earliestSlot") LocalDateTime earliestSlot,
+                                                       @Param("status") IrrigationStatus status);
 
+    /**
+     * Flat export rows for every parcel, with the farm and crop names joined in one query
+     * and the water used summed from the daily usage rollup
+     */
+    @Query("""
+            SELECT p.id AS id,
+                   p.name AS name,
+                   f.name AS farmName,
+                   c.name AS cropName,
+                   p.area AS area,
+                   p.latitude AS latitude,
+                   p.longitude AS longitude,
+                   p.lastIrrigatedAt AS lastIrrigatedAt,
+                   p.lastFertilizedAt AS lastFertilizedAt,
+                   (SELECT COALESCE(SUM(u.waterLiters), 0)
+                    FROM IrrigationDailyUsage u
+                    WHERE u.id.parcelId = p.id
+                      AND u.id.status = com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED) AS waterUsedLiters
+            FROM Parcel p
+            JOIN p.farm f
+            LEFT JOIN p.crop c
+            ORDER BY f.id, p.id
+            """)
+    List<ParcelExportRow> findAllForExport();
+
+    @Query("""
+            SELECT p.id AS id,
+                   p.name AS name,
+                   f.name AS farmName,
+                   c.name AS cropName,
+                   p.area AS area,
+                   p.latitude AS latitude,
+                   p.longitude AS longitude,
+                   p.lastIrrigatedAt AS lastIrrigatedAt,
+                   p.lastFertilizedAt AS lastFertilizedAt,
+                   (SELECT COALESCE(SUM(u.waterLiters), 0)
+                    FROM IrrigationDailyUsage u
+                    WHERE u.id.parcelId = p.id
+                      AND u.id.status = com.finki.agrimanagement.enums.IrrigationStatus.COMPLETED) AS waterUsedLiters
+            FROM Parcel p
+            JOIN p.farm f
+            LEFT JOIN p.crop c
+            WHERE f.id = :farmId
+            ORDER BY p.id
+            """)
+    List<ParcelExportRow> findByFarmIdForExport(@Param("farmId") Long farmId);
+
+    /**
+     * Parcel count and planted area per crop on a farm; parcels without a crop form their own group
+     */
+    @Query("""
+            SELECT c.id AS cropId,
+                   c.name AS cropName,
+                   COUNT(p) AS parcelCount,
+                   COALESCE(SUM(p.area), 0) AS totalArea
+            FROM Parcel p
+            LEFT JOIN p.crop c
+            WHERE p.farm.id = :farmId
+            GROUP BY c.id, c.name
+            ORDER BY c.name
+            """)
+    List<CropAreaRow> sumAreaByCropForFarm(@Param("farmId") Long farmId);
+}
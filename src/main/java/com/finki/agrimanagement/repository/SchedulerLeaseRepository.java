@@ -0,0 +1,48 @@
+package com.finki.agrimanagement.repository;
+
+import com.finki.agrimanagement.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Extend the lease if the given owner holds it, or take it over if it has expired
+     *
+     * @return 1 if the owner now holds the lease, 0 if another instance does
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLease l
+            SET l.owner = :owner, l.expiresAt = :expiresAt
+            WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt <= :now)
+            """)
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Create the lease for the given owner. Fails with a constraint violation if it already exists.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_lease (name, owner, expires_at) VALUES (:name, :owner, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SchedulerLease l WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
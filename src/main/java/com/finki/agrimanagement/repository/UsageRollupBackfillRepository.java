@@ -0,0 +1,9 @@
+package com.finki.agrimanagement.repository;
+
+import com.finki.agrimanagement.entity.UsageRollupBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UsageRollupBackfillRepository extends JpaRepository<UsageRollupBackfill, String> {
+}
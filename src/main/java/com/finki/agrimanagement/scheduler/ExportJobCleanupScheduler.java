@@ -0,0 +1,25 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.service.ExportJobService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ExportJobCleanupScheduler {
+
+    private final ExportJobService exportJobService;
+
+    public ExportJobCleanupScheduler(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    /**
+     * Removes export jobs whose result TTL has passed, together with their files
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-minutes}", timeUnit = TimeUnit.MINUTES)
+    public void removeExpiredExportJobs() {
+        exportJobService.removeExpiredJobs();
+    }
+}
@@ -1,11 +1,11 @@
 package com.finki.agrimanagement.scheduler;
 
+import com.finki.agrimanagement.config.SchedulerClusterConfig;
 import com.finki.agrimanagement.entity.Fertilization;
 import com.finki.agrimanagement.entity.Parcel;
 import com.finki.agrimanagement.enums.FertilizationStatus;
 import com.finki.agrimanagement.repository.FertilizationRepository;
 import com.finki.agrimanagement.repository.ParcelRepository;
-import com.finki.agrimanagement.service.EmailNotificationService;
 import com.finki.agrimanagement.service.FertilizationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -21,72 +21,78 @@ public class FertilizationScheduler {
     private final FertilizationService fertilizationService;
     private final ParcelRepository parcelRepository;
     private final FertilizationRepository fertilizationRepository;
-    private final EmailNotificationService emailNotificationService;
+    private final SchedulerLeaderLease leaderLease;
+    private final SchedulerClusterConfig clusterConfig;
+    private final SchedulerMetrics.Job dueCheckJob;
+    private final SchedulerMetrics.Job schedulingJob;
 
     public FertilizationScheduler(FertilizationService fertilizationService,
                                   ParcelRepository parcelRepository,
                                   FertilizationRepository fertilizationRepository,
-                                  EmailNotificationService emailNotificationService) {
+                                  SchedulerMetrics schedulerMetrics,
+                                  SchedulerLeaderLease leaderLease,
+                                  SchedulerClusterConfig clusterConfig) {
         this.fertilizationService = fertilizationService;
         this.parcelRepository = parcelRepository;
         this.fertilizationRepository = fertilizationRepository;
-        this.emailNotificationService = emailNotificationService;
+        this.leaderLease = leaderLease;
+        this.clusterConfig = clusterConfig;
+        this.dueCheckJob = schedulerMetrics.job("fertilization-due-check");
+        this.schedulingJob = schedulerMetrics.job("fertilization-scheduling");
     }
 
     /**
      * Runs every hour to check for scheduled fertilizations that are due
-     * and marks them as PENDING (ready for notification to be sent)
+     * and marks them as PENDING (ready for notification to be sent).
+     * Works in batches of locked rows, so every instance can run it without notifying twice.
      */
     @Scheduled(cron = "0 0 * * * *")
     public void checkDueFertilizations() {
+        dueCheckJob.time(this::markDueFertilizationsPending);
+    }
+
+    private void markDueFertilizationsPending() {
         log.info("Checking for fertilizations that are due");
 
         LocalDateTime now = LocalDateTime.now();
+        int batchSize = clusterConfig.getFertilizationClaimBatchSize();
+        int markedCount = 0;
 
-        // Find all scheduled fertilizations that should be marked as pending
-        List<Fertilization> dueFertilizations = fertilizationService.getFertilizationsDueBeforeByStatus(
-                now, FertilizationStatus.SCHEDULED);
-
-        if (dueFertilizations.isEmpty()) {
-            log.info("No fertilizations are due at this time");
-            return;
-        }
-
-        log.info("Found {} fertilization(s) that are due", dueFertilizations.size());
-
-        for (Fertilization fertilization : dueFertilizations) {
+        List<Long> batch;
+        do {
             try {
-                log.info("Marking fertilization ID: {} as PENDING for parcel: {}",
-                        fertilization.getId(),
-                        fertilization.getParcel().getName());
-
-                fertilizationService.markAsPending(fertilization.getId());
-
-                // Send notification to user
-                log.info("Fertilization ID: {} is now PENDING - sending notification to user",
-                        fertilization.getId());
-
-                try {
-                    emailNotificationService.sendFertilizationDueNotification(fertilization);
-                } catch (Exception emailEx) {
-                    log.error("Failed to send fertilization due notification email", emailEx);
-                }
-
+                batch = PartitionMoveRetry.run("Marking due fertilizations as PENDING",
+                        () -> fertilizationService.markDueAsPending(now, batchSize));
             } catch (Exception e) {
-                log.error("Failed to process fertilization ID: {}. Error: {}",
-                        fertilization.getId(),
-                        e.getMessage(),
-                        e);
+                dueCheckJob.failed();
+                log.error("Failed to mark due fertilizations as PENDING. Error: {}", e.getMessage(), e);
+                break;
             }
+            dueCheckJob.found(batch.size());
+            dueCheckJob.processed(batch.size());
+            markedCount += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (markedCount > 0) {
+            log.info("Marked {} due fertilization(s) as PENDING and notified their users", markedCount);
+        } else {
+            log.info("No fertilizations are due at this time");
         }
     }
 
     /**
      * Automatically creates fertilization schedules for parcels that need fertilization
      * based on the crop's fertilization frequency and the parcel's last fertilization time.
+     * Only runs on the scheduler leader, so two instances never schedule the same parcel.
      */
     @Scheduled(cron = "0 0 * * * *")
     public void scheduleRequiredFertilizations() {
+        if (leaderLease.isLeader()) {
+            schedulingJob.time(this::scheduleFertilizationsForParcels);
+        }
+    }
+
+    private void scheduleFertilizationsForParcels() {
         log.info("Checking for parcels that need fertilization scheduled");
 
         List<Parcel> allParcels = parcelRepository.findAll();
@@ -133,6 +139,7 @@ public class FertilizationScheduler {
                             parcel.getName());
                     continue;
                 }
+                schedulingJob.found(1);
 
                 // Schedule new fertilization
                 log.info("Auto-scheduling fertilization for parcel: {} (last fertilized: {}, frequency: {} days)",
@@ -147,8 +154,10 @@ public class FertilizationScheduler {
                 );
 
                 scheduledCount++;
+                schedulingJob.processed();
 
             } catch (Exception e) {
+                schedulingJob.failed();
                 log.error("Failed to auto-schedule fertilization for parcel ID: {}. Error: {}",
                         parcel.getId(),
                         e.getMessage(),
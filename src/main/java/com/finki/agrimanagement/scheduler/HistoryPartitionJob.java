@@ -0,0 +1,87 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.HistoryPartitionConfig;
+import com.finki.agrimanagement.repository.FertilizationRepository;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of the irrigation and fertilization tables: creates the ones of the coming
+ * months ahead of time and, when archiving is enabled, detaches the ones past the retention period.
+ * Runs only on the scheduler leader, since partition DDL takes locks on the whole table.
+ */
+@Component
+@Slf4j
+public class HistoryPartitionJob {
+
+    private final IrrigationRepository irrigationRepository;
+    private final FertilizationRepository fertilizationRepository;
+    private final SchedulerLeaderLease leaderLease;
+    private final HistoryPartitionConfig partitionConfig;
+    private final SchedulerMetrics.Job partitionJob;
+
+    public HistoryPartitionJob(IrrigationRepository irrigationRepository,
+                               FertilizationRepository fertilizationRepository,
+                               SchedulerLeaderLease leaderLease,
+                               HistoryPartitionConfig partitionConfig,
+                               SchedulerMetrics schedulerMetrics) {
+        this.irrigationRepository = irrigationRepository;
+        this.fertilizationRepository = fertilizationRepository;
+        this.leaderLease = leaderLease;
+        this.partitionConfig = partitionConfig;
+        this.partitionJob = schedulerMetrics.job("history-partitions");
+    }
+
+    @Scheduled(cron = "${history.partitions.maintenance-cron}")
+    public void maintainPartitions() {
+        if (leaderLease.isLeader()) {
+            partitionJob.time(() -> {
+                LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+                createPartitions(currentMonth);
+                if (partitionConfig.isArchiveEnabled()) {
+                    archivePartitions(currentMonth.minusMonths(partitionConfig.getRetentionMonths()));
+                }
+            });
+        }
+    }
+
+    private void createPartitions(LocalDate currentMonth) {
+        try {
+            int created = irrigationRepository.createMonthlyPartitions(currentMonth, partitionConfig.getMonthsAhead())
+                    + fertilizationRepository.createMonthlyPartitions(currentMonth, partitionConfig.getMonthsAhead());
+            if (created > 0) {
+                log.info("Created {} monthly history partition(s)", created);
+            }
+            partitionJob.processed();
+        } catch (Exception e) {
+            partitionJob.failed();
+            log.error("Failed to create monthly history partitions. Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Detaches the partitions of the months before the cutoff. Detached partitions are moved to the
+     * history_archive schema and stay queryable there until they are dumped or dropped.
+     * A month that still holds unfinished irrigations or fertilizations stays attached until a later run.
+     */
+    private void archivePartitions(LocalDate cutoff) {
+        try {
+            List<String> detached = new ArrayList<>(irrigationRepository.detachMonthlyPartitionsBefore(cutoff));
+            detached.addAll(fertilizationRepository.detachMonthlyPartitionsBefore(cutoff));
+            partitionJob.found(detached.size());
+            if (!detached.isEmpty()) {
+                log.info("Archived history partitions before {}: {}", cutoff, detached);
+            }
+            partitionJob.processed();
+        } catch (Exception e) {
+            partitionJob.failed();
+            log.error("Failed to archive history partitions before {}. Error: {}", cutoff, e.getMessage(), e);
+        }
+    }
+}
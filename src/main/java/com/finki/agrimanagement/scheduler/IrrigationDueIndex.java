@@ -0,0 +1,154 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.dto.projection.IrrigationDueEntry;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of irrigations waiting to be executed, ordered by scheduled datetime.
+ * It is rebuilt from the database at startup and kept in sync by the services that create,
+ * reschedule or finish irrigations, so the executor can wake up exactly when the next
+ * irrigation is due instead of polling the database.
+ * The index is only a hint: the executor re-reads every polled irrigation before running it.
+ */
+@Component
+@Slf4j
+public class IrrigationDueIndex {
+
+    private final TreeSet<DueEntry> queue = new TreeSet<>();
+    private final Map<Long, DueEntry> entries = new HashMap<>();
+
+    private volatile Consumer<LocalDateTime> wakeUpListener = dueAt -> { };
+
+    /**
+     * Register the callback invoked whenever an irrigation becomes the earliest one in the index
+     */
+    public void setWakeUpListener(Consumer<LocalDateTime> wakeUpListener) {
+        this.wakeUpListener = wakeUpListener;
+    }
+
+    /**
+     * Add, move or remove the irrigation depending on its current status and scheduled datetime.
+     * Inside a transaction the change is applied only after the transaction commits.
+     */
+    public void track(Irrigation irrigation) {
+        Long id = irrigation.getId();
+        LocalDateTime dueAt = isPending(irrigation.getStatus()) ? irrigation.getScheduledDatetime() : null;
+        afterCommit(() -> {
+            if (dueAt != null) {
+                put(id, dueAt);
+            } else {
+                remove(id);
+            }
+        });
+    }
+
+    /**
+     * Remove the irrigation from the index, after the current transaction commits if there is one
+     */
+    public void untrack(Long irrigationId) {
+        afterCommit(() -> remove(irrigationId));
+    }
+
+    /**
+     * Replace the whole index with the given pending irrigations
+     */
+    public void rebuild(Collection<IrrigationDueEntry> pending) {
+        synchronized (this) {
+            queue.clear();
+            entries.clear();
+            for (IrrigationDueEntry entry : pending) {
+                DueEntry dueEntry = new DueEntry(entry.getScheduledDatetime(), entry.getId());
+                queue.add(dueEntry);
+                entries.put(entry.getId(), dueEntry);
+            }
+        }
+        log.info("Rebuilt irrigation due index with {} pending irrigation(s)", pending.size());
+        nextDueAt().ifPresent(wakeUpListener);
+    }
+
+    /**
+     * Remove and return the ids of all irrigations due at or before the given time, earliest first
+     */
+    public synchronized List<Long> pollDue(LocalDateTime now) {
+        List<Long> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.first().dueAt().isAfter(now)) {
+            DueEntry entry = queue.pollFirst();
+            entries.remove(entry.irrigationId());
+            due.add(entry.irrigationId());
+        }
+        return due;
+    }
+
+    public synchronized Optional<LocalDateTime> nextDueAt() {
+        return queue.isEmpty() ? Optional.empty() : Optional.of(queue.first().dueAt());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void put(Long id, LocalDateTime dueAt) {
+        boolean newHead;
+        synchronized (this) {
+            DueEntry previous = entries.remove(id);
+            if (previous != null) {
+                queue.remove(previous);
+            }
+            DueEntry entry = new DueEntry(dueAt, id);
+            queue.add(entry);
+            entries.put(id, entry);
+            newHead = queue.first().equals(entry);
+        }
+        if (newHead) {
+            wakeUpListener.accept(dueAt);
+        }
+    }
+
+    private synchronized void remove(Long id) {
+        DueEntry previous = entries.remove(id);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+
+    private static boolean isPending(IrrigationStatus status) {
+        return status == IrrigationStatus.SCHEDULED || status == IrrigationStatus.RETRYING;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record DueEntry(LocalDateTime dueAt, Long irrigationId) implements Comparable<DueEntry> {
+
+        @Override
+        public int compareTo(DueEntry other) {
+            int byTime = dueAt.compareTo(other.dueAt);
+            return byTime != 0 ? byTime : irrigationId.compareTo(other.irrigationId);
+        }
+    }
+}
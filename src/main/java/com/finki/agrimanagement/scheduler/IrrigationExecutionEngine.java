@@ -0,0 +1,203 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.IrrigationExecutionConfig;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs due irrigations in parallel on virtual threads.
+ * Irrigations of the same parcel are executed one after another in the order they were submitted,
+ * also across ticks, while different parcels run concurrently up to the configured concurrency cap.
+ * Irrigations that could not be started before their tick deadline have their claim released
+ * and are handed back to the due index.
+ */
+@Component
+@Slf4j
+public class IrrigationExecutionEngine {
+
+    private final IrrigationDueIndex irrigationDueIndex;
+    private final IrrigationRepository irrigationRepository;
+    private final IrrigationExecutionConfig executionConfig;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    private final Map<Long, Deque<ExecutionTask>> parcelQueues = new HashMap<>();
+    private final Set<Long> queuedIrrigationIds = new HashSet<>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public IrrigationExecutionEngine(IrrigationDueIndex irrigationDueIndex,
+                                     IrrigationRepository irrigationRepository,
+                                     IrrigationExecutionConfig executionConfig,
+                                     MeterRegistry meterRegistry) {
+        this.irrigationDueIndex = irrigationDueIndex;
+        this.irrigationRepository = irrigationRepository;
+        this.executionConfig = executionConfig;
+        this.permits = new Semaphore(Math.max(1, executionConfig.getMaxConcurrency()));
+
+        Gauge.builder("irrigation.execution.queued", queueDepth, AtomicInteger::get)
+                .description("Irrigations waiting for their parcel or for a free execution slot")
+                .register(meterRegistry);
+        Gauge.builder("irrigation.execution.in.flight", inFlight, AtomicInteger::get)
+                .description("Irrigations currently being executed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Execute the given irrigations and wait until they are done or the tick deadline passes.
+     * Irrigations that are already queued from an earlier tick are ignored.
+     *
+     * @return the number of submitted irrigations still queued or running when the call returned
+     */
+    public int execute(List<Irrigation> irrigations, Consumer<Irrigation> action) {
+        Instant deadline = Instant.now().plusSeconds(executionConfig.getTickDeadlineSeconds());
+        List<Long> parcelsToStart = new ArrayList<>();
+        CountDownLatch done;
+
+        synchronized (this) {
+            List<Irrigation> accepted = irrigations.stream()
+                    .filter(irrigation -> queuedIrrigationIds.add(irrigation.getId()))
+                    .toList();
+            done = new CountDownLatch(accepted.size());
+
+            for (Irrigation irrigation : accepted) {
+                Long parcelId = irrigation.getParcel().getId();
+                Deque<ExecutionTask> queue = parcelQueues.get(parcelId);
+                if (queue == null) {
+                    queue = new ArrayDeque<>();
+                    parcelQueues.put(parcelId, queue);
+                    parcelsToStart.add(parcelId);
+                }
+                queue.add(new ExecutionTask(irrigation, action, deadline, done));
+                queueDepth.incrementAndGet();
+            }
+        }
+
+        parcelsToStart.forEach(parcelId -> executor.execute(() -> drainParcel(parcelId)));
+
+        try {
+            long waitMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+            if (!done.await(waitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Irrigation execution tick deadline reached with {} irrigation(s) unfinished " +
+                        "(queued: {}, in flight: {})", done.getCount(), queueDepth.get(), inFlight.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return (int) done.getCount();
+    }
+
+    /**
+     * Number of irrigations waiting for their parcel or for a free execution slot
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Number of irrigations currently being executed
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drainParcel(Long parcelId) {
+        while (true) {
+            ExecutionTask task;
+            synchronized (this) {
+                task = parcelQueues.get(parcelId).poll();
+                if (task == null) {
+                    parcelQueues.remove(parcelId);
+                    return;
+                }
+            }
+            queueDepth.decrementAndGet();
+            run(task);
+        }
+    }
+
+    private void run(ExecutionTask task) {
+        Irrigation irrigation = task.irrigation();
+        boolean deferred = true;
+        try {
+            permits.acquire();
+            try {
+                if (Instant.now().isBefore(task.deadline())) {
+                    deferred = false;
+                    inFlight.incrementAndGet();
+                    try {
+                        task.action().accept(irrigation);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                }
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while executing irrigation ID: {}", irrigation.getId(), e);
+        } finally {
+            synchronized (this) {
+                queuedIrrigationIds.remove(irrigation.getId());
+            }
+            if (deferred) {
+                log.info("Irrigation ID: {} was not started before the tick deadline, deferring it",
+                        irrigation.getId());
+                defer(irrigation);
+            }
+            task.done().countDown();
+        }
+    }
+
+    /**
+     * Releases the claim of this instance on the irrigation and puts it back in the due index.
+     * Without the release, the next tick would skip the still claimed row until the claim expires.
+     */
+    private void defer(Irrigation irrigation) {
+        try {
+            if (irrigation.getClaimToken() != null) {
+                irrigationRepository.releaseClaim(irrigation.getId(), irrigation.getClaimToken());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to release the claim on deferred irrigation ID: {}", irrigation.getId(), e);
+        }
+        irrigationDueIndex.track(irrigation);
+    }
+
+    private record ExecutionTask(Irrigation irrigation,
+                                 Consumer<Irrigation> action,
+                                 Instant deadline,
+                                 CountDownLatch done) {
+    }
+}
@@ -1,35 +1,76 @@
 package com.finki.agrimanagement.scheduler;
 
 import com.finki.agrimanagement.config.IrrigationRetryConfig;
-import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.config.SchedulerClusterConfig;
+import com.finki.agrimanagement.dto.projection.IrrigationCandidate;
+import com.finki.agrimanagement.dto.projection.IrrigationDueEntry;
+import com.finki.agrimanagement.dto.weather.CoordDTO;
+import com.finki.agrimanagement.dto.weather.RainCheckResultDTO;
 import com.finki.agrimanagement.entity.Irrigation;
 import com.finki.agrimanagement.entity.Parcel;
 import com.finki.agrimanagement.enums.IrrigationStatus;
 import com.finki.agrimanagement.repository.IrrigationRepository;
 import com.finki.agrimanagement.repository.ParcelRepository;
-import com.finki.agrimanagement.service.EmailNotificationService;
 import com.finki.agrimanagement.service.IrrigationExecutionService;
 import com.finki.agrimanagement.service.IrrigationService;
 import com.finki.agrimanagement.service.WeatherService;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class IrrigationScheduler {
 
+    /**
+     * Delay applied to irrigations for parcels that are overdue or have never been irrigated
+     */
+    private static final int IMMEDIATE_SCHEDULE_DELAY_MINUTES = 5;
+
     private final IrrigationService irrigationService;
     private final IrrigationExecutionService irrigationExecutionService;
     private final IrrigationRetryConfig retryConfig;
     private final ParcelRepository parcelRepository;
     private final IrrigationRepository irrigationRepository;
     private final WeatherService weatherService;
-    private final EmailNotificationService emailNotificationService;
+    private final IrrigationDueIndex irrigationDueIndex;
+    private final TaskScheduler taskScheduler;
+    private final IrrigationExecutionEngine irrigationExecutionEngine;
+    private final SchedulerMetrics schedulerMetrics;
+    private final SchedulerLeaderLease leaderLease;
+    private final SchedulerClusterConfig clusterConfig;
+    private final SchedulerMetrics.Job rebuildJob;
+    private final SchedulerMetrics.Job executionJob;
+    private final SchedulerMetrics.Job overdueCheckJob;
+    private final SchedulerMetrics.Job schedulingJob;
+
+    /**
+     * Runs the execution ticks, which wait up to the tick deadline for the engine. The shared scheduling
+     * thread only hands the tick over, so cron jobs and the lease renewal are never held up by it.
+     */
+    private final ExecutorService executionTicks =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "irrigation-execution-tick"));
+
+    private ScheduledFuture<?> nextWakeUp;
+    private LocalDateTime nextWakeUpAt;
 
     public IrrigationScheduler(IrrigationService irrigationService,
                                IrrigationExecutionService irrigationExecutionService,
@@ -37,264 +78,365 @@ public class IrrigationScheduler {
                                ParcelRepository parcelRepository,
                                IrrigationRepository irrigationRepository,
                                WeatherService weatherService,
-                               EmailNotificationService emailNotificationService) {
+                               IrrigationDueIndex irrigationDueIndex,
+                               TaskScheduler taskScheduler,
+                               IrrigationExecutionEngine irrigationExecutionEngine,
+                               SchedulerMetrics schedulerMetrics,
+                               SchedulerLeaderLease leaderLease,
+                               SchedulerClusterConfig clusterConfig) {
         this.irrigationService = irrigationService;
         this.irrigationExecutionService = irrigationExecutionService;
         this.retryConfig = retryConfig;
         this.parcelRepository = parcelRepository;
         this.irrigationRepository = irrigationRepository;
         this.weatherService = weatherService;
-        this.emailNotificationService = emailNotificationService;
+        this.irrigationDueIndex = irrigationDueIndex;
+        this.taskScheduler = taskScheduler;
+        this.irrigationExecutionEngine = irrigationExecutionEngine;
+        this.schedulerMetrics = schedulerMetrics;
+        this.leaderLease = leaderLease;
+        this.clusterConfig = clusterConfig;
+        this.rebuildJob = schedulerMetrics.job("irrigation-due-index-rebuild");
+        this.executionJob = schedulerMetrics.job("irrigation-execution");
+        this.overdueCheckJob = schedulerMetrics.job("irrigation-overdue-check");
+        this.schedulingJob = schedulerMetrics.job("irrigation-scheduling");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeDueIndex() {
+        irrigationDueIndex.setWakeUpListener(this::scheduleWakeUp);
+        rebuildDueIndex();
     }
 
     /**
-     * Runs every minute to check for scheduled irrigations that need to be executed.
+     * Reloads the due-work index from the database as a safety net for changes
+     * that did not go through the irrigation services.
+     */
+    @Scheduled(fixedDelayString = "${irrigation.execution.reconcile-interval-minutes}",
+            initialDelayString = "${irrigation.execution.reconcile-interval-minutes}",
+            timeUnit = TimeUnit.MINUTES)
+    public void rebuildDueIndex() {
+        rebuildJob.time(() -> {
+            List<IrrigationDueEntry> entries = irrigationRepository.findPendingDueEntries();
+            rebuildJob.found(entries.size());
+            irrigationDueIndex.rebuild(entries);
+            rebuildJob.processed(entries.size());
+        });
+    }
+
+    /**
+     * Executes the irrigations that are due according to the due-work index.
+     * Runs whenever the earliest pending irrigation becomes due rather than on a fixed interval,
+     * handing the due irrigations to the execution engine so different parcels run in parallel.
+     * Every instance runs this, each executing only the irrigations it managed to claim.
      * Checks for irrigations that are:
      * - In SCHEDULED or RETRYING status
      * - Have a scheduled datetime that is now or in the past
      */
-    @Scheduled(cron = "0 * * * * *")
     public void executeScheduledIrrigations() {
-        log.info("Checking for scheduled irrigations to execute");
+        executionJob.time(this::executeDueIrrigations);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
+    private void executeDueIrrigations() {
+        synchronized (this) {
+            nextWakeUp = null;
+            nextWakeUpAt = null;
+        }
 
-        // Find all scheduled and retrying irrigations that should be executed
-        List<Irrigation> scheduledIrrigations = irrigationService.getIrrigationsDueBeforeByStatus(now, IrrigationStatus.SCHEDULED);
-        List<Irrigation> retryingIrrigations = irrigationService.getIrrigationsDueBeforeByStatus(now, IrrigationStatus.RETRYING);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Irrigation> irrigationsToExecute = findDueIrrigations(now);
 
-        List<Irrigation> irrigationsToExecute = new ArrayList<>(scheduledIrrigations);
-        irrigationsToExecute.addAll(retryingIrrigations);
+            if (irrigationsToExecute.isEmpty()) {
+                log.debug("No irrigations to execute at this time");
+                return;
+            }
 
-        if (irrigationsToExecute.isEmpty()) {
-            log.info("No irrigations to execute at this time");
-            return;
+            executionJob.found(irrigationsToExecute.size());
+            log.info("Found {} irrigation(s) to execute", irrigationsToExecute.size());
+            Map<CoordDTO, RainCheckResultDTO> rainChecks = prefetchRainConditions(irrigationsToExecute);
+            irrigationExecutionEngine.execute(irrigationsToExecute,
+                    irrigation -> executeDueIrrigation(irrigation, rainChecks));
+        } finally {
+            irrigationDueIndex.nextDueAt().ifPresent(this::scheduleWakeUp);
         }
+    }
 
-        log.info("Found {} irrigation(s) to execute ({} scheduled, {} retrying)",
-                irrigationsToExecute.size(), scheduledIrrigations.size(), retryingIrrigations.size());
+    /**
+     * Checks the weather for all parcels of the tick in one batch, one request per weather cell
+     */
+    private Map<CoordDTO, RainCheckResultDTO> prefetchRainConditions(List<Irrigation> irrigations) {
+        Set<CoordDTO> locations = new HashSet<>();
+        for (Irrigation irrigation : irrigations) {
+            CoordDTO location = locationOf(irrigation.getParcel());
+            if (location != null) {
+                locations.add(location);
+            }
+        }
+        if (locations.isEmpty()) {
+            return Map.of();
+        }
 
-        for (Irrigation irrigation : irrigationsToExecute) {
-            try {
-                Parcel parcel = irrigation.getParcel();
+        try {
+            return weatherService.checkRainConditions(locations);
+        } catch (Exception e) {
+            log.error("Failed to prefetch weather for {} location(s), falling back to per-irrigation checks",
+                    locations.size(), e);
+            return Map.of();
+        }
+    }
 
-                String statusInfo = irrigation.getStatus() == IrrigationStatus.RETRYING
-                        ? " (retry attempt " + (irrigation.getRetryCount() + 1) + ")"
-                        : "";
-                log.info("Executing irrigation ID: {} for parcel: {}{}",
-                        irrigation.getId(),
-                        parcel.getName(),
-                        statusInfo);
+    /**
+     * Executes a single due irrigation, postponing it instead if rain is detected.
+     * Called by the execution engine on its own thread.
+     */
+    private void executeDueIrrigation(Irrigation irrigation, Map<CoordDTO, RainCheckResultDTO> rainChecks) {
+        try {
+            Parcel parcel = irrigation.getParcel();
+
+            String statusInfo = irrigation.getStatus() == IrrigationStatus.RETRYING
+                    ? " (retry attempt " + (irrigation.getRetryCount() + 1) + ")"
+                    : "";
+            log.info("Executing irrigation ID: {} for parcel: {}{}",
+                    irrigation.getId(),
+                    parcel.getName(),
+                    statusInfo);
+
+            // Weather check - postpone if rain detected
+            if (checkWeatherAndPostponeIfNeeded(irrigation, parcel, rainChecks)) {
+                executionJob.processed();
+                return;
+            }
+
+            schedulerMetrics.recordIrrigationExecutionStarted(irrigation.getScheduledDatetime());
+            boolean executed = PartitionMoveRetry.run("Executing irrigation ID: " + irrigation.getId(),
+                    () -> irrigationExecutionService.executeClaimedIrrigation(irrigation.getId(),
+                            irrigation.getClaimToken()));
+            if (!executed) {
+                return;
+            }
+            executionJob.processed();
+
+            log.info("Successfully executed irrigation ID: {}", irrigation.getId());
+        } catch (Exception e) {
+            executionJob.failed();
+            log.error("Failed to execute irrigation ID: {}. Error: {}",
+                    irrigation.getId(),
+                    e.getMessage(),
+                    e);
+        }
+    }
 
-                // Weather check - postpone if rain detected
-                if (checkWeatherAndPostponeIfNeeded(irrigation, parcel)) {
-                    continue;
-                }
+    /**
+     * Takes the due irrigations from the index, claims them for this instance and re-reads them.
+     * Irrigations claimed by another instance, finished or deleted meanwhile are dropped,
+     * and any that were moved to a later time are re-indexed.
+     */
+    private List<Irrigation> findDueIrrigations(LocalDateTime now) {
+        List<Long> dueIds = irrigationDueIndex.pollDue(now);
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
 
-                irrigationExecutionService.executeIrrigation(irrigation.getId());
+        String claimToken = clusterConfig.getInstanceId() + ":" + UUID.randomUUID();
+        int claimed = PartitionMoveRetry.run("Claiming due irrigations",
+                () -> irrigationRepository.claimDue(dueIds, now, claimToken, now.plus(clusterConfig.getClaimTtl())));
+        if (claimed < dueIds.size()) {
+            log.debug("Claimed {} of {} due irrigation(s)", claimed, dueIds.size());
+        }
 
-                log.info("Successfully executed irrigation ID: {}", irrigation.getId());
-            } catch (Exception e) {
-                log.error("Failed to execute irrigation ID: {}. Error: {}",
-                        irrigation.getId(),
-                        e.getMessage(),
-                        e);
+        List<Irrigation> dueIrrigations = new ArrayList<>(claimed);
+        for (Irrigation irrigation : irrigationRepository.findAllById(dueIds)) {
+            boolean pending = irrigation.getStatus() == IrrigationStatus.SCHEDULED ||
+                    irrigation.getStatus() == IrrigationStatus.RETRYING;
+            if (claimToken.equals(irrigation.getClaimToken())) {
+                dueIrrigations.add(irrigation);
+            } else if (pending && irrigation.getScheduledDatetime().isAfter(now)) {
+                irrigationDueIndex.track(irrigation);
             }
         }
+        dueIrrigations.sort(Comparator.comparing(Irrigation::getScheduledDatetime));
+        return dueIrrigations;
+    }
+
+    /**
+     * Makes sure the executor wakes up no later than the given time
+     */
+    private synchronized void scheduleWakeUp(LocalDateTime dueAt) {
+        if (nextWakeUpAt != null && !dueAt.isBefore(nextWakeUpAt)) {
+            return;
+        }
+        if (nextWakeUp != null) {
+            nextWakeUp.cancel(false);
+        }
+        nextWakeUpAt = dueAt;
+        nextWakeUp = taskScheduler.schedule(() -> executionTicks.execute(this::executeScheduledIrrigations),
+                dueAt.atZone(ZoneId.systemDefault()).toInstant());
+        log.debug("Next irrigation execution scheduled for {}", dueAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executionTicks.shutdownNow();
     }
 
     /**
      * Check for overdue irrigations that have exceeded max retry attempts
      * and mark them as failed. Checks both SCHEDULED and RETRYING statuses.
+     * Each batch is failed by one bulk update, and only the returned irrigations are loaded
+     * to queue their notifications in the same transaction.
+     * Only runs on the scheduler leader.
      */
     @Scheduled(cron = "0 0 * * * *")
     public void checkOverdueIrrigations() {
+        if (leaderLease.isLeader()) {
+            overdueCheckJob.time(this::markOverdueIrrigationsFailed);
+        }
+    }
+
+    private void markOverdueIrrigationsFailed() {
         log.info("Checking for overdue irrigations");
 
         LocalDateTime overdueDeadline = LocalDateTime.now().minusHours(retryConfig.getOverdueHours());
+        int batchSize = retryConfig.getOverdueBatchSize();
+        String reason = "Not executed within " + retryConfig.getOverdueHours() + " hour(s) of its scheduled time";
+        int failedCount = 0;
 
-        List<Irrigation> overdueScheduled = irrigationService.getIrrigationsDueBeforeByStatus(overdueDeadline, IrrigationStatus.SCHEDULED);
-        List<Irrigation> overdueRetrying = irrigationService.getIrrigationsDueBeforeByStatus(overdueDeadline, IrrigationStatus.RETRYING);
-
-        List<Irrigation> overdueIrrigations = new ArrayList<>(overdueScheduled);
-        overdueIrrigations.addAll(overdueRetrying);
-
-        if (overdueIrrigations.isEmpty()) {
-            log.info("No overdue irrigations found");
-            return;
-        }
-
-        log.warn("Found {} overdue irrigation(s) past {}-hour deadline",
-                overdueIrrigations.size(), retryConfig.getOverdueHours());
-
-        for (Irrigation irrigation : overdueIrrigations) {
+        List<Long> failedIds;
+        do {
             try {
-                int retryCount = irrigation.getRetryCount() != null ? irrigation.getRetryCount() : 0;
-
-                // Only mark as failed if it hasn't been marked already
-                // This is a safety check for stuck irrigations
-                if (irrigation.getStatus() == IrrigationStatus.SCHEDULED ||
-                        irrigation.getStatus() == IrrigationStatus.RETRYING) {
-                    log.warn("Marking irrigation ID: {} as FAILED (overdue after {} hours, {} retry attempts)",
-                            irrigation.getId(), retryConfig.getOverdueHours(), retryCount);
-
-                    irrigationService.updateIrrigationStatus(irrigation.getId(), IrrigationStatus.FAILED);
-                }
-
+                failedIds = PartitionMoveRetry.run("Marking overdue irrigations as FAILED",
+                        () -> irrigationService.markOverdueAsFailed(overdueDeadline, batchSize, reason));
             } catch (Exception e) {
-                log.error("Failed to mark irrigation ID: {} as failed. Error: {}",
-                        irrigation.getId(),
-                        e.getMessage(),
-                        e);
+                overdueCheckJob.failed();
+                log.error("Failed to mark overdue irrigations as FAILED. Error: {}", e.getMessage(), e);
+                break;
             }
+            overdueCheckJob.found(failedIds.size());
+            overdueCheckJob.processed(failedIds.size());
+            failedCount += failedIds.size();
+        } while (failedIds.size() == batchSize);
+
+        if (failedCount > 0) {
+            log.warn("Marked {} overdue irrigation(s) as FAILED past {}-hour deadline",
+                    failedCount, retryConfig.getOverdueHours());
+        } else {
+            log.info("No overdue irrigations found");
         }
     }
 
     /**
      * Automatically creates irrigation schedules for parcels that need irrigation
      * based on the crop's irrigation frequency and the parcel's last irrigation time.
+     * Parcels that already have a relevant scheduled irrigation are filtered out in the
+     * database, and the new irrigations are inserted in a single batch.
+     * Only runs on the scheduler leader, so two instances never schedule the same parcel.
      */
     @Scheduled(cron = "0 * * * * *")
     public void scheduleRequiredIrrigations() {
+        if (leaderLease.isLeader()) {
+            schedulingJob.time(this::scheduleIrrigationsForCandidates);
+        }
+    }
+
+    private void scheduleIrrigationsForCandidates() {
         log.info("Checking for parcels that need irrigation scheduled");
 
-        List<Parcel> allParcels = parcelRepository.findAll();
         LocalDateTime now = LocalDateTime.now();
-        int scheduledCount = 0;
+        List<IrrigationCandidate> candidates = parcelRepository.findIrrigationCandidates(
+                now.plusMinutes(IMMEDIATE_SCHEDULE_DELAY_MINUTES), IrrigationStatus.SCHEDULED);
+        schedulingJob.found(candidates.size());
 
-        for (Parcel parcel : allParcels) {
+        List<Irrigation> newIrrigations = new ArrayList<>(candidates.size());
+        for (IrrigationCandidate candidate : candidates) {
             try {
-                // Skip parcels without a crop or without irrigation frequency configured
-                if (parcel.getCrop() == null || parcel.getCrop().getIrrigationFrequencyDays() == null) {
-                    continue;
-                }
-
-                int frequencyDays = parcel.getCrop().getIrrigationFrequencyDays();
-
-                // Determine when next irrigation is needed
-                LocalDateTime nextIrrigationNeeded;
-                if (parcel.getLastIrrigatedAt() == null) {
-                    // Never irrigated - needs irrigation now
-                    nextIrrigationNeeded = now;
-                } else {
-                    // Calculate based on last irrigation + frequency
-                    nextIrrigationNeeded = parcel.getLastIrrigatedAt().plusDays(frequencyDays);
-                }
-
-                // Check if there's already a scheduled irrigation that covers this need
-                // Only skip if there's a scheduled irrigation within the irrigation frequency window
-                List<Irrigation> existingScheduled = irrigationRepository.findByParcelIdAndStatus(
-                        parcel.getId(), IrrigationStatus.SCHEDULED);
-
-                boolean hasRelevantScheduledIrrigation = false;
-                if (!existingScheduled.isEmpty()) {
-                    // Check if any scheduled irrigation is within the next irrigation cycle
-                    // If the soonest scheduled irrigation is more than frequencyDays away, we need to schedule one sooner
-                    LocalDateTime soonestScheduled = existingScheduled.stream()
-                            .map(Irrigation::getScheduledDatetime)
-                            .min(LocalDateTime::compareTo)
-                            .orElse(null);
-
-                    // Only consider it relevant if it's scheduled before the next required irrigation
-                    // Plus a grace period (e.g., half the frequency to allow some flexibility)
-                    LocalDateTime gracePeriod = nextIrrigationNeeded.plusDays(frequencyDays / 2);
-                    if (soonestScheduled.isBefore(gracePeriod)) {
-                        hasRelevantScheduledIrrigation = true;
-                        log.debug("Parcel {} has relevant scheduled irrigation at {}, skipping auto-schedule",
-                                parcel.getName(), soonestScheduled);
-                    } else {
-                        log.info("Parcel {} has scheduled irrigation at {} but it's too far (needed by {}), will auto-schedule",
-                                parcel.getName(), soonestScheduled, nextIrrigationNeeded);
-                    }
-                }
-
-                if (hasRelevantScheduledIrrigation) {
-                    continue;
-                }
-
-                // Determine when to schedule the irrigation
-                LocalDateTime scheduledTime;
-
-                if (parcel.getLastIrrigatedAt() == null) {
-                    // Never irrigated - schedule immediately
-                    scheduledTime = now.plusMinutes(5);
-                    log.info("Parcel {} has never been irrigated, scheduling first irrigation",
-                            parcel.getName());
-                } else if (nextIrrigationNeeded.isBefore(now) || nextIrrigationNeeded.isEqual(now)) {
-                    // Overdue - schedule immediately
-                    scheduledTime = now.plusMinutes(5);
-                    log.info("Parcel {} irrigation is overdue (last irrigated: {}, frequency: {} days), scheduling immediately",
-                            parcel.getName(), parcel.getLastIrrigatedAt(), frequencyDays);
-                } else {
-                    // Schedule for the exact time it's needed
-                    scheduledTime = nextIrrigationNeeded;
-                    log.info("Parcel {} needs irrigation (last irrigated: {}, frequency: {} days), scheduling for {}",
-                            parcel.getName(), parcel.getLastIrrigatedAt(), frequencyDays, scheduledTime);
-                }
-
-                createIrrigationSchedule(parcel, scheduledTime);
-                scheduledCount++;
-
+                newIrrigations.add(createIrrigationSchedule(candidate, now));
             } catch (Exception e) {
+                schedulingJob.failed();
                 log.error("Error processing parcel {} for auto-irrigation scheduling: {}",
-                        parcel.getId(), e.getMessage(), e);
+                        candidate.getParcelId(), e.getMessage(), e);
             }
         }
 
-        if (scheduledCount > 0) {
-            log.info("Successfully scheduled {} new irrigation(s)", scheduledCount);
-        } else {
+        if (newIrrigations.isEmpty()) {
             log.info("No new irrigations needed at this time");
+            return;
         }
+
+        irrigationRepository.saveAll(newIrrigations).forEach(irrigationDueIndex::track);
+        schedulingJob.processed(newIrrigations.size());
+        log.info("Successfully scheduled {} new irrigation(s)", newIrrigations.size());
     }
 
     /**
-     * Creates an irrigation record for the given parcel.
+     * Builds an irrigation record for the given candidate parcel.
      * Uses crop-specific irrigation parameters and calculates water amount based on parcel area.
      */
-    private void createIrrigationSchedule(Parcel parcel, LocalDateTime scheduledTime) {
+    private Irrigation createIrrigationSchedule(IrrigationCandidate candidate, LocalDateTime now) {
+        String parcelName = candidate.getParcelName();
+        int frequencyDays = candidate.getIrrigationFrequencyDays();
+        LocalDateTime lastIrrigatedAt = candidate.getLastIrrigatedAt();
+
+        // Determine when to schedule the irrigation
+        LocalDateTime scheduledTime;
+        if (lastIrrigatedAt == null) {
+            // Never irrigated - schedule immediately
+            scheduledTime = now.plusMinutes(IMMEDIATE_SCHEDULE_DELAY_MINUTES);
+            log.info("Parcel {} has never been irrigated, scheduling first irrigation", parcelName);
+        } else {
+            LocalDateTime nextIrrigationNeeded = lastIrrigatedAt.plusDays(frequencyDays);
+            if (!nextIrrigationNeeded.isAfter(now)) {
+                // Overdue - schedule immediately
+                scheduledTime = now.plusMinutes(IMMEDIATE_SCHEDULE_DELAY_MINUTES);
+                log.info("Parcel {} irrigation is overdue (last irrigated: {}, frequency: {} days), scheduling immediately",
+                        parcelName, lastIrrigatedAt, frequencyDays);
+            } else {
+                // Schedule for the exact time it's needed
+                scheduledTime = nextIrrigationNeeded;
+                log.info("Parcel {} needs irrigation (last irrigated: {}, frequency: {} days), scheduling for {}",
+                        parcelName, lastIrrigatedAt, frequencyDays, scheduledTime);
+            }
+        }
+
         Irrigation irrigation = new Irrigation();
-        irrigation.setParcel(parcel);
+        irrigation.setParcel(parcelRepository.getReferenceById(candidate.getParcelId()));
         irrigation.setScheduledDatetime(scheduledTime);
         irrigation.setStatus(IrrigationStatus.SCHEDULED);
 
-        Crop crop = parcel.getCrop();
-
         // Set duration from crop configuration, or use default if not configured
-        Integer duration = crop.getIrrigationDurationMinutes();
+        Integer duration = candidate.getIrrigationDurationMinutes();
         if (duration == null || duration <= 0) {
             duration = 30; // Default 30 minutes
             log.debug("Using default irrigation duration (30 min) for parcel {} - crop has no duration configured",
-                    parcel.getName());
+                    parcelName);
         }
         irrigation.setDurationMinutes(duration);
 
         // Calculate water amount based on parcel area and crop water requirement
         double waterAmount;
-        Double waterPerSqm = crop.getWaterRequirementLitersPerSqm();
-        Double parcelArea = parcel.getArea();
+        Double waterPerSqm = candidate.getWaterRequirementLitersPerSqm();
+        Double parcelArea = candidate.getArea();
 
         if (waterPerSqm != null && waterPerSqm > 0 && parcelArea != null && parcelArea > 0) {
             // Calculate: area (sqm) * water requirement (liters/sqm) = total liters
             waterAmount = parcelArea * waterPerSqm;
             log.debug("Calculated water amount for parcel {}: {} sqm * {} L/sqm = {} L",
-                    parcel.getName(), parcelArea, waterPerSqm, waterAmount);
+                    parcelName, parcelArea, waterPerSqm, waterAmount);
         } else {
             // Use default if calculation not possible
             waterAmount = 100.0; // Default 100 liters
             log.debug("Using default water amount (100L) for parcel {} - area: {}, water/sqm: {}",
-                    parcel.getName(), parcelArea, waterPerSqm);
+                    parcelName, parcelArea, waterPerSqm);
         }
         irrigation.setWaterAmountLiters(waterAmount);
 
         irrigation.setRetryCount(0);
-        irrigation.setCreatedAt(LocalDateTime.now());
-        irrigation.setUpdatedAt(LocalDateTime.now());
+        irrigation.setCreatedAt(now);
+        irrigation.setUpdatedAt(now);
 
-        irrigationRepository.save(irrigation);
-
-        log.info("Created irrigation schedule for parcel {} at {} (duration: {} min, water: {} L)",
-                parcel.getName(), scheduledTime, duration, waterAmount);
+        log.debug("Prepared irrigation schedule for parcel {} at {} (duration: {} min, water: {} L)",
+                parcelName, scheduledTime, duration, waterAmount);
+        return irrigation;
     }
 
     /**
@@ -302,40 +444,39 @@ public class IrrigationScheduler {
      *
      * @param irrigation The irrigation to check
      * @param parcel     The parcel associated with the irrigation
+     * @param rainChecks Rain checks prefetched for this tick, keyed by parcel coordinates
      * @return true if irrigation should be postponed, false otherwise
      */
-    private boolean checkWeatherAndPostponeIfNeeded(Irrigation irrigation, Parcel parcel) {
-        if (parcel.getLatitude() == null || parcel.getLongitude() == null) {
+    private boolean checkWeatherAndPostponeIfNeeded(Irrigation irrigation, Parcel parcel,
+                                                    Map<CoordDTO, RainCheckResultDTO> rainChecks) {
+        CoordDTO location = locationOf(parcel);
+        if (location == null) {
             log.debug("Parcel {} has no coordinates set, skipping weather check", parcel.getName());
             return false;
         }
 
-        var rainCheck = weatherService.checkRainConditions(
-                parcel.getLatitude(),
-                parcel.getLongitude()
-        );
+        RainCheckResultDTO rainCheck = rainChecks.get(location);
+        if (rainCheck == null) {
+            rainCheck = weatherService.checkRainConditions(parcel.getLatitude(), parcel.getLongitude());
+        }
 
         if (rainCheck.isRaining() || rainCheck.isRainExpectedInOneHour()) {
             String reason = rainCheck.isRaining() ? "currently raining" : "rain expected in next hour";
             log.info("Postponing irrigation ID: {} by 2 hours - {} for parcel: {}",
                     irrigation.getId(), reason, parcel.getName());
-
-            irrigation.setScheduledDatetime(irrigation.getScheduledDatetime().plusHours(2));
-            irrigation.setStatusDescription("Postponed by 2 hours - " + reason);
-            irrigation.setUpdatedAt(LocalDateTime.now());
-            irrigationRepository.save(irrigation);
-
-            // Send postponement notification email
-            try {
-                emailNotificationService.sendIrrigationPostponedNotification(irrigation, reason);
-            } catch (Exception emailEx) {
-                log.error("Failed to send irrigation postponed notification email", emailEx);
-            }
-
+            PartitionMoveRetry.run("Postponing irrigation ID: " + irrigation.getId(),
+                    () -> irrigationService.postponeClaimedIrrigation(irrigation.getId(), irrigation.getClaimToken(),
+                            2, reason));
             return true;
         }
 
         return false;
     }
-}
 
+    private static CoordDTO locationOf(Parcel parcel) {
+        if (parcel.getLatitude() == null || parcel.getLongitude() == null) {
+            return null;
+        }
+        return new CoordDTO(parcel.getLongitude(), parcel.getLatitude());
+    }
+}
@@ -0,0 +1,187 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.IrrigationUsageRollupConfig;
+import com.finki.agrimanagement.entity.UsageRollupBackfill;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.repository.UsageRollupBackfillRepository;
+import com.finki.agrimanagement.service.IrrigationUsageRollupService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the daily irrigation usage rollup complete. Finishing irrigations update today's rows as they happen;
+ * this job fills in the history before the rollup existed and rebuilds the last days every night.
+ * Only past days are rebuilt, so it never races the incremental updates, and only on the scheduler leader.
+ * The backfill runs on its own thread and is retried periodically until it finishes, so an instance
+ * that was not the leader at startup, or a leader that crashed midway, does not leave it undone.
+ */
+@Component
+@Slf4j
+public class IrrigationUsageRollupJob {
+
+    static final String BACKFILL_NAME = "irrigation-daily-usage";
+
+    private final IrrigationUsageRollupService rollupService;
+    private final UsageRollupBackfillRepository backfillRepository;
+    private final IrrigationRepository irrigationRepository;
+    private final SchedulerLeaderLease leaderLease;
+    private final IrrigationUsageRollupConfig rollupConfig;
+    private final SchedulerMetrics.Job rollupJob;
+    private final ExecutorService backfillExecutor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "usage-rollup-backfill"));
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private volatile boolean backfillDone;
+
+    public IrrigationUsageRollupJob(IrrigationUsageRollupService rollupService,
+                                    UsageRollupBackfillRepository backfillRepository,
+                                    IrrigationRepository irrigationRepository,
+                                    SchedulerLeaderLease leaderLease,
+                                    IrrigationUsageRollupConfig rollupConfig,
+                                    SchedulerMetrics schedulerMetrics) {
+        this.rollupService = rollupService;
+        this.backfillRepository = backfillRepository;
+        this.irrigationRepository = irrigationRepository;
+        this.leaderLease = leaderLease;
+        this.rollupConfig = rollupConfig;
+        this.rollupJob = schedulerMetrics.job("irrigation-usage-rollup");
+    }
+
+    /**
+     * Starts the backfill in the background once the application is up, so startup does not wait for it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAfterStartup() {
+        submitBackfill();
+    }
+
+    /**
+     * Resumes the backfill on whichever instance leads now, if it has not finished yet
+     */
+    @Scheduled(fixedDelayString = "${irrigation.usage-rollup.backfill-check-interval}",
+            initialDelayString = "${irrigation.usage-rollup.backfill-check-interval}")
+    public void resumeBackfill() {
+        submitBackfill();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    /**
+     * Builds the rows of every past day from the irrigation history, unless the backfill has already finished.
+     * Progress is saved after every chunk and the backfill stops at the first failed one,
+     * so the next startup resumes from the failed chunk instead of leaving a gap.
+     */
+    public void backfillIfMissing() {
+        if (!leaderLease.isLeader()) {
+            return;
+        }
+        rollupJob.time(() -> {
+            UsageRollupBackfill backfill = backfillRepository.findById(BACKFILL_NAME)
+                    .orElseGet(this::recordNewBackfill);
+            if (backfill.isDone()) {
+                backfillDone = true;
+                return;
+            }
+
+            log.info("Backfilling daily irrigation usage from {} to {}", backfill.getNextDate(), backfill.getBackfillTo());
+            int rows = 0;
+            while (!backfill.isDone()) {
+                LocalDate chunkStart = backfill.getNextDate();
+                LocalDate chunkEnd = chunkEnd(chunkStart, backfill.getBackfillTo());
+                try {
+                    rows += rollupService.rebuild(chunkStart, chunkEnd);
+                    rollupJob.processed();
+                } catch (Exception e) {
+                    rollupJob.failed();
+                    log.error("Failed to backfill daily irrigation usage from {} to {}, resuming on the next startup. Error: {}",
+                            chunkStart, chunkEnd, e.getMessage(), e);
+                    return;
+                }
+                backfill.setNextDate(chunkEnd);
+                backfill = backfillRepository.save(backfill);
+            }
+            backfillDone = true;
+            log.info("Backfilled {} daily irrigation usage row(s) up to {}", rows, backfill.getBackfillTo());
+        });
+    }
+
+    /**
+     * Rebuilds the last days every night, catching irrigations whose incremental update was lost
+     * and the ones of the day the rollup was deployed
+     */
+    @Scheduled(cron = "${irrigation.usage-rollup.reconcile-cron}")
+    public void reconcileRecentDays() {
+        if (leaderLease.isLeader()) {
+            rollupJob.time(() -> {
+                LocalDate today = LocalDate.now();
+                rebuildInChunks(today.minusDays(rollupConfig.getReconcileDays()), today);
+            });
+        }
+    }
+
+    private void rebuildInChunks(LocalDate from, LocalDate to) {
+        int rows = 0;
+        for (LocalDate chunkStart = from; chunkStart.isBefore(to); ) {
+            LocalDate chunkEnd = chunkEnd(chunkStart, to);
+            try {
+                rows += rollupService.rebuild(chunkStart, chunkEnd);
+                rollupJob.processed();
+            } catch (Exception e) {
+                rollupJob.failed();
+                log.error("Failed to rebuild daily irrigation usage from {} to {}. Error: {}",
+                        chunkStart, chunkEnd, e.getMessage(), e);
+            }
+            chunkStart = chunkEnd;
+        }
+        log.info("Rebuilt {} daily irrigation usage row(s) from {} to {}", rows, from, to);
+    }
+
+    private void submitBackfill() {
+        if (!rollupConfig.isBackfillOnStartup() || backfillDone || !leaderLease.isLeader()) {
+            return;
+        }
+        if (backfillRunning.compareAndSet(false, true)) {
+            backfillExecutor.execute(() -> {
+                try {
+                    backfillIfMissing();
+                } finally {
+                    backfillRunning.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a backfill of the days from the earliest finished irrigation up to today,
+     * today and later days being covered by the incremental updates
+     */
+    private UsageRollupBackfill recordNewBackfill() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime earliestFinished = irrigationRepository.findEarliestFinishedDatetime();
+
+        UsageRollupBackfill backfill = new UsageRollupBackfill();
+        backfill.setName(BACKFILL_NAME);
+        backfill.setNextDate(earliestFinished != null && earliestFinished.toLocalDate().isBefore(today)
+                ? earliestFinished.toLocalDate()
+                : today);
+        backfill.setBackfillTo(today);
+        return backfillRepository.save(backfill);
+    }
+
+    private LocalDate chunkEnd(LocalDate chunkStart, LocalDate to) {
+        LocalDate chunkEnd = chunkStart.plusDays(rollupConfig.getBackfillChunkDays());
+        return chunkEnd.isAfter(to) ? to : chunkEnd;
+    }
+}
@@ -0,0 +1,423 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.config.NotificationConfig;
+import com.finki.agrimanagement.config.NotificationDigestConfig;
+import com.finki.agrimanagement.config.NotificationOutboxConfig;
+import com.finki.agrimanagement.dto.email.EmailViewModel;
+import com.finki.agrimanagement.dto.email.NotificationDigestEmail;
+import com.finki.agrimanagement.entity.NotificationOutbox;
+import com.finki.agrimanagement.enums.NotificationOutboxStatus;
+import com.finki.agrimanagement.enums.NotificationType;
+import com.finki.agrimanagement.repository.NotificationOutboxRepository;
+import com.finki.agrimanagement.service.impl.EmailTemplateRenderer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the notifications queued in the notification outbox.
+ * Runs on its own thread, so a slow or unreachable mail server never delays the schedulers.
+ * Each batch is sent over a single SMTP connection, batches are paced to the configured rate,
+ * and failed notifications are retried with exponential backoff until they run out of attempts.
+ * Notifications of digested types are combined into one email per recipient and type.
+ * Only the scheduler leader sends, so the rate limit holds across instances and no email goes out twice.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxDispatcher {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxConfig outboxConfig;
+    private final NotificationConfig notificationConfig;
+    private final NotificationDigestConfig digestConfig;
+    private final JavaMailSender mailSender;
+    private final EmailTemplateRenderer templateRenderer;
+    private final ObjectMapper objectMapper;
+    private final SchedulerLeaderLease leaderLease;
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "notification-dispatcher"));
+
+    private final AtomicLong digestsSent = new AtomicLong();
+
+    private final DistributionSummary digestSizes;
+    private final Timer successfulSends;
+    private final Timer failedSends;
+    private final Map<NotificationType, Counter> sentNotifications = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> failedNotifications = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> abandonedNotifications = new EnumMap<>(NotificationType.class);
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        NotificationOutboxConfig outboxConfig,
+                                        NotificationConfig notificationConfig,
+                                        NotificationDigestConfig digestConfig,
+                                        JavaMailSender mailSender,
+                                        EmailTemplateRenderer templateRenderer,
+                                        ObjectMapper objectMapper,
+                                        SchedulerLeaderLease leaderLease,
+                                        MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.outboxConfig = outboxConfig;
+        this.notificationConfig = notificationConfig;
+        this.digestConfig = digestConfig;
+        this.mailSender = mailSender;
+        this.templateRenderer = templateRenderer;
+        this.objectMapper = objectMapper;
+        this.leaderLease = leaderLease;
+
+        this.successfulSends = sendTimer(meterRegistry, "success");
+        this.failedSends = sendTimer(meterRegistry, "error");
+        for (NotificationType type : NotificationType.values()) {
+            sentNotifications.put(type, notificationCounter(meterRegistry, "notifications.sent",
+                    "Notifications delivered to the mail server", type));
+            failedNotifications.put(type, notificationCounter(meterRegistry, "notifications.send.failures",
+                    "Failed notification delivery attempts", type));
+            abandonedNotifications.put(type, notificationCounter(meterRegistry, "notifications.abandoned",
+                    "Notifications given up on after the maximum number of attempts", type));
+        }
+        FunctionCounter.builder("notifications.digests.sent", digestsSent, AtomicLong::get)
+                .description("Digest emails sent")
+                .register(meterRegistry);
+        this.digestSizes = DistributionSummary.builder("notifications.digest.size")
+                .description("Notifications combined into each digest email sent")
+                .baseUnit("notifications")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long pollMillis = outboxConfig.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::dispatchSafely, 0, pollMillis, TimeUnit.MILLISECONDS);
+        long retentionCheckMillis = Duration.ofHours(1).toMillis();
+        executor.scheduleWithFixedDelay(this::purgeSentNotifications,
+                retentionCheckMillis, retentionCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Send pending notifications batch by batch until none are due
+     *
+     * @return the number of notifications sent successfully
+     */
+    public int dispatchPending() throws InterruptedException {
+        int sent = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<NotificationOutbox> batch = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    NotificationOutboxStatus.PENDING, LocalDateTime.now(), Limit.of(outboxConfig.getBatchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            long startedAt = System.nanoTime();
+            List<List<NotificationOutbox>> deliveries = groupIntoDeliveries(batch);
+            sent += sendDeliveries(deliveries);
+            outboxRepository.saveAll(deliveries.stream().flatMap(List::stream).toList());
+            pace(deliveries.size(), startedAt);
+        }
+        return sent;
+    }
+
+    /**
+     * Number of digest emails sent
+     */
+    public long getDigestsSent() {
+        return digestsSent.get();
+    }
+
+    /**
+     * Number of notifications that were delivered as part of a digest instead of on their own
+     */
+    public long getDigestedNotifications() {
+        return (long) digestSizes.totalAmount();
+    }
+
+    private void dispatchSafely() {
+        try {
+            if (!leaderLease.isLeader()) {
+                return;
+            }
+            int sent = dispatchPending();
+            if (sent > 0) {
+                log.info("Sent {} queued notification(s)", sent);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error dispatching queued notifications", e);
+        }
+    }
+
+    /**
+     * Split a batch into emails. Notifications of a digested type are combined per recipient and type,
+     * together with the other pending notifications of that recipient and type that fall within the digest window.
+     * Only notifications that were never attempted are pulled in, the ones in retry backoff wait for their next attempt.
+     */
+    private List<List<NotificationOutbox>> groupIntoDeliveries(List<NotificationOutbox> batch) {
+        List<List<NotificationOutbox>> deliveries = new ArrayList<>();
+        Map<DigestKey, List<NotificationOutbox>> digests = new LinkedHashMap<>();
+        for (NotificationOutbox notification : batch) {
+            if (digestConfig.isDigested(notification.getType())) {
+                digests.computeIfAbsent(new DigestKey(notification.getRecipient(), notification.getType()),
+                        key -> new ArrayList<>()).add(notification);
+            } else {
+                deliveries.add(List.of(notification));
+            }
+        }
+
+        LocalDateTime windowEnd = LocalDateTime.now().plus(digestConfig.getWindow());
+        for (Map.Entry<DigestKey, List<NotificationOutbox>> entry : digests.entrySet()) {
+            List<NotificationOutbox> digest = entry.getValue();
+            Set<Long> ids = new HashSet<>();
+            digest.forEach(notification -> ids.add(notification.getId()));
+
+            List<NotificationOutbox> waiting = outboxRepository
+                    .findByStatusAndTypeAndRecipientAndAttemptsAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                            NotificationOutboxStatus.PENDING, entry.getKey().type(), entry.getKey().recipient(),
+                            0, windowEnd, Limit.of(digestConfig.getMaxEvents()));
+            for (NotificationOutbox notification : waiting) {
+                if (digest.size() >= digestConfig.getMaxEvents()) {
+                    break;
+                }
+                if (ids.add(notification.getId())) {
+                    digest.add(notification);
+                }
+            }
+            digest.sort(Comparator.comparing(NotificationOutbox::getId));
+            deliveries.add(digest);
+        }
+        return deliveries;
+    }
+
+    private int sendDeliveries(List<List<NotificationOutbox>> deliveries) {
+        Map<MimeMessage, List<NotificationOutbox>> messages = createMessages(deliveries);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        Map<Object, Exception> failedMessages;
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            failedMessages = Map.of();
+        } catch (MailSendException e) {
+            // Without per-message details the connection itself failed and nothing was sent
+            failedMessages = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failedMessages = allFailed(messages, e);
+        }
+        sample.stop(failedMessages.isEmpty() ? successfulSends : failedSends);
+
+        int sent = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, List<NotificationOutbox>> entry : messages.entrySet()) {
+            Exception failure = failedMessages.get(entry.getKey());
+            List<NotificationOutbox> delivery = entry.getValue();
+            if (failure != null) {
+                delivery.forEach(notification -> recordFailure(notification, failure));
+                continue;
+            }
+
+            for (NotificationOutbox notification : delivery) {
+                notification.setStatus(NotificationOutboxStatus.SENT);
+                notification.setSentAt(now);
+                notification.setAttempts(notification.getAttempts() + 1);
+                notification.setLastError(null);
+            }
+            sentNotifications.get(delivery.get(0).getType()).increment(delivery.size());
+            if (delivery.size() > 1) {
+                digestsSent.incrementAndGet();
+                digestSizes.record(delivery.size());
+                log.info("Sent digest of {} {} notifications to {}",
+                        delivery.size(), delivery.get(0).getType(), delivery.get(0).getRecipient());
+            }
+            sent += delivery.size();
+        }
+        return sent;
+    }
+
+    /**
+     * Render the emails of a batch; single notifications of the same type are rendered together in one pass
+     */
+    private Map<MimeMessage, List<NotificationOutbox>> createMessages(List<List<NotificationOutbox>> deliveries) {
+        Map<MimeMessage, List<NotificationOutbox>> messages = new LinkedHashMap<>();
+        Map<NotificationType, List<NotificationOutbox>> singles = new EnumMap<>(NotificationType.class);
+        Map<NotificationType, List<EmailViewModel>> singleModels = new EnumMap<>(NotificationType.class);
+
+        for (List<NotificationOutbox> delivery : deliveries) {
+            try {
+                if (delivery.size() > 1) {
+                    messages.put(createDigestMessage(delivery), delivery);
+                } else {
+                    NotificationOutbox notification = delivery.get(0);
+                    EmailViewModel model = readViewModel(notification);
+                    singles.computeIfAbsent(notification.getType(), type -> new ArrayList<>()).add(notification);
+                    singleModels.computeIfAbsent(notification.getType(), type -> new ArrayList<>()).add(model);
+                }
+            } catch (Exception e) {
+                delivery.forEach(notification -> recordFailure(notification, e));
+            }
+        }
+
+        for (Map.Entry<NotificationType, List<NotificationOutbox>> entry : singles.entrySet()) {
+            List<NotificationOutbox> notifications = entry.getValue();
+            try {
+                List<String> rendered = templateRenderer.renderAll(entry.getKey(), singleModels.get(entry.getKey()));
+                for (int i = 0; i < notifications.size(); i++) {
+                    NotificationOutbox notification = notifications.get(i);
+                    messages.put(buildMessage(notification.getRecipient(), notification.getSubject(), rendered.get(i)),
+                            List.of(notification));
+                }
+            } catch (Exception e) {
+                notifications.forEach(notification -> recordFailure(notification, e));
+            }
+        }
+        return messages;
+    }
+
+    private MimeMessage createDigestMessage(List<NotificationOutbox> digest) throws Exception {
+        NotificationOutbox first = digest.get(0);
+        NotificationType type = first.getType();
+
+        List<NotificationDigestEmail.Item> items = new ArrayList<>(digest.size());
+        for (NotificationOutbox notification : digest) {
+            items.add(NotificationDigestEmail.Item.of(readViewModel(notification)));
+        }
+        String htmlContent = templateRenderer.renderDigest(new NotificationDigestEmail(
+                type.getDigestTitle(),
+                digest.size(),
+                first.getCreatedAt().format(DATE_TIME_FORMATTER),
+                digest.get(digest.size() - 1).getCreatedAt().format(DATE_TIME_FORMATTER),
+                items));
+
+        return buildMessage(first.getRecipient(), "📋 " + digest.size() + " " + type.getDigestTitle(), htmlContent);
+    }
+
+    private MimeMessage buildMessage(String recipient, String subject, String htmlContent) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(notificationConfig.getFrom());
+        helper.setTo(recipient);
+        helper.setSubject(subject);
+        helper.setText(htmlContent, true);
+        return message;
+    }
+
+    private EmailViewModel readViewModel(NotificationOutbox notification) throws Exception {
+        return objectMapper.readValue(notification.getPayload(), notification.getType().getViewModelType());
+    }
+
+    private void recordFailure(NotificationOutbox notification, Exception failure) {
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        notification.setLastError(truncate(String.valueOf(failure.getMessage())));
+        failedNotifications.get(notification.getType()).increment();
+
+        if (attempts >= outboxConfig.getMaxAttempts()) {
+            notification.setStatus(NotificationOutboxStatus.FAILED);
+            abandonedNotifications.get(notification.getType()).increment();
+            log.error("Giving up on notification {} ({}) after {} attempts: {}",
+                    notification.getId(), notification.getType(), attempts, failure.getMessage());
+            return;
+        }
+
+        Duration backoff = outboxConfig.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(outboxConfig.getMaxBackoff()) > 0) {
+            backoff = outboxConfig.getMaxBackoff();
+        }
+        notification.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("Failed to send notification {} ({}), attempt {}, retrying in {}: {}",
+                notification.getId(), notification.getType(), attempts, backoff, failure.getMessage());
+    }
+
+    /**
+     * Wait until sending the given number of messages fits within the configured rate
+     */
+    private void pace(int messageCount, long startedAt) throws InterruptedException {
+        long minimumNanos = (long) (messageCount * TimeUnit.SECONDS.toNanos(1) / outboxConfig.getMaxPerSecond());
+        long remainingNanos = minimumNanos - (System.nanoTime() - startedAt);
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+
+    private void purgeSentNotifications() {
+        try {
+            if (!leaderLease.isLeader()) {
+                return;
+            }
+            int deleted = outboxRepository.deleteSentBefore(NotificationOutboxStatus.SENT,
+                    LocalDateTime.now().minus(outboxConfig.getRetention()));
+            if (deleted > 0) {
+                log.info("Deleted {} sent notification(s) past retention", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Error deleting sent notifications", e);
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("notifications.send")
+                .description("Duration of sending a batch of emails over one SMTP connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter notificationCounter(MeterRegistry meterRegistry, String name, String description,
+                                               NotificationType type) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("type", type.name())
+                .register(meterRegistry);
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, ?> messages, Exception failure) {
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        for (MimeMessage message : messages.keySet()) {
+            failed.put(message, failure);
+        }
+        return failed;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private record DigestKey(String recipient, NotificationType type) {
+    }
+}
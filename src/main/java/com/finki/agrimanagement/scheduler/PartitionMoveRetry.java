@@ -0,0 +1,36 @@
+package com.finki.agrimanagement.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.function.Supplier;
+
+/**
+ * Retries a transaction that locks irrigation or fertilization rows when it fails on a concurrent update.
+ * The tables are partitioned by scheduled_datetime, so a postponement or retry that moves a row to another
+ * month moves it to another partition, and a statement locking the old version of that row fails with
+ * "tuple to be locked was already moved to another partition". The next attempt runs in a new transaction
+ * and finds the row in its new partition.
+ */
+@Slf4j
+final class PartitionMoveRetry {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private PartitionMoveRetry() {
+    }
+
+    static <T> T run(String operation, Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("{} failed on a concurrent update (attempt {} of {}), retrying. Error: {}",
+                        operation, attempt, MAX_ATTEMPTS, e.getMessage());
+            }
+        }
+    }
+}
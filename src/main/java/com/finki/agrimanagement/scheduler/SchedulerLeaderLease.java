@@ -0,0 +1,109 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.SchedulerClusterConfig;
+import com.finki.agrimanagement.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Elects the one instance that runs the singleton jobs, such as auto-scheduling and sending notifications,
+ * when several instances share the database. Leadership is a row in the scheduler lease table that the
+ * leader renews periodically; if the leader stops renewing it, another instance takes over once it expires.
+ * Assumes the clocks of the instances are kept in sync to well within the lease TTL.
+ */
+@Component
+@Slf4j
+public class SchedulerLeaderLease {
+
+    static final String LEASE_NAME = "scheduler-leader";
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerClusterConfig clusterConfig;
+
+    /**
+     * Until when this instance may act as leader without asking the database, null if it is not the leader
+     */
+    private volatile LocalDateTime leaderUntil;
+
+    public SchedulerLeaderLease(SchedulerLeaseRepository leaseRepository, SchedulerClusterConfig clusterConfig) {
+        this.leaseRepository = leaseRepository;
+        this.clusterConfig = clusterConfig;
+    }
+
+    /**
+     * Whether this instance holds the lease, acquiring it if it is free or has expired
+     */
+    public boolean isLeader() {
+        LocalDateTime until = leaderUntil;
+        if (until != null && LocalDateTime.now().isBefore(until)) {
+            return true;
+        }
+        return renew();
+    }
+
+    /**
+     * Extends the lease while this instance holds it, or takes it over once it is free
+     *
+     * @return true if this instance holds the lease afterwards
+     */
+    @Scheduled(fixedDelayString = "${scheduler.cluster.lease-renew-interval}")
+    public synchronized boolean renew() {
+        String instanceId = clusterConfig.getInstanceId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(clusterConfig.getLeaseTtl());
+
+        boolean held;
+        try {
+            held = leaseRepository.renew(LEASE_NAME, instanceId, now, expiresAt) == 1
+                    || create(instanceId, expiresAt);
+        } catch (Exception e) {
+            log.error("Failed to renew scheduler leader lease for instance {}", instanceId, e);
+            held = false;
+        }
+
+        boolean wasLeader = leaderUntil != null;
+        // Stop acting as leader one renewal interval before the lease expires, so a missed renewal
+        // never leaves this instance running singleton jobs after another one has taken over
+        leaderUntil = held ? expiresAt.minus(clusterConfig.getLeaseRenewInterval()) : null;
+        if (held && !wasLeader) {
+            log.info("Instance {} is now the scheduler leader", instanceId);
+        } else if (!held && wasLeader) {
+            log.warn("Instance {} lost the scheduler leader lease", instanceId);
+        }
+        return held;
+    }
+
+    /**
+     * Gives up the lease on shutdown so another instance can take over without waiting for it to expire
+     */
+    @PreDestroy
+    public synchronized void release() {
+        if (leaderUntil == null) {
+            return;
+        }
+        leaderUntil = null;
+        try {
+            leaseRepository.release(LEASE_NAME, clusterConfig.getInstanceId());
+            log.info("Instance {} released the scheduler leader lease", clusterConfig.getInstanceId());
+        } catch (Exception e) {
+            log.warn("Failed to release scheduler leader lease", e);
+        }
+    }
+
+    private boolean create(String instanceId, LocalDateTime expiresAt) {
+        if (leaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+        try {
+            return leaseRepository.insert(LEASE_NAME, instanceId, expiresAt) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease first
+            return false;
+        }
+    }
+}
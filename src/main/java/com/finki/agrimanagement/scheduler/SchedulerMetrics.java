@@ -0,0 +1,98 @@
+package com.finki.agrimanagement.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Micrometer meters of the scheduled jobs.
+ * Every job has a tick timer and counters for the items it found, processed and failed on, tagged with the job name.
+ * Irrigation execution lag, the time from an irrigation becoming due to its execution starting,
+ * is published as a histogram so SLOs can be set on it.
+ */
+@Component
+public class SchedulerMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer irrigationExecutionLag;
+
+    public SchedulerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.irrigationExecutionLag = Timer.builder("irrigation.execution.lag")
+                .description("Time from an irrigation becoming due to its execution starting")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15))
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofHours(6))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Meters of the job with the given name
+     */
+    public Job job(String name) {
+        return new Job(meterRegistry, name);
+    }
+
+    /**
+     * Record that an irrigation due at the given time started executing now
+     */
+    public void recordIrrigationExecutionStarted(LocalDateTime dueAt) {
+        Duration lag = Duration.between(dueAt, LocalDateTime.now());
+        irrigationExecutionLag.record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public static final class Job {
+
+        private final Timer ticks;
+        private final Counter found;
+        private final Counter processed;
+        private final Counter failed;
+
+        private Job(MeterRegistry meterRegistry, String name) {
+            this.ticks = Timer.builder("scheduler.tick")
+                    .description("Duration of a scheduled job run")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            this.found = Counter.builder("scheduler.items.found")
+                    .description("Items a scheduled job found to work on")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            this.processed = Counter.builder("scheduler.items.processed")
+                    .description("Items a scheduled job processed successfully")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            this.failed = Counter.builder("scheduler.items.failed")
+                    .description("Items a scheduled job failed to process")
+                    .tag("job", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Run one tick of the job, timing it whether it completes or throws
+         */
+        public void time(Runnable tick) {
+            ticks.record(tick);
+        }
+
+        public void found(int count) {
+            found.increment(count);
+        }
+
+        public void processed() {
+            processed.increment();
+        }
+
+        public void processed(int count) {
+            processed.increment(count);
+        }
+
+        public void failed() {
+            failed.increment();
+        }
+    }
+}
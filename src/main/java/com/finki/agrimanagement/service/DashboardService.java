@@ -0,0 +1,16 @@
+package com.finki.agrimanagement.service;
+
+import com.finki.agrimanagement.dto.response.FarmDashboardResponseDTO;
+import com.finki.agrimanagement.dto.response.WaterUsageResponseDTO;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.UsagePeriod;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DashboardService {
+
+    FarmDashboardResponseDTO getFarmDashboard(Long farmId, LocalDate from, LocalDate to, User user);
+
+    List<WaterUsageResponseDTO> getWaterUsage(Long farmId, UsagePeriod period, LocalDate from, LocalDate to, User user);
+}
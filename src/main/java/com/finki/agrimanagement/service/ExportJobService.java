@@ -0,0 +1,29 @@
+package com.finki.agrimanagement.service;
+
+import com.finki.agrimanagement.dto.request.ExportJobRequestDTO;
+import com.finki.agrimanagement.dto.response.ExportJobResponseDTO;
+import org.springframework.core.io.Resource;
+
+public interface ExportJobService {
+
+    /**
+     * Submit an export to be generated in the background
+     * An identical export that is still queued or running is returned instead of starting a new one
+     */
+    ExportJobResponseDTO submitJob(ExportJobRequestDTO dto);
+
+    /**
+     * Get the current state of an export job
+     */
+    ExportJobResponseDTO getJob(String jobId);
+
+    /**
+     * Get the generated file of a completed export job
+     */
+    Resource getJobResult(String jobId);
+
+    /**
+     * Remove expired jobs together with their files
+     */
+    void removeExpiredJobs();
+}
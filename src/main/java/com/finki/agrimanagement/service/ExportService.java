@@ -1,7 +1,12 @@
 package com.finki.agrimanagement.service;
 
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportReportType;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface ExportService {
 
     /**
@@ -48,5 +53,29 @@ public interface ExportService {
      * Export current weather data for a specific parcel
      */
     Workbook exportParcelWeather(Long parcelId);
-}
 
+    /**
+     * Stream all irrigation records to the output as CSV or NDJSON
+     */
+    void writeAllIrrigations(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Stream irrigation history for a specific farm to the output as CSV or NDJSON
+     */
+    void writeIrrigationsByFarm(Long farmId, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Stream all fertilization records to the output as CSV or NDJSON
+     */
+    void writeAllFertilizations(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Stream fertilization history for a specific farm to the output as CSV or NDJSON
+     */
+    void writeFertilizationsByFarm(Long farmId, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Write a workbook returned by one of the export methods to the output and close it
+     */
+    void writeWorkbook(ExportReportType reportType, Workbook workbook, OutputStream out) throws IOException;
+}
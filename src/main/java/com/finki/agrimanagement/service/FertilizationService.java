@@ -2,6 +2,7 @@ package com.finki.agrimanagement.service;
 
 import com.finki.agrimanagement.dto.request.FertilizationRequestDTO;
 import com.finki.agrimanagement.dto.response.FertilizationResponseDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.entity.Fertilization;
 import com.finki.agrimanagement.entity.User;
 import com.finki.agrimanagement.enums.FertilizationStatus;
@@ -17,13 +18,15 @@ public interface FertilizationService {
 
     void markAsPending(Long fertilizationId);
 
+    List<Long> markDueAsPending(LocalDateTime now, int limit);
+
     FertilizationResponseDTO markAsCompleted(Long fertilizationId, String notes);
 
     FertilizationResponseDTO cancelFertilization(Long fertilizationId, String notes);
 
     List<FertilizationResponseDTO> getFertilizationsByParcel(Long parcelId);
 
-    List<FertilizationResponseDTO> getAllFertilizations();
+    PageResponseDTO<FertilizationResponseDTO> getAllFertilizations(String cursor, int size);
 
     List<FertilizationResponseDTO> getFertilizationsByStatus(FertilizationStatus status);
 
@@ -4,5 +4,14 @@ public interface IrrigationExecutionService {
 
     void executeIrrigation(Long irrigationId);
 
+    /**
+     * Execute an irrigation the scheduler claimed with the given token.
+     * Does nothing when the irrigation is no longer SCHEDULED or RETRYING or no longer holds the claim,
+     * for instance because the overdue check failed it meanwhile.
+     *
+     * @return whether the irrigation was executed
+     */
+    boolean executeClaimedIrrigation(Long irrigationId, String claimToken);
+
     void stopIrrigation(Long irrigationId);
 }
@@ -2,7 +2,7 @@ package com.finki.agrimanagement.service;
 
 import com.finki.agrimanagement.dto.request.IrrigationRequestDTO;
 import com.finki.agrimanagement.dto.response.IrrigationResponseDTO;
-import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.entity.User;
 import com.finki.agrimanagement.enums.IrrigationStatus;
 
@@ -13,7 +13,7 @@ public interface IrrigationService {
 
     IrrigationResponseDTO createIrrigation(IrrigationRequestDTO dto);
 
-    List<IrrigationResponseDTO> getAllIrrigations();
+    PageResponseDTO<IrrigationResponseDTO> getAllIrrigations(String cursor, int size);
 
     IrrigationResponseDTO getIrrigationById(Long id);
 
@@ -31,6 +31,8 @@ public interface IrrigationService {
 
     IrrigationResponseDTO updateIrrigationStatus(Long id, IrrigationStatus newStatus);
 
-    List<Irrigation> getIrrigationsDueBeforeByStatus(LocalDateTime dateTime, IrrigationStatus status);
+    List<Long> markOverdueAsFailed(LocalDateTime deadline, int limit, String reason);
+
+    boolean postponeClaimedIrrigation(Long irrigationId, String claimToken, int hours, String reason);
 }
 
@@ -0,0 +1,21 @@
+package com.finki.agrimanagement.service;
+
+import com.finki.agrimanagement.entity.Irrigation;
+
+import java.time.LocalDate;
+
+public interface IrrigationUsageRollupService {
+
+    /**
+     * Add a completed or stopped irrigation to the daily usage of its parcel
+     */
+    void recordFinished(Irrigation irrigation);
+
+    /**
+     * Recompute the daily usage of the days from {@code from} inclusive to {@code to} exclusive
+     * from the irrigation table
+     *
+     * @return number of daily usage rows written
+     */
+    int rebuild(LocalDate from, LocalDate to);
+}
@@ -1,6 +1,7 @@
 package com.finki.agrimanagement.service;
 
 import com.finki.agrimanagement.dto.request.ParcelRequestDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.dto.response.ParcelResponseDTO;
 import com.finki.agrimanagement.dto.weather.ParcelWeatherDTO;
 
@@ -10,7 +11,7 @@ public interface ParcelService {
 
     ParcelResponseDTO createParcel(ParcelRequestDTO dto);
 
-    List<ParcelResponseDTO> getAllParcels();
+    PageResponseDTO<ParcelResponseDTO> getAllParcels(String cursor, int size);
 
     ParcelResponseDTO getParcelById(Long id);
 
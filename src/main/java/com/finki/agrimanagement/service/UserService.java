@@ -1,12 +1,11 @@
 package com.finki.agrimanagement.service;
 
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.dto.response.UserResponseDTO;
 
-import java.util.List;
-
 public interface UserService {
 
-    List<UserResponseDTO> getAllUsers();
+    PageResponseDTO<UserResponseDTO> getAllUsers(String cursor, int size);
 
     UserResponseDTO getUserById(Long id);
 
@@ -1,8 +1,12 @@
 package com.finki.agrimanagement.service;
 
+import com.finki.agrimanagement.dto.weather.CoordDTO;
 import com.finki.agrimanagement.dto.weather.CurrentWeatherResponseDTO;
 import com.finki.agrimanagement.dto.weather.RainCheckResultDTO;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface WeatherService {
 
     /**
@@ -15,6 +19,15 @@ public interface WeatherService {
      */
     RainCheckResultDTO checkRainConditions(Double latitude, Double longitude);
 
+    /**
+     * Check rain conditions for many locations at once
+     * Locations sharing a weather cell are fetched once and missing cells are fetched concurrently
+     *
+     * @param locations Parcel coordinates
+     * @return Rain check result for every given location
+     */
+    Map<CoordDTO, RainCheckResultDTO> checkRainConditions(Collection<CoordDTO> locations);
+
     /**
      * Get current weather from OpenWeather Current Weather API
      *
@@ -0,0 +1,131 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.dto.projection.IrrigationStatusCountRow;
+import com.finki.agrimanagement.dto.projection.WaterUsageRow;
+import com.finki.agrimanagement.dto.response.CropAreaResponseDTO;
+import com.finki.agrimanagement.dto.response.FarmDashboardResponseDTO;
+import com.finki.agrimanagement.dto.response.WaterUsageResponseDTO;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.UsagePeriod;
+import com.finki.agrimanagement.exception.ResourceNotFoundException;
+import com.finki.agrimanagement.repository.FarmRepository;
+import com.finki.agrimanagement.repository.FertilizationRepository;
+import com.finki.agrimanagement.repository.IrrigationDailyUsageRepository;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.repository.ParcelRepository;
+import com.finki.agrimanagement.service.DashboardService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Farm dashboard figures, each computed by a single aggregate query so the response stays
+ * a few hundred bytes however many parcels and irrigations the farm has.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardServiceImpl implements DashboardService {
+
+    /**
+     * Days covered by the dashboard when the request gives no start date
+     */
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+
+    private final FarmRepository farmRepository;
+    private final ParcelRepository parcelRepository;
+    private final IrrigationRepository irrigationRepository;
+    private final FertilizationRepository fertilizationRepository;
+    private final IrrigationDailyUsageRepository dailyUsageRepository;
+
+    public DashboardServiceImpl(FarmRepository farmRepository,
+                                ParcelRepository parcelRepository,
+                                IrrigationRepository irrigationRepository,
+                                FertilizationRepository fertilizationRepository,
+                                IrrigationDailyUsageRepository dailyUsageRepository) {
+        this.farmRepository = farmRepository;
+        this.parcelRepository = parcelRepository;
+        this.irrigationRepository = irrigationRepository;
+        this.fertilizationRepository = fertilizationRepository;
+        this.dailyUsageRepository = dailyUsageRepository;
+    }
+
+    @Override
+    public FarmDashboardResponseDTO getFarmDashboard(Long farmId, LocalDate from, LocalDate to, User user) {
+        checkFarmOwner(farmId, user);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = windowStart(from, end);
+
+        Map<IrrigationStatus, Long> finished = new EnumMap<>(IrrigationStatus.class);
+        for (IrrigationStatusCountRow row : irrigationRepository.countFinishedByStatus(
+                farmId, start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+            finished.put(row.getStatus(), row.getCount());
+        }
+        long completed = finished.getOrDefault(IrrigationStatus.COMPLETED, 0L);
+        long failed = finished.getOrDefault(IrrigationStatus.FAILED, 0L);
+
+        LocalDateTime now = LocalDateTime.now();
+        FarmDashboardResponseDTO dashboard = new FarmDashboardResponseDTO();
+        dashboard.setFarmId(farmId);
+        dashboard.setFrom(start);
+        dashboard.setTo(end);
+        dashboard.setCompletedIrrigations(completed);
+        dashboard.setFailedIrrigations(failed);
+        dashboard.setStoppedIrrigations(finished.getOrDefault(IrrigationStatus.STOPPED, 0L));
+        // Stopped irrigations were ended by the user, so they count neither as a success nor a failure
+        if (completed + failed > 0) {
+            dashboard.setSuccessRate((double) completed / (completed + failed));
+            dashboard.setFailureRate((double) failed / (completed + failed));
+        }
+        dashboard.setOverdueIrrigations(irrigationRepository.countOverdueByFarmId(farmId, now));
+        dashboard.setOverdueFertilizations(fertilizationRepository.countOverdueByFarmId(farmId, now));
+        dashboard.setCropAreas(parcelRepository.sumAreaByCropForFarm(farmId).stream()
+                .map(row -> new CropAreaResponseDTO(row.getCropId(), row.getCropName(),
+                        row.getParcelCount(), row.getTotalArea()))
+                .toList());
+        return dashboard;
+    }
+
+    /**
+     * Water used per period between the two dates, both inclusive, read from the daily usage rollup
+     * so its cost depends on the number of days rather than irrigations.
+     * The first period may start before {@code from}; it only counts irrigations from that date on.
+     */
+    @Override
+    public List<WaterUsageResponseDTO> getWaterUsage(Long farmId, UsagePeriod period, LocalDate from, LocalDate to,
+                                                     User user) {
+        checkFarmOwner(farmId, user);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate windowStart = windowStart(from, end);
+        LocalDate windowEnd = end.plusDays(1);
+
+        List<WaterUsageRow> rows = switch (period) {
+            case DAY -> dailyUsageRepository.sumWaterUsageByDay(farmId, windowStart, windowEnd);
+            case WEEK -> dailyUsageRepository.sumWaterUsageByWeek(farmId, windowStart, windowEnd);
+            case MONTH -> dailyUsageRepository.sumWaterUsageByMonth(farmId, windowStart, windowEnd);
+        };
+        return rows.stream()
+                .map(row -> new WaterUsageResponseDTO(row.getPeriodStart().toLocalDate(), row.getWaterLiters(),
+                        row.getDurationMinutes(), row.getIrrigationCount()))
+                .toList();
+    }
+
+    private void checkFarmOwner(Long farmId, User user) {
+        if (!farmRepository.existsByIdAndUserId(farmId, user.getId())) {
+            throw new ResourceNotFoundException("Farm not found with id: " + farmId);
+        }
+    }
+
+    private LocalDate windowStart(LocalDate from, LocalDate end) {
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return start;
+    }
+}
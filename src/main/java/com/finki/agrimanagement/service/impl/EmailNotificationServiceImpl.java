@@ -1,37 +1,72 @@
 package com.finki.agrimanagement.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finki.agrimanagement.config.NotificationConfig;
+import com.finki.agrimanagement.config.NotificationDigestConfig;
+import com.finki.agrimanagement.dto.email.EmailViewModel;
+import com.finki.agrimanagement.dto.email.FertilizationCancelledEmail;
+import com.finki.agrimanagement.dto.email.FertilizationCompletedEmail;
+import com.finki.agrimanagement.dto.email.FertilizationDueEmail;
+import com.finki.agrimanagement.dto.email.IrrigationCompletedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationFailedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationPostponedEmail;
 import com.finki.agrimanagement.entity.Fertilization;
 import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.NotificationOutbox;
 import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.enums.NotificationType;
+import com.finki.agrimanagement.repository.NotificationOutboxRepository;
 import com.finki.agrimanagement.service.EmailNotificationService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Queues email notifications in the notification outbox instead of sending them inline.
+ * The outbox row joins the caller's transaction, so a notification is only sent when the change
+ * it reports on is committed, and neither requests nor scheduler runs wait for the mail server.
+ * A failure to write the row is passed on and rolls the caller's transaction back with it;
+ * only a notification that cannot be serialized is logged and dropped.
+ */
 @Service
 @Slf4j
 public class EmailNotificationServiceImpl implements EmailNotificationService {
 
-    private final JavaMailSender mailSender;
+    private final NotificationOutboxRepository outboxRepository;
     private final NotificationConfig notificationConfig;
-    private final TemplateEngine templateEngine;
+    private final NotificationDigestConfig digestConfig;
+    private final ObjectMapper objectMapper;
+    private final Map<NotificationType, Counter> queued = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> queueFailures = new EnumMap<>(NotificationType.class);
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-    public EmailNotificationServiceImpl(JavaMailSender mailSender,
+    public EmailNotificationServiceImpl(NotificationOutboxRepository outboxRepository,
                                         NotificationConfig notificationConfig,
-                                        TemplateEngine templateEngine) {
-        this.mailSender = mailSender;
+                                        NotificationDigestConfig digestConfig,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
         this.notificationConfig = notificationConfig;
-        this.templateEngine = templateEngine;
+        this.digestConfig = digestConfig;
+        this.objectMapper = objectMapper;
+        for (NotificationType type : NotificationType.values()) {
+            queued.put(type, Counter.builder("notifications.queued")
+                    .description("Notifications written to the outbox")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+            queueFailures.put(type, Counter.builder("notifications.queue.failures")
+                    .description("Notifications that could not be written to the outbox")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
     }
 
     @Override
@@ -43,28 +78,18 @@ public class EmailNotificationServiceImpl implements EmailNotificationService {
 
         try {
             Parcel parcel = irrigation.getParcel();
-            Context context = new Context();
-            context.setVariable("parcelName", parcel.getName());
-            context.setVariable("farmName", parcel.getFarm().getName());
-            context.setVariable("cropName", parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-            context.setVariable("waterAmount", irrigation.getWaterAmountLiters());
-            context.setVariable("scheduledTime", irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER));
-            context.setVariable("startTime", irrigation.getStartDatetime() != null ?
-                irrigation.getStartDatetime().format(DATE_TIME_FORMATTER) : "N/A");
-            context.setVariable("finishTime", irrigation.getFinishedDatetime() != null ?
-                irrigation.getFinishedDatetime().format(DATE_TIME_FORMATTER) : "N/A");
-
-            String htmlContent = templateEngine.process("email/irrigation-completed", context);
-
-            sendEmail(
-                notificationConfig.getTo(),
-                "✅ Irrigation Completed - " + parcel.getName(),
-                htmlContent
-            );
-
-            log.info("Sent irrigation completed notification for irrigation ID: {}", irrigation.getId());
-        } catch (Exception e) {
-            log.error("Failed to send irrigation completed notification", e);
+            enqueue(new IrrigationCompletedEmail(
+                    parcel.getName(),
+                    parcel.getFarm().getName(),
+                    parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A",
+                    irrigation.getWaterAmountLiters(),
+                    irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER),
+                    formatDateTime(irrigation.getStartDatetime(), "N/A"),
+                    formatDateTime(irrigation.getFinishedDatetime(), "N/A")));
+
+            log.info("Queued irrigation completed notification for irrigation ID: {}", irrigation.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue irrigation completed notification", e);
         }
     }
 
@@ -77,26 +102,18 @@ public class EmailNotificationServiceImpl implements EmailNotificationService {
 
         try {
             Parcel parcel = irrigation.getParcel();
-            Context context = new Context();
-            context.setVariable("parcelName", parcel.getName());
-            context.setVariable("farmName", parcel.getFarm().getName());
-            context.setVariable("cropName", parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-            context.setVariable("waterAmount", irrigation.getWaterAmountLiters());
-            context.setVariable("scheduledTime", irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER));
-            context.setVariable("reason", reason);
-            context.setVariable("retryCount", irrigation.getRetryCount());
-
-            String htmlContent = templateEngine.process("email/irrigation-failed", context);
-
-            sendEmail(
-                notificationConfig.getTo(),
-                "❌ Irrigation Failed - " + parcel.getName(),
-                htmlContent
-            );
-
-            log.info("Sent irrigation failed notification for irrigation ID: {}", irrigation.getId());
-        } catch (Exception e) {
-            log.error("Failed to send irrigation failed notification", e);
+            enqueue(new IrrigationFailedEmail(
+                    parcel.getName(),
+                    parcel.getFarm().getName(),
+                    parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A",
+                    irrigation.getWaterAmountLiters(),
+                    irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER),
+                    reason,
+                    irrigation.getRetryCount()));
+
+            log.info("Queued irrigation failed notification for irrigation ID: {}", irrigation.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue irrigation failed notification", e);
         }
     }
 
@@ -109,27 +126,18 @@ public class EmailNotificationServiceImpl implements EmailNotificationService {
 
         try {
             Parcel parcel = irrigation.getParcel();
-            Context context = new Context();
-            context.setVariable("parcelName", parcel.getName());
-            context.setVariable("farmName", parcel.getFarm().getName());
-            context.setVariable("cropName", parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-            context.setVariable("waterAmount", irrigation.getWaterAmountLiters());
-            context.setVariable("originalTime", irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER));
-            context.setVariable("newTime", irrigation.getScheduledDatetime() != null ?
-                irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER) : "To be determined");
-            context.setVariable("weatherReason", weatherReason);
-
-            String htmlContent = templateEngine.process("email/irrigation-postponed", context);
-
-            sendEmail(
-                notificationConfig.getTo(),
-                "⏰ Irrigation Postponed - " + parcel.getName(),
-                htmlContent
-            );
-
-            log.info("Sent irrigation postponed notification for irrigation ID: {}", irrigation.getId());
-        } catch (Exception e) {
-            log.error("Failed to send irrigation postponed notification", e);
+            enqueue(new IrrigationPostponedEmail(
+                    parcel.getName(),
+                    parcel.getFarm().getName(),
+                    parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A",
+                    irrigation.getWaterAmountLiters(),
+                    irrigation.getScheduledDatetime().format(DATE_TIME_FORMATTER),
+                    formatDateTime(irrigation.getScheduledDatetime(), "To be determined"),
+                    weatherReason));
+
+            log.info("Queued irrigation postponed notification for irrigation ID: {}", irrigation.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue irrigation postponed notification", e);
         }
     }
 
@@ -142,24 +150,16 @@ public class EmailNotificationServiceImpl implements EmailNotificationService {
 
         try {
             Parcel parcel = fertilization.getParcel();
-            Context context = new Context();
-            context.setVariable("parcelName", parcel.getName());
-            context.setVariable("farmName", parcel.getFarm().getName());
-            context.setVariable("cropName", parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-            context.setVariable("fertilizerType", fertilization.getFertilizerType());
-            context.setVariable("scheduledDate", fertilization.getScheduledDatetime().format(DATE_TIME_FORMATTER));
-
-            String htmlContent = templateEngine.process("email/fertilization-due", context);
-
-            sendEmail(
-                notificationConfig.getTo(),
-                "🌱 Fertilization Due - " + parcel.getName(),
-                htmlContent
-            );
-
-            log.info("Sent fertilization due notification for fertilization ID: {}", fertilization.getId());
-        } catch (Exception e) {
-            log.error("Failed to send fertilization due notification", e);
+            enqueue(new FertilizationDueEmail(
+                    parcel.getName(),
+                    parcel.getFarm().getName(),
+                    parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A",
+                    fertilization.getFertilizerType(),
+                    fertilization.getScheduledDatetime().format(DATE_TIME_FORMATTER)));
+
+            log.info("Queued fertilization due notification for fertilization ID: {}", fertilization.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue fertilization due notification", e);
         }
     }
 
@@ -172,26 +172,17 @@ public class EmailNotificationServiceImpl implements EmailNotificationService {
 
         try {
             Parcel parcel = fertilization.getParcel();
-            Context context = new Context();
-            context.setVariable("parcelName", parcel.getName());
-            context.setVariable("farmName", parcel.getFarm().getName());
-            context.setVariable("cropName", parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-            context.setVariable("fertilizerType", fertilization.getFertilizerType());
-            context.setVariable("scheduledDate", fertilization.getScheduledDatetime().format(DATE_TIME_FORMATTER));
-            context.setVariable("completedDate", fertilization.getCompletedDatetime() != null ?
-                fertilization.getCompletedDatetime().format(DATE_TIME_FORMATTER) : "N/A");
-
-            String htmlContent = templateEngine.process("email/fertilization-completed", context);
-
-            sendEmail(
-                notificationConfig.getTo(),
-                "✅ Fertilization Completed - " + parcel.getName(),
-                htmlContent
-            );
-
-            log.info("Sent fertilization completed notification for fertilization ID: {}", fertilization.getId());
-        } catch (Exception e) {
-            log.error("Failed to send fertilization completed notification", e);
+            enqueue(new FertilizationCompletedEmail(
+                    parcel.getName(),
+                    parcel.getFarm().getName(),
+                    parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A",
+                    fertilization.getFertilizerType(),
+                    fertilization.getScheduledDatetime().format(DATE_TIME_FORMATTER),
+                    formatDateTime(fertilization.getCompletedDatetime(), "N/A")));
+
+            log.info("Queued fertilization completed notification for fertilization ID: {}", fertilization.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue fertilization completed notification", e);
         }
     }
 
@@ -204,37 +195,45 @@ public class EmailNotificationServiceImpl implements EmailNotificationService {
 
         try {
             Parcel parcel = fertilization.getParcel();
-            Context context = new Context();
-            context.setVariable("parcelName", parcel.getName());
-            context.setVariable("farmName", parcel.getFarm().getName());
-            context.setVariable("cropName", parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-            context.setVariable("fertilizerType", fertilization.getFertilizerType());
-            context.setVariable("scheduledDate", fertilization.getScheduledDatetime().format(DATE_TIME_FORMATTER));
-
-            String htmlContent = templateEngine.process("email/fertilization-cancelled", context);
-
-            sendEmail(
-                notificationConfig.getTo(),
-                "🚫 Fertilization Cancelled - " + parcel.getName(),
-                htmlContent
-            );
-
-            log.info("Sent fertilization cancelled notification for fertilization ID: {}", fertilization.getId());
-        } catch (Exception e) {
-            log.error("Failed to send fertilization cancelled notification", e);
+            enqueue(new FertilizationCancelledEmail(
+                    parcel.getName(),
+                    parcel.getFarm().getName(),
+                    parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A",
+                    fertilization.getFertilizerType(),
+                    fertilization.getScheduledDatetime().format(DATE_TIME_FORMATTER)));
+
+            log.info("Queued fertilization cancelled notification for fertilization ID: {}", fertilization.getId());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue fertilization cancelled notification", e);
         }
     }
 
-    private void sendEmail(String to, String subject, String htmlContent) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setFrom(notificationConfig.getFrom());
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
+    private void enqueue(EmailViewModel email) throws JsonProcessingException {
+        String recipient = notificationConfig.getTo();
+        if (recipient == null || recipient.isBlank()) {
+            log.warn("No notification recipient configured, skipping {} notification", email.type());
+            return;
+        }
+        try {
+            NotificationOutbox notification = new NotificationOutbox();
+            notification.setType(email.type());
+            notification.setRecipient(recipient);
+            notification.setSubject(email.subject());
+            notification.setPayload(objectMapper.writeValueAsString(email));
+            if (digestConfig.isDigested(email.type())) {
+                // Hold the notification back so others to the same recipient can join its digest
+                notification.setNextAttemptAt(LocalDateTime.now().plus(digestConfig.getWindow()));
+            }
+            outboxRepository.save(notification);
+        } catch (JsonProcessingException | RuntimeException e) {
+            queueFailures.get(email.type()).increment();
+            throw e;
+        }
+        queued.get(email.type()).increment();
+    }
 
-        mailSender.send(message);
+    private static String formatDateTime(LocalDateTime dateTime, String fallback) {
+        return dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : fallback;
     }
 }
 
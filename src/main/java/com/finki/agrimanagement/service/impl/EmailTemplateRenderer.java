@@ -0,0 +1,69 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.dto.email.EmailViewModel;
+import com.finki.agrimanagement.dto.email.NotificationDigestEmail;
+import com.finki.agrimanagement.enums.NotificationType;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders notification emails from their view models.
+ * Templates are parsed on first use and then served from the template engine's cache,
+ * so a render only evaluates the expressions against the model.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final TemplateSpec DIGEST_TEMPLATE = new TemplateSpec("email/notification-digest", TemplateMode.HTML);
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private final ITemplateEngine templateEngine;
+    private final Map<NotificationType, TemplateSpec> templates = new EnumMap<>(NotificationType.class);
+
+    public EmailTemplateRenderer(ITemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+        for (NotificationType type : NotificationType.values()) {
+            templates.put(type, new TemplateSpec(type.getTemplate(), TemplateMode.HTML));
+        }
+    }
+
+    public String render(EmailViewModel model) {
+        return renderAll(model.type(), List.of(model)).get(0);
+    }
+
+    /**
+     * Render notifications of one type in a single pass, reusing one context and one output buffer
+     */
+    public List<String> renderAll(NotificationType type, List<? extends EmailViewModel> models) {
+        TemplateSpec template = templates.get(type);
+        ViewModelContext context = new ViewModelContext(Locale.getDefault());
+        StringWriter writer = new StringWriter(INITIAL_BUFFER_SIZE);
+        List<String> rendered = new ArrayList<>(models.size());
+
+        for (EmailViewModel model : models) {
+            if (model.type() != type) {
+                throw new IllegalArgumentException("Cannot render " + model.type() + " with the " + type + " template");
+            }
+            context.setModel(model);
+            writer.getBuffer().setLength(0);
+            templateEngine.process(template, context, writer);
+            rendered.add(writer.toString());
+        }
+        return rendered;
+    }
+
+    public String renderDigest(NotificationDigestEmail digest) {
+        ViewModelContext context = new ViewModelContext(Locale.getDefault());
+        context.setModel(digest);
+        return templateEngine.process(DIGEST_TEMPLATE, context);
+    }
+}
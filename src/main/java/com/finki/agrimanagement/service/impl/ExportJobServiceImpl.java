@@ -0,0 +1,310 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.ExportJobConfig;
+import com.finki.agrimanagement.dto.request.ExportJobRequestDTO;
+import com.finki.agrimanagement.dto.response.ExportJobResponseDTO;
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportJobStatus;
+import com.finki.agrimanagement.enums.ExportReportType;
+import com.finki.agrimanagement.exception.ExportJobNotReadyException;
+import com.finki.agrimanagement.exception.ExportQueueFullException;
+import com.finki.agrimanagement.exception.ResourceNotFoundException;
+import com.finki.agrimanagement.service.ExportJobService;
+import com.finki.agrimanagement.service.ExportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final DateTimeFormatter FILENAME_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern JOB_FILE_NAME = Pattern.compile("[0-9a-f-]{36}\\.(part|xlsx|csv|ndjson)");
+
+    private final ExportService exportService;
+    private final ExportJobConfig jobConfig;
+    private final Path storageDirectory;
+    private final ThreadPoolExecutor workers;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ExportJobSpec, ExportJob> activeJobs = new HashMap<>();
+
+    public ExportJobServiceImpl(ExportService exportService, ExportJobConfig jobConfig) {
+        this.exportService = exportService;
+        this.jobConfig = jobConfig;
+        this.storageDirectory = Path.of(jobConfig.getStorageDirectory());
+        try {
+            Files.createDirectories(storageDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export storage directory " + storageDirectory, e);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                jobConfig.getWorkerThreads(), jobConfig.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(jobConfig.getQueueCapacity()),
+                runnable -> new Thread(runnable, "export-job-" + threadNumber.incrementAndGet()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public ExportJobResponseDTO submitJob(ExportJobRequestDTO dto) {
+        ExportJobSpec spec = toSpec(dto);
+
+        synchronized (activeJobs) {
+            ExportJob active = activeJobs.get(spec);
+            if (active != null) {
+                log.info("Export {} is already in progress as job {}", spec, active.id);
+                return toResponseDTO(active);
+            }
+
+            ExportJob job = new ExportJob(UUID.randomUUID().toString(), spec);
+            try {
+                workers.execute(() -> runJob(job));
+            } catch (RejectedExecutionException e) {
+                throw new ExportQueueFullException("Too many exports are in progress, please try again later");
+            }
+            jobs.put(job.id, job);
+            activeJobs.put(spec, job);
+
+            log.info("Submitted export job {} for {}", job.id, spec);
+            return toResponseDTO(job);
+        }
+    }
+
+    @Override
+    public ExportJobResponseDTO getJob(String jobId) {
+        return toResponseDTO(findJob(jobId));
+    }
+
+    @Override
+    public Resource getJobResult(String jobId) {
+        ExportJob job = findJob(jobId);
+        if (job.status != ExportJobStatus.COMPLETED) {
+            throw new ExportJobNotReadyException("Export job " + jobId + " is " + job.status +
+                    (job.errorMessage != null ? ": " + job.errorMessage : ""));
+        }
+        return new FileSystemResource(job.file);
+    }
+
+    @Override
+    public void removeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        for (ExportJob job : jobs.values()) {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now) && jobs.remove(job.id, job)) {
+                deleteQuietly(job.file);
+                removed++;
+            }
+        }
+
+        // Files left over from before a restart are no longer reachable through any job
+        Instant staleBefore = Instant.now().minus(jobConfig.getResultTtl());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDirectory,
+                file -> JOB_FILE_NAME.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                String jobId = file.getFileName().toString().substring(0, 36);
+                if (!jobs.containsKey(jobId) && Files.getLastModifiedTime(file).toInstant().isBefore(staleBefore)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up export storage directory {}: {}", storageDirectory, e.getMessage());
+        }
+
+        if (removed > 0) {
+            log.info("Removed {} expired export job(s)", removed);
+        }
+    }
+
+    private void runJob(ExportJob job) {
+        job.status = ExportJobStatus.RUNNING;
+        Path partFile = storageDirectory.resolve(job.id + ".part");
+        Path resultFile = storageDirectory.resolve(job.id + "." + job.spec.format().getExtension());
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+                generate(job.spec, out);
+            }
+            Files.move(partFile, resultFile, StandardCopyOption.REPLACE_EXISTING);
+
+            job.file = resultFile;
+            job.status = ExportJobStatus.COMPLETED;
+            log.info("Export job {} completed", job.id);
+        } catch (Exception e) {
+            log.error("Export job {} failed: {}", job.id, e.getMessage(), e);
+            deleteQuietly(partFile);
+            job.errorMessage = e.getMessage();
+            job.status = ExportJobStatus.FAILED;
+        } finally {
+            job.completedAt = LocalDateTime.now();
+            job.expiresAt = job.completedAt.plus(jobConfig.getResultTtl());
+            synchronized (activeJobs) {
+                activeJobs.remove(job.spec, job);
+            }
+        }
+    }
+
+    private void generate(ExportJobSpec spec, OutputStream out) throws IOException {
+        if (spec.format() != ExportFormat.XLSX) {
+            if (spec.reportType() == ExportReportType.IRRIGATIONS) {
+                if (spec.farmId() != null) {
+                    exportService.writeIrrigationsByFarm(spec.farmId(), spec.format(), out);
+                } else {
+                    exportService.writeAllIrrigations(spec.format(), out);
+                }
+            } else if (spec.farmId() != null) {
+                exportService.writeFertilizationsByFarm(spec.farmId(), spec.format(), out);
+            } else {
+                exportService.writeAllFertilizations(spec.format(), out);
+            }
+            return;
+        }
+
+        Workbook workbook = switch (spec.reportType()) {
+            case FARM_OVERVIEW -> exportService.exportFarmOverviewReport();
+            case IRRIGATIONS -> spec.farmId() != null
+                    ? exportService.exportIrrigationByFarm(spec.farmId())
+                    : exportService.exportAllIrrigations();
+            case FERTILIZATIONS -> spec.farmId() != null
+                    ? exportService.exportFertilizationByFarm(spec.farmId())
+                    : exportService.exportAllFertilizations();
+            case PARCEL_ACTIVITY -> exportService.exportParcelActivityReport(spec.parcelId());
+            case CROP_MANAGEMENT -> exportService.exportCropManagementReport();
+            case COMPLETE_FARM -> exportService.exportCompleteFarmReport(spec.farmId());
+            case PARCEL_WEATHER -> exportService.exportParcelWeather(spec.parcelId());
+        };
+        exportService.writeWorkbook(spec.reportType(), workbook, out);
+    }
+
+    /**
+     * Validate the request and keep only the parameters the report uses, so identical exports compare equal
+     */
+    private ExportJobSpec toSpec(ExportJobRequestDTO dto) {
+        ExportReportType reportType = dto.getReportType();
+        ExportFormat format = dto.getFormat() != null ? dto.getFormat() : ExportFormat.XLSX;
+
+        boolean activityReport = reportType == ExportReportType.IRRIGATIONS ||
+                reportType == ExportReportType.FERTILIZATIONS;
+        if (format != ExportFormat.XLSX && !activityReport) {
+            throw new IllegalArgumentException(format + " is only available for irrigation and fertilization reports");
+        }
+
+        return switch (reportType) {
+            case IRRIGATIONS, FERTILIZATIONS -> new ExportJobSpec(reportType, format, dto.getFarmId(), null);
+            case COMPLETE_FARM -> new ExportJobSpec(reportType, format, require(dto.getFarmId(), "farmId"), null);
+            case PARCEL_ACTIVITY, PARCEL_WEATHER ->
+                    new ExportJobSpec(reportType, format, null, require(dto.getParcelId(), "parcelId"));
+            case FARM_OVERVIEW, CROP_MANAGEMENT -> new ExportJobSpec(reportType, format, null, null);
+        };
+    }
+
+    private static Long require(Long id, String name) {
+        if (id == null) {
+            throw new IllegalArgumentException(name + " is required for this report");
+        }
+        return id;
+    }
+
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private ExportJobResponseDTO toResponseDTO(ExportJob job) {
+        ExportJobResponseDTO dto = new ExportJobResponseDTO();
+        dto.setId(job.id);
+        dto.setReportType(job.spec.reportType());
+        dto.setFormat(job.spec.format());
+        dto.setFarmId(job.spec.farmId());
+        dto.setParcelId(job.spec.parcelId());
+        dto.setStatus(job.status);
+        dto.setFilename(job.filename);
+        dto.setErrorMessage(job.errorMessage);
+        dto.setCreatedAt(job.createdAt);
+        dto.setCompletedAt(job.completedAt);
+        dto.setExpiresAt(job.expiresAt);
+        return dto;
+    }
+
+    private static String baseFilename(ExportJobSpec spec) {
+        return switch (spec.reportType()) {
+            case FARM_OVERVIEW -> "farm-overview-report";
+            case IRRIGATIONS -> spec.farmId() != null ? "irrigations-farm-" + spec.farmId() : "irrigations-all";
+            case FERTILIZATIONS -> spec.farmId() != null ? "fertilizations-farm-" + spec.farmId() : "fertilizations-all";
+            case PARCEL_ACTIVITY -> "parcel-" + spec.parcelId() + "-activity";
+            case CROP_MANAGEMENT -> "crop-management-report";
+            case COMPLETE_FARM -> "farm-" + spec.farmId() + "-complete";
+            case PARCEL_WEATHER -> "parcel-" + spec.parcelId() + "-weather";
+        };
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record ExportJobSpec(ExportReportType reportType, ExportFormat format, Long farmId, Long parcelId) {
+    }
+
+    private static final class ExportJob {
+
+        private final String id;
+        private final ExportJobSpec spec;
+        private final String filename;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        private volatile Path file;
+        private volatile String errorMessage;
+        private volatile LocalDateTime completedAt;
+        private volatile LocalDateTime expiresAt;
+
+        private ExportJob(String id, ExportJobSpec spec) {
+            this.id = id;
+            this.spec = spec;
+            this.filename = baseFilename(spec) + "-" + createdAt.format(FILENAME_TIMESTAMP) + "." +
+                    spec.format().getExtension();
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package com.finki.agrimanagement.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.config.ExportConfig;
+import com.finki.agrimanagement.dto.projection.CropExportRow;
+import com.finki.agrimanagement.dto.projection.FarmExportRow;
+import com.finki.agrimanagement.dto.projection.FertilizationExportRow;
+import com.finki.agrimanagement.dto.projection.IrrigationExportRow;
+import com.finki.agrimanagement.dto.projection.ParcelExportRow;
 import com.finki.agrimanagement.entity.*;
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportReportType;
+import com.finki.agrimanagement.exception.ResourceNotFoundException;
 import com.finki.agrimanagement.repository.*;
 import com.finki.agrimanagement.service.ExportService;
 import com.finki.agrimanagement.service.ParcelService;
 import com.finki.agrimanagement.dto.weather.ParcelWeatherDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFColor;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -26,96 +42,115 @@ public class ExportServiceImpl implements ExportService {
     private final FertilizationRepository fertilizationRepository;
     private final CropRepository cropRepository;
     private final ParcelService parcelService;
+    private final ExportConfig exportConfig;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    private static final String[] IRRIGATION_FIELDS = {"id", "parcel", "farm", "scheduledDatetime",
+            "durationMinutes", "waterAmountLiters", "status", "startDatetime", "finishedDatetime", "retryCount"};
+    private static final String[] FERTILIZATION_FIELDS = {"id", "parcel", "farm", "scheduledDatetime",
+            "fertilizerType", "status", "completedDatetime", "notes"};
+
     public ExportServiceImpl(FarmRepository farmRepository,
                              ParcelRepository parcelRepository,
                              IrrigationRepository irrigationRepository,
                              FertilizationRepository fertilizationRepository,
                              CropRepository cropRepository,
-                             ParcelService parcelService) {
+                             ParcelService parcelService,
+                             ExportConfig exportConfig,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
         this.farmRepository = farmRepository;
         this.parcelRepository = parcelRepository;
         this.irrigationRepository = irrigationRepository;
         this.fertilizationRepository = fertilizationRepository;
         this.cropRepository = cropRepository;
         this.parcelService = parcelService;
+        this.exportConfig = exportConfig;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public Workbook exportFarmOverviewReport() {
-        Workbook workbook = new XSSFWorkbook();
-        List<Farm> farms = farmRepository.findAll();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
 
         // Create Farms sheet
         Sheet farmSheet = workbook.createSheet("Farms");
-        createFarmSheet(farmSheet, farms);
+        createFarmSheet(farmSheet, farmRepository.findAllForExport());
 
         // Create Parcels sheet
         Sheet parcelSheet = workbook.createSheet("Parcels");
-        createParcelSheet(parcelSheet, farms);
+        createParcelSheet(parcelSheet, parcelRepository.findAllForExport());
 
-        return workbook;
+        return generated(sample, ExportReportType.FARM_OVERVIEW, workbook);
     }
 
     @Override
     public Workbook exportAllIrrigations() {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
         Sheet sheet = workbook.createSheet("Irrigation Report");
 
-        List<Irrigation> irrigations = irrigationRepository.findAll();
-        createIrrigationSheet(sheet, irrigations);
+        try (Stream<IrrigationExportRow> irrigations = irrigationRepository.streamAllForExport()) {
+            createIrrigationSheet(sheet, irrigations);
+        }
 
-        return workbook;
+        return generated(sample, ExportReportType.IRRIGATIONS, workbook);
     }
 
     @Override
     public Workbook exportIrrigationByFarm(Long farmId) {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
         Sheet sheet = workbook.createSheet("Irrigation Report");
 
-        Farm farm = farmRepository.findById(farmId)
-                .orElseThrow(() -> new RuntimeException("Farm not found with id: " + farmId));
-
-        List<Irrigation> irrigations = farm.getParcels().stream()
-                .flatMap(p -> p.getIrrigations().stream())
-                .collect(Collectors.toList());
+        if (!farmRepository.existsById(farmId)) {
+            throw new RuntimeException("Farm not found with id: " + farmId);
+        }
 
-        createIrrigationSheet(sheet, irrigations);
-        return workbook;
+        try (Stream<IrrigationExportRow> irrigations = irrigationRepository.streamByFarmIdForExport(farmId)) {
+            createIrrigationSheet(sheet, irrigations);
+        }
+        return generated(sample, ExportReportType.IRRIGATIONS, workbook);
     }
 
     @Override
     public Workbook exportAllFertilizations() {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
         Sheet sheet = workbook.createSheet("Fertilization Report");
 
-        List<Fertilization> fertilizations = fertilizationRepository.findAll();
-        createFertilizationSheet(sheet, fertilizations);
+        try (Stream<FertilizationExportRow> fertilizations = fertilizationRepository.streamAllForExport()) {
+            createFertilizationSheet(sheet, fertilizations);
+        }
 
-        return workbook;
+        return generated(sample, ExportReportType.FERTILIZATIONS, workbook);
     }
 
     @Override
     public Workbook exportFertilizationByFarm(Long farmId) {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
         Sheet sheet = workbook.createSheet("Fertilization Report");
 
-        Farm farm = farmRepository.findById(farmId)
-                .orElseThrow(() -> new RuntimeException("Farm not found with id: " + farmId));
-
-        List<Fertilization> fertilizations = farm.getParcels().stream()
-                .flatMap(p -> p.getFertilizations().stream())
-                .collect(Collectors.toList());
+        if (!farmRepository.existsById(farmId)) {
+            throw new RuntimeException("Farm not found with id: " + farmId);
+        }
 
-        createFertilizationSheet(sheet, fertilizations);
-        return workbook;
+        try (Stream<FertilizationExportRow> fertilizations = fertilizationRepository.streamByFarmIdForExport(farmId)) {
+            createFertilizationSheet(sheet, fertilizations);
+        }
+        return generated(sample, ExportReportType.FERTILIZATIONS, workbook);
     }
 
     @Override
     public Workbook exportParcelActivityReport(Long parcelId) {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
         Parcel parcel = parcelRepository.findById(parcelId).orElseThrow();
 
         // Parcel Info Sheet
@@ -124,19 +159,24 @@ public class ExportServiceImpl implements ExportService {
 
         // Irrigation History
         Sheet irrigationSheet = workbook.createSheet("Irrigation History");
-        createIrrigationSheet(irrigationSheet, parcel.getIrrigations());
+        try (Stream<IrrigationExportRow> irrigations = irrigationRepository.streamByParcelIdForExport(parcelId)) {
+            createIrrigationSheet(irrigationSheet, irrigations);
+        }
 
         // Fertilization History
         Sheet fertilizationSheet = workbook.createSheet("Fertilization History");
-        createFertilizationSheet(fertilizationSheet, parcel.getFertilizations());
+        try (Stream<FertilizationExportRow> fertilizations = fertilizationRepository.streamByParcelIdForExport(parcelId)) {
+            createFertilizationSheet(fertilizationSheet, fertilizations);
+        }
 
-        return workbook;
+        return generated(sample, ExportReportType.PARCEL_ACTIVITY, workbook);
     }
 
     @Override
     public Workbook exportCropManagementReport() {
-        Workbook workbook = new XSSFWorkbook();
-        List<Crop> crops = cropRepository.findAll();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
+        List<CropExportRow> crops = cropRepository.findAllForExport();
 
         // Crop Information Sheet
         Sheet cropSheet = workbook.createSheet("Crops");
@@ -146,114 +186,265 @@ public class ExportServiceImpl implements ExportService {
         Sheet distributionSheet = workbook.createSheet("Crop Distribution");
         createCropDistributionSheet(distributionSheet, crops);
 
-        return workbook;
+        return generated(sample, ExportReportType.CROP_MANAGEMENT, workbook);
     }
 
     @Override
     public Workbook exportCompleteFarmReport(Long farmId) {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
         Farm farm = farmRepository.findById(farmId).orElseThrow();
+        List<ParcelExportRow> parcels = parcelRepository.findByFarmIdForExport(farmId);
 
         // Farm Info
         Sheet farmSheet = workbook.createSheet("Farm Information");
-        createFarmInfoSheet(farmSheet, farm);
+        createFarmInfoSheet(farmSheet, farm, parcels);
 
         // Parcels
         Sheet parcelSheet = workbook.createSheet("Parcels");
-        createParcelSheet(parcelSheet, List.of(farm));
+        createParcelSheet(parcelSheet, parcels);
 
         // Irrigations
-        List<Irrigation> irrigations = farm.getParcels().stream()
-                .flatMap(p -> p.getIrrigations().stream())
-                .collect(Collectors.toList());
         Sheet irrigationSheet = workbook.createSheet("Irrigations");
-        createIrrigationSheet(irrigationSheet, irrigations);
+        try (Stream<IrrigationExportRow> irrigations = irrigationRepository.streamByFarmIdForExport(farmId)) {
+            createIrrigationSheet(irrigationSheet, irrigations);
+        }
 
         // Fertilizations
-        List<Fertilization> fertilizations = farm.getParcels().stream()
-                .flatMap(p -> p.getFertilizations().stream())
-                .collect(Collectors.toList());
         Sheet fertilizationSheet = workbook.createSheet("Fertilizations");
-        createFertilizationSheet(fertilizationSheet, fertilizations);
+        try (Stream<FertilizationExportRow> fertilizations = fertilizationRepository.streamByFarmIdForExport(farmId)) {
+            createFertilizationSheet(fertilizationSheet, fertilizations);
+        }
+
+        return generated(sample, ExportReportType.COMPLETE_FARM, workbook);
+    }
+
+    @Override
+    public void writeAllIrrigations(ExportFormat format, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<IrrigationExportRow> irrigations = irrigationRepository.streamAllForExport()) {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            long rows = writeIrrigationRows(irrigations, format, counted);
+            recordGenerated(sample, ExportReportType.IRRIGATIONS, format, rows);
+            recordBytes(ExportReportType.IRRIGATIONS, format, counted.getByteCount());
+        }
+    }
+
+    @Override
+    public void writeIrrigationsByFarm(Long farmId, ExportFormat format, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!farmRepository.existsById(farmId)) {
+            throw new ResourceNotFoundException("Farm not found with id: " + farmId);
+        }
+
+        try (Stream<IrrigationExportRow> irrigations = irrigationRepository.streamByFarmIdForExport(farmId)) {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            long rows = writeIrrigationRows(irrigations, format, counted);
+            recordGenerated(sample, ExportReportType.IRRIGATIONS, format, rows);
+            recordBytes(ExportReportType.IRRIGATIONS, format, counted.getByteCount());
+        }
+    }
+
+    @Override
+    public void writeAllFertilizations(ExportFormat format, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<FertilizationExportRow> fertilizations = fertilizationRepository.streamAllForExport()) {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            long rows = writeFertilizationRows(fertilizations, format, counted);
+            recordGenerated(sample, ExportReportType.FERTILIZATIONS, format, rows);
+            recordBytes(ExportReportType.FERTILIZATIONS, format, counted.getByteCount());
+        }
+    }
+
+    @Override
+    public void writeFertilizationsByFarm(Long farmId, ExportFormat format, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!farmRepository.existsById(farmId)) {
+            throw new ResourceNotFoundException("Farm not found with id: " + farmId);
+        }
 
+        try (Stream<FertilizationExportRow> fertilizations = fertilizationRepository.streamByFarmIdForExport(farmId)) {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            long rows = writeFertilizationRows(fertilizations, format, counted);
+            recordGenerated(sample, ExportReportType.FERTILIZATIONS, format, rows);
+            recordBytes(ExportReportType.FERTILIZATIONS, format, counted.getByteCount());
+        }
+    }
+
+    @Override
+    public void writeWorkbook(ExportReportType reportType, Workbook workbook, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CountingOutputStream counted = new CountingOutputStream(out);
+        // Closing also removes the temporary files backing streamed sheets
+        try (workbook) {
+            workbook.write(counted);
+        }
+        sample.stop(Timer.builder("exports.write")
+                .description("Duration of writing a generated workbook to its output")
+                .tag("report", reportType.name())
+                .register(meterRegistry));
+        recordBytes(reportType, ExportFormat.XLSX, counted.getByteCount());
+    }
+
+    private long writeIrrigationRows(Stream<IrrigationExportRow> irrigations, ExportFormat format, OutputStream out)
+            throws IOException {
+        TextExportWriter writer = new TextExportWriter(format, IRRIGATION_FIELDS, out,
+                objectMapper, exportConfig.getTextFlushRows());
+        long rows = 0;
+        for (IrrigationExportRow irrigation : (Iterable<IrrigationExportRow>) irrigations::iterator) {
+            writer.writeRow(
+                    irrigation.getId(),
+                    irrigation.getParcelName(),
+                    irrigation.getFarmName(),
+                    irrigation.getScheduledDatetime(),
+                    irrigation.getDurationMinutes(),
+                    irrigation.getWaterAmountLiters(),
+                    irrigation.getStatus(),
+                    irrigation.getStartDatetime(),
+                    irrigation.getFinishedDatetime(),
+                    irrigation.getRetryCount());
+            rows++;
+        }
+        writer.finish();
+        return rows;
+    }
+
+    private long writeFertilizationRows(Stream<FertilizationExportRow> fertilizations, ExportFormat format, OutputStream out)
+            throws IOException {
+        TextExportWriter writer = new TextExportWriter(format, FERTILIZATION_FIELDS, out,
+                objectMapper, exportConfig.getTextFlushRows());
+        long rows = 0;
+        for (FertilizationExportRow fertilization : (Iterable<FertilizationExportRow>) fertilizations::iterator) {
+            writer.writeRow(
+                    fertilization.getId(),
+                    fertilization.getParcelName(),
+                    fertilization.getFarmName(),
+                    fertilization.getScheduledDatetime(),
+                    fertilization.getFertilizerType(),
+                    fertilization.getStatus(),
+                    fertilization.getCompletedDatetime(),
+                    fertilization.getNotes());
+            rows++;
+        }
+        writer.finish();
+        return rows;
+    }
+
+    /**
+     * Record the generation of a workbook; the rows of all its sheets are counted, headers included
+     */
+    private Workbook generated(Timer.Sample sample, ExportReportType reportType, Workbook workbook) {
+        long rows = 0;
+        for (Sheet sheet : workbook) {
+            rows += sheet.getLastRowNum() + 1;
+        }
+        recordGenerated(sample, reportType, ExportFormat.XLSX, rows);
         return workbook;
     }
 
+    private void recordGenerated(Timer.Sample sample, ExportReportType reportType, ExportFormat format, long rows) {
+        sample.stop(Timer.builder("exports.duration")
+                .description("Duration of generating an export, streaming it to the output for text formats")
+                .tags("report", reportType.name(), "format", format.name())
+                .register(meterRegistry));
+        DistributionSummary.builder("exports.rows")
+                .description("Rows per export")
+                .baseUnit("rows")
+                .tags("report", reportType.name(), "format", format.name())
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    private void recordBytes(ExportReportType reportType, ExportFormat format, long bytes) {
+        DistributionSummary.builder("exports.bytes")
+                .description("Size of the written export")
+                .baseUnit("bytes")
+                .tags("report", reportType.name(), "format", format.name())
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
     // Helper methods for creating sheets
-    private void createFarmSheet(Sheet sheet, List<Farm> farms) {
+    private void createFarmSheet(Sheet sheet, List<FarmExportRow> farms) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         // Header row
         Row headerRow = sheet.createRow(0);
-        String[] headers = {"ID", "Name", "Location", "Parcel Count", "Created At"};
+        String[] headers = {"ID", "Name", "Location", "Parcel Count", "Created At", "Water Used (L)"};
         for (int i = 0; i < headers.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        ColumnWidths columnWidths = new ColumnWidths(headers);
 
         // Data rows
         int rowNum = 1;
-        for (Farm farm : farms) {
+        for (FarmExportRow farm : farms) {
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(farm.getId());
             row.createCell(1).setCellValue(farm.getName());
             row.createCell(2).setCellValue(farm.getLocation() != null ? farm.getLocation() : "");
-            row.createCell(3).setCellValue(farm.getParcels().size());
+            row.createCell(3).setCellValue(farm.getParcelCount());
             row.createCell(4).setCellValue(formatDateTime(farm.getCreatedAt()));
+            row.createCell(5).setCellValue(farm.getWaterUsedLiters());
+            columnWidths.sample(row);
         }
 
-        autoSizeColumns(sheet, headers.length);
+        columnWidths.applyTo(sheet);
     }
 
-    private void createFarmInfoSheet(Sheet sheet, Farm farm) {
+    private void createFarmInfoSheet(Sheet sheet, Farm farm, List<ParcelExportRow> parcels) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         int rowNum = 0;
         createInfoRow(sheet, rowNum++, "Farm ID", String.valueOf(farm.getId()), headerStyle);
         createInfoRow(sheet, rowNum++, "Name", farm.getName(), headerStyle);
         createInfoRow(sheet, rowNum++, "Location", farm.getLocation() != null ? farm.getLocation() : "N/A", headerStyle);
-        createInfoRow(sheet, rowNum++, "Total Parcels", String.valueOf(farm.getParcels().size()), headerStyle);
-        createInfoRow(sheet, rowNum++, "Total Area (sqm)", String.valueOf(farm.getParcels().stream()
+        createInfoRow(sheet, rowNum++, "Total Parcels", String.valueOf(parcels.size()), headerStyle);
+        createInfoRow(sheet, rowNum++, "Total Area (sqm)", String.valueOf(parcels.stream()
                 .mapToDouble(p -> p.getArea() != null ? p.getArea() : 0).sum()), headerStyle);
+        createInfoRow(sheet, rowNum++, "Total Water Used (L)", String.valueOf(parcels.stream()
+                .mapToDouble(ParcelExportRow::getWaterUsedLiters).sum()), headerStyle);
         createInfoRow(sheet, rowNum, "Created At", formatDateTime(farm.getCreatedAt()), headerStyle);
 
-        autoSizeColumns(sheet, 2);
+        sizeColumns(sheet, 2);
     }
 
-    private void createParcelSheet(Sheet sheet, List<Farm> farms) {
+    private void createParcelSheet(Sheet sheet, List<ParcelExportRow> parcels) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         // Header row
         Row headerRow = sheet.createRow(0);
         String[] headers = {"ID", "Name", "Farm", "Crop", "Area (sqm)", "Latitude", "Longitude",
-                "Last Irrigated", "Last Fertilized"};
+                "Last Irrigated", "Last Fertilized", "Water Used (L)"};
         for (int i = 0; i < headers.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        ColumnWidths columnWidths = new ColumnWidths(headers);
 
         // Data rows
         int rowNum = 1;
-        for (Farm farm : farms) {
-            for (Parcel parcel : farm.getParcels()) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(parcel.getId());
-                row.createCell(1).setCellValue(parcel.getName());
-                row.createCell(2).setCellValue(farm.getName());
-                row.createCell(3).setCellValue(parcel.getCrop() != null ? parcel.getCrop().getName() : "N/A");
-                row.createCell(4).setCellValue(parcel.getArea() != null ? parcel.getArea() : 0);
-                row.createCell(5).setCellValue(parcel.getLatitude() != null ? parcel.getLatitude() : 0);
-                row.createCell(6).setCellValue(parcel.getLongitude() != null ? parcel.getLongitude() : 0);
-                row.createCell(7).setCellValue(parcel.getLastIrrigatedAt() != null ?
-                        formatDateTime(parcel.getLastIrrigatedAt()) : "Never");
-                row.createCell(8).setCellValue(parcel.getLastFertilizedAt() != null ?
-                        formatDateTime(parcel.getLastFertilizedAt()) : "Never");
-            }
+        for (ParcelExportRow parcel : parcels) {
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(parcel.getId());
+            row.createCell(1).setCellValue(parcel.getName());
+            row.createCell(2).setCellValue(parcel.getFarmName());
+            row.createCell(3).setCellValue(parcel.getCropName() != null ? parcel.getCropName() : "N/A");
+            row.createCell(4).setCellValue(parcel.getArea() != null ? parcel.getArea() : 0);
+            row.createCell(5).setCellValue(parcel.getLatitude() != null ? parcel.getLatitude() : 0);
+            row.createCell(6).setCellValue(parcel.getLongitude() != null ? parcel.getLongitude() : 0);
+            row.createCell(7).setCellValue(parcel.getLastIrrigatedAt() != null ?
+                    formatDateTime(parcel.getLastIrrigatedAt()) : "Never");
+            row.createCell(8).setCellValue(parcel.getLastFertilizedAt() != null ?
+                    formatDateTime(parcel.getLastFertilizedAt()) : "Never");
+            row.createCell(9).setCellValue(parcel.getWaterUsedLiters());
+            columnWidths.sample(row);
         }
 
-        autoSizeColumns(sheet, headers.length);
+        columnWidths.applyTo(sheet);
     }
 
     private void createParcelInfoSheet(Sheet sheet, Parcel parcel) {
@@ -273,10 +464,10 @@ public class ExportServiceImpl implements ExportService {
         createInfoRow(sheet, rowNum, "Last Fertilized", parcel.getLastFertilizedAt() != null ?
                 formatDateTime(parcel.getLastFertilizedAt()) : "Never", headerStyle);
 
-        autoSizeColumns(sheet, 2);
+        sizeColumns(sheet, 2);
     }
 
-    private void createIrrigationSheet(Sheet sheet, List<Irrigation> irrigations) {
+    private void createIrrigationSheet(Sheet sheet, Stream<IrrigationExportRow> irrigations) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         // Header row
@@ -288,14 +479,15 @@ public class ExportServiceImpl implements ExportService {
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        ColumnWidths columnWidths = new ColumnWidths(headers);
 
-        // Data rows
+        // Data rows; projections are not managed entities, so the persistence context stays empty
         int rowNum = 1;
-        for (Irrigation irrigation : irrigations) {
+        for (IrrigationExportRow irrigation : (Iterable<IrrigationExportRow>) irrigations::iterator) {
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(irrigation.getId());
-            row.createCell(1).setCellValue(irrigation.getParcel().getName());
-            row.createCell(2).setCellValue(irrigation.getParcel().getFarm().getName());
+            row.createCell(1).setCellValue(irrigation.getParcelName());
+            row.createCell(2).setCellValue(irrigation.getFarmName());
             row.createCell(3).setCellValue(formatDateTime(irrigation.getScheduledDatetime()));
             row.createCell(4).setCellValue(irrigation.getDurationMinutes() != null ? irrigation.getDurationMinutes() : 0);
             row.createCell(5).setCellValue(irrigation.getWaterAmountLiters() != null ? irrigation.getWaterAmountLiters() : 0);
@@ -304,13 +496,14 @@ public class ExportServiceImpl implements ExportService {
                     formatDateTime(irrigation.getStartDatetime()) : "N/A");
             row.createCell(8).setCellValue(irrigation.getFinishedDatetime() != null ?
                     formatDateTime(irrigation.getFinishedDatetime()) : "N/A");
-            row.createCell(9).setCellValue(irrigation.getRetryCount());
+            row.createCell(9).setCellValue(irrigation.getRetryCount() != null ? irrigation.getRetryCount() : 0);
+            columnWidths.sample(row);
         }
 
-        autoSizeColumns(sheet, headers.length);
+        columnWidths.applyTo(sheet);
     }
 
-    private void createFertilizationSheet(Sheet sheet, List<Fertilization> fertilizations) {
+    private void createFertilizationSheet(Sheet sheet, Stream<FertilizationExportRow> fertilizations) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         // Header row
@@ -322,14 +515,15 @@ public class ExportServiceImpl implements ExportService {
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        ColumnWidths columnWidths = new ColumnWidths(headers);
 
-        // Data rows
+        // Data rows; projections are not managed entities, so the persistence context stays empty
         int rowNum = 1;
-        for (Fertilization fertilization : fertilizations) {
+        for (FertilizationExportRow fertilization : (Iterable<FertilizationExportRow>) fertilizations::iterator) {
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(fertilization.getId());
-            row.createCell(1).setCellValue(fertilization.getParcel().getName());
-            row.createCell(2).setCellValue(fertilization.getParcel().getFarm().getName());
+            row.createCell(1).setCellValue(fertilization.getParcelName());
+            row.createCell(2).setCellValue(fertilization.getFarmName());
             row.createCell(3).setCellValue(formatDateTime(fertilization.getScheduledDatetime()));
             row.createCell(4).setCellValue(fertilization.getFertilizerType() != null ?
                     fertilization.getFertilizerType() : "N/A");
@@ -337,12 +531,13 @@ public class ExportServiceImpl implements ExportService {
             row.createCell(6).setCellValue(fertilization.getCompletedDatetime() != null ?
                     formatDateTime(fertilization.getCompletedDatetime()) : "N/A");
             row.createCell(7).setCellValue(fertilization.getNotes() != null ? fertilization.getNotes() : "");
+            columnWidths.sample(row);
         }
 
-        autoSizeColumns(sheet, headers.length);
+        columnWidths.applyTo(sheet);
     }
 
-    private void createCropSheet(Sheet sheet, List<Crop> crops) {
+    private void createCropSheet(Sheet sheet, List<CropExportRow> crops) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         // Header row
@@ -354,10 +549,11 @@ public class ExportServiceImpl implements ExportService {
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        ColumnWidths columnWidths = new ColumnWidths(headers);
 
         // Data rows
         int rowNum = 1;
-        for (Crop crop : crops) {
+        for (CropExportRow crop : crops) {
             Row row = sheet.createRow(rowNum++);
             row.createCell(0).setCellValue(crop.getId());
             row.createCell(1).setCellValue(crop.getName());
@@ -370,13 +566,14 @@ public class ExportServiceImpl implements ExportService {
                     crop.getIrrigationDurationMinutes() : 0);
             row.createCell(6).setCellValue(crop.getWaterRequirementLitersPerSqm() != null ?
                     crop.getWaterRequirementLitersPerSqm() : 0);
-            row.createCell(7).setCellValue(crop.getParcels().size());
+            row.createCell(7).setCellValue(crop.getParcelCount());
+            columnWidths.sample(row);
         }
 
-        autoSizeColumns(sheet, headers.length);
+        columnWidths.applyTo(sheet);
     }
 
-    private void createCropDistributionSheet(Sheet sheet, List<Crop> crops) {
+    private void createCropDistributionSheet(Sheet sheet, List<CropExportRow> crops) {
         CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
 
         // Header row
@@ -387,23 +584,23 @@ public class ExportServiceImpl implements ExportService {
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
         }
+        ColumnWidths columnWidths = new ColumnWidths(headers);
 
         // Data rows
         int rowNum = 1;
-        for (Crop crop : crops) {
+        for (CropExportRow crop : crops) {
             Row row = sheet.createRow(rowNum++);
-            double totalArea = crop.getParcels().stream()
-                    .mapToDouble(p -> p.getArea() != null ? p.getArea() : 0)
-                    .sum();
-            int parcelCount = crop.getParcels().size();
+            double totalArea = crop.getTotalArea();
+            long parcelCount = crop.getParcelCount();
 
             row.createCell(0).setCellValue(crop.getName());
             row.createCell(1).setCellValue(parcelCount);
             row.createCell(2).setCellValue(totalArea);
             row.createCell(3).setCellValue(parcelCount > 0 ? totalArea / parcelCount : 0);
+            columnWidths.sample(row);
         }
 
-        autoSizeColumns(sheet, headers.length);
+        columnWidths.applyTo(sheet);
     }
 
     // Utility methods
@@ -432,10 +629,19 @@ public class ExportServiceImpl implements ExportService {
         row.createCell(1).setCellValue(value);
     }
 
-    private void autoSizeColumns(Sheet sheet, int columnCount) {
-        for (int i = 0; i < columnCount; i++) {
-            sheet.autoSizeColumn(i);
+    private Workbook newWorkbook() {
+        return new SXSSFWorkbook(exportConfig.getRowWindowSize());
+    }
+
+    /**
+     * Size the columns of a small sheet whose rows are all still held in the row window
+     */
+    private void sizeColumns(Sheet sheet, int columnCount) {
+        ColumnWidths columnWidths = new ColumnWidths(new String[columnCount]);
+        for (Row row : sheet) {
+            columnWidths.sample(row);
         }
+        columnWidths.applyTo(sheet);
     }
 
     private String formatDateTime(LocalDateTime dateTime) {
@@ -444,7 +650,8 @@ public class ExportServiceImpl implements ExportService {
 
     @Override
     public Workbook exportParcelWeather(Long parcelId) {
-        Workbook workbook = new XSSFWorkbook();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Workbook workbook = newWorkbook();
 
         // Get parcel and weather data
         Parcel parcel = parcelRepository.findById(parcelId)
@@ -455,7 +662,7 @@ public class ExportServiceImpl implements ExportService {
         Sheet weatherSheet = workbook.createSheet("Current Weather");
         createWeatherSheet(weatherSheet, parcel, weather);
 
-        return workbook;
+        return generated(sample, ExportReportType.PARCEL_WEATHER, workbook);
     }
 
     private void createWeatherSheet(Sheet sheet, Parcel parcel, ParcelWeatherDTO weather) {
@@ -547,7 +754,7 @@ public class ExportServiceImpl implements ExportService {
         createInfoRow(sheet, rowNum, "Rain Expected (1 hour)",
                 weather.getRainExpectedInOneHour() != null ? String.format("%.1f mm", weather.getRainExpectedInOneHour()) : "0 mm", headerStyle);
 
-        autoSizeColumns(sheet, 2);
+        sizeColumns(sheet, 2);
     }
 
     private CellStyle createSectionHeaderStyle(Workbook workbook) {
@@ -559,5 +766,41 @@ public class ExportServiceImpl implements ExportService {
         style.setFont(font);
         return style;
     }
-}
 
+    /**
+     * Column widths estimated from the header and the first rows of a sheet.
+     * Replaces autoSizeColumn, which measures every cell with font metrics and
+     * cannot see rows already flushed out of the streaming window.
+     */
+    private class ColumnWidths {
+
+        private final int[] maxLengths;
+        private final DataFormatter formatter = new DataFormatter();
+
+        ColumnWidths(String[] headers) {
+            maxLengths = new int[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                maxLengths[i] = headers[i] != null ? headers[i].length() : 0;
+            }
+        }
+
+        void sample(Row row) {
+            if (row.getRowNum() > exportConfig.getWidthSampleRows()) {
+                return;
+            }
+            for (Cell cell : row) {
+                int column = cell.getColumnIndex();
+                if (column < maxLengths.length) {
+                    maxLengths[column] = Math.max(maxLengths[column], formatter.formatCellValue(cell).length());
+                }
+            }
+        }
+
+        void applyTo(Sheet sheet) {
+            for (int i = 0; i < maxLengths.length; i++) {
+                int characters = Math.min(maxLengths[i] + 2, exportConfig.getMaxColumnWidthChars());
+                sheet.setColumnWidth(i, characters * 256);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.finki.agrimanagement.service.impl;
 
 import com.finki.agrimanagement.dto.request.FertilizationRequestDTO;
 import com.finki.agrimanagement.dto.response.FertilizationResponseDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.entity.Farm;
 import com.finki.agrimanagement.entity.Fertilization;
 import com.finki.agrimanagement.entity.Parcel;
@@ -15,6 +16,7 @@ import com.finki.agrimanagement.repository.ParcelRepository;
 import com.finki.agrimanagement.service.EmailNotificationService;
 import com.finki.agrimanagement.service.FertilizationService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,15 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class FertilizationServiceImpl implements FertilizationService {
 
+    /**
+     * Order in which fertilization lists show the statuses, the ones waiting on the user first
+     */
+    private static final List<FertilizationStatus> STATUS_PRIORITY = List.of(
+            FertilizationStatus.PENDING,
+            FertilizationStatus.SCHEDULED,
+            FertilizationStatus.COMPLETED,
+            FertilizationStatus.CANCELLED);
+
     private final FertilizationRepository fertilizationRepository;
     private final ParcelRepository parcelRepository;
     private final FarmRepository farmRepository;
@@ -107,6 +118,30 @@ public class FertilizationServiceImpl implements FertilizationService {
         log.info("Marked fertilization ID: {} as PENDING", fertilizationId);
     }
 
+    /**
+     * Mark up to the given number of due scheduled fertilizations as pending and queue their due notifications.
+     * The fertilizations are locked with SKIP LOCKED and moved to PENDING in one bulk update,
+     * so instances running this at the same time each get a different set and every fertilization
+     * is notified about once. Only the updated fertilizations are loaded, for their notifications.
+     *
+     * @return the ids of the fertilizations marked as pending
+     */
+    @Override
+    @Transactional
+    public List<Long> markDueAsPending(LocalDateTime now, int limit) {
+        List<Long> dueIds = fertilizationRepository.lockDueScheduledIds(now, limit);
+        if (dueIds.isEmpty()) {
+            return dueIds;
+        }
+        fertilizationRepository.updateStatusByIdIn(dueIds, FertilizationStatus.PENDING, now);
+        log.info("Marked fertilization IDs: {} as PENDING", dueIds);
+
+        for (Fertilization fertilization : fertilizationRepository.findAllWithParcelByIdIn(dueIds)) {
+            emailNotificationService.sendFertilizationDueNotification(fertilization);
+        }
+        return dueIds;
+    }
+
     /**
      * Mark a fertilization as completed and automatically schedule the next one
      */
@@ -135,11 +170,7 @@ public class FertilizationServiceImpl implements FertilizationService {
                 fertilizationId, parcel.getName());
 
         // Send completion notification email
-        try {
-            emailNotificationService.sendFertilizationCompletedNotification(updated);
-        } catch (Exception emailEx) {
-            log.error("Failed to send fertilization completed notification email", emailEx);
-        }
+        emailNotificationService.sendFertilizationCompletedNotification(updated);
 
         // Automatically schedule the next fertilization
         scheduleNextFertilization(parcel, completedAt);
@@ -199,11 +230,7 @@ public class FertilizationServiceImpl implements FertilizationService {
         log.info("Cancelled fertilization ID: {}", fertilizationId);
 
         // Send cancellation notification email
-        try {
-            emailNotificationService.sendFertilizationCancelledNotification(updated);
-        } catch (Exception emailEx) {
-            log.error("Failed to send fertilization cancelled notification email", emailEx);
-        }
+        emailNotificationService.sendFertilizationCancelledNotification(updated);
 
         return fertilizationMapper.toDTO(updated);
     }
@@ -219,13 +246,31 @@ public class FertilizationServiceImpl implements FertilizationService {
     }
 
     /**
-     * Get all fertilizations
+     * One page of all fertilizations, ordered by status priority, then scheduled time, then id.
+     * Each status is read as its own index range, continuing after the cursor's status, time and id.
      */
     @Override
-    public List<FertilizationResponseDTO> getAllFertilizations() {
-        return fertilizationRepository.findAll().stream()
-                .map(fertilizationMapper::toDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<FertilizationResponseDTO> getAllFertilizations(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, 3);
+        int firstStatus = after != null ? STATUS_PRIORITY.indexOf(after.getEnum(0, FertilizationStatus.class)) : 0;
+
+        List<Fertilization> page = new ArrayList<>(pageSize + 1);
+        for (int i = firstStatus; i < STATUS_PRIORITY.size() && page.size() <= pageSize; i++) {
+            FertilizationStatus status = STATUS_PRIORITY.get(i);
+            Limit limit = Limit.of(pageSize + 1 - page.size());
+            page.addAll(after != null && i == firstStatus
+                    ? fertilizationRepository.findPageByStatusAfter(status, after.getDateTime(1), after.getLong(2), limit)
+                    : fertilizationRepository.findPageByStatus(status, limit));
+        }
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            Fertilization last = page.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getStatus(), last.getScheduledDatetime(), last.getId());
+        }
+        return new PageResponseDTO<>(page.stream().map(fertilizationMapper::toDTO).toList(), nextCursor);
     }
 
     /**
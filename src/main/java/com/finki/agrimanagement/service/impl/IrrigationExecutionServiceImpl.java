@@ -7,8 +7,10 @@ import com.finki.agrimanagement.enums.IrrigationStatus;
 import com.finki.agrimanagement.exception.ResourceNotFoundException;
 import com.finki.agrimanagement.repository.IrrigationRepository;
 import com.finki.agrimanagement.repository.ParcelRepository;
+import com.finki.agrimanagement.scheduler.IrrigationDueIndex;
 import com.finki.agrimanagement.service.EmailNotificationService;
 import com.finki.agrimanagement.service.IrrigationExecutionService;
+import com.finki.agrimanagement.service.IrrigationUsageRollupService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,23 +25,67 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
     private final ParcelRepository parcelRepository;
     private final IrrigationRetryConfig retryConfig;
     private final EmailNotificationService emailNotificationService;
+    private final IrrigationDueIndex irrigationDueIndex;
+    private final IrrigationUsageRollupService usageRollupService;
 
     public IrrigationExecutionServiceImpl(IrrigationRepository irrigationRepository,
                                          ParcelRepository parcelRepository,
                                          IrrigationRetryConfig retryConfig,
-                                         EmailNotificationService emailNotificationService) {
+                                         EmailNotificationService emailNotificationService,
+                                         IrrigationDueIndex irrigationDueIndex,
+                                         IrrigationUsageRollupService usageRollupService) {
         this.irrigationRepository = irrigationRepository;
         this.parcelRepository = parcelRepository;
         this.retryConfig = retryConfig;
         this.emailNotificationService = emailNotificationService;
+        this.irrigationDueIndex = irrigationDueIndex;
+        this.usageRollupService = usageRollupService;
     }
 
+    /**
+     * Locks the irrigation and refuses to run it unless it is still SCHEDULED or RETRYING
+     * and not claimed by a running execution, so it cannot race the scheduler or the overdue check
+     */
     @Override
     @Transactional
     public void executeIrrigation(Long irrigationId) {
-        Irrigation irrigation = irrigationRepository.findById(irrigationId)
+        Irrigation irrigation = irrigationRepository.findByIdForUpdate(irrigationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Irrigation not found with id: " + irrigationId));
 
+        if (!isPending(irrigation)) {
+            throw new IllegalStateException("Cannot execute irrigation. Current status: " + irrigation.getStatus() +
+                    ". Only SCHEDULED or RETRYING irrigations can be executed.");
+        }
+        if (irrigation.getClaimedUntil() != null && irrigation.getClaimedUntil().isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("Cannot execute irrigation. It is already being executed.");
+        }
+        execute(irrigation);
+    }
+
+    /**
+     * Locks the irrigation and runs it only if it is still pending and still holds the given claim.
+     * The overdue check skips claimed and locked irrigations, so an irrigation is never both failed and completed.
+     */
+    @Override
+    @Transactional
+    public boolean executeClaimedIrrigation(Long irrigationId, String claimToken) {
+        Irrigation irrigation = irrigationRepository.findByIdForUpdate(irrigationId).orElse(null);
+        if (irrigation == null || !isPending(irrigation) || !claimToken.equals(irrigation.getClaimToken())) {
+            log.info("Skipping irrigation ID: {}, it is no longer pending or no longer claimed by this instance",
+                    irrigationId);
+            return false;
+        }
+        execute(irrigation);
+        return true;
+    }
+
+    private static boolean isPending(Irrigation irrigation) {
+        return irrigation.getStatus() == IrrigationStatus.SCHEDULED ||
+                irrigation.getStatus() == IrrigationStatus.RETRYING;
+    }
+
+    private void execute(Irrigation irrigation) {
+        Long irrigationId = irrigation.getId();
         try {
             // Start irrigation
             irrigation.setStatus(IrrigationStatus.IN_PROGRESS);
@@ -62,6 +108,8 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
             irrigation.setUpdatedAt(now);
             irrigation.setStatusDescription("Irrigation completed successfully");
             irrigation.setRetryCount(0); // Reset retry count on success
+            irrigation.setClaimToken(null);
+            irrigation.setClaimedUntil(null);
 
             // Update parcel's last irrigated time
             Parcel irrigatedParcel = irrigation.getParcel();
@@ -69,20 +117,19 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
             parcelRepository.save(irrigatedParcel);
 
             irrigationRepository.save(irrigation);
+            usageRollupService.recordFinished(irrigation);
+            irrigationDueIndex.track(irrigation);
 
             log.info("Successfully completed irrigation ID: {}", irrigationId);
 
-            // Send email notification
-            try {
-                emailNotificationService.sendIrrigationCompletedNotification(irrigation);
-            } catch (Exception emailEx) {
-                log.error("Failed to send irrigation completed notification email", emailEx);
-            }
-
         } catch (Exception e) {
             log.error("Failed to execute irrigation ID: {}. Error: {}", irrigationId, e.getMessage(), e);
             handleExecutionFailure(irrigation, e);
+            return;
         }
+
+        // Queued outside the try, so failing to queue rolls the completion back instead of counting as a failed run
+        emailNotificationService.sendIrrigationCompletedNotification(irrigation);
     }
 
     /**
@@ -104,6 +151,8 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
         irrigation.setLastRetryAt(now);
         irrigation.setStatusDescription("Execution failed: " + exception.getMessage());
         irrigation.setUpdatedAt(now);
+        irrigation.setClaimToken(null);
+        irrigation.setClaimedUntil(null);
 
         // Check if max retries exceeded
         if (irrigation.getRetryCount() >= retryConfig.getMaxAttempts()) {
@@ -113,14 +162,10 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
                     irrigation.getId(), irrigation.getRetryCount());
 
             // Send failure notification email
-            try {
-                emailNotificationService.sendIrrigationFailedNotification(
-                    irrigation,
-                    "Maximum retry attempts exceeded. Last error: " + exception.getMessage()
-                );
-            } catch (Exception emailEx) {
-                log.error("Failed to send irrigation failed notification email", emailEx);
-            }
+            emailNotificationService.sendIrrigationFailedNotification(
+                irrigation,
+                "Maximum retry attempts exceeded. Last error: " + exception.getMessage()
+            );
         } else {
             // Set back to SCHEDULED for retry with fixed delay
             irrigation.setStatus(IrrigationStatus.SCHEDULED);
@@ -136,6 +181,7 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
         }
 
         irrigationRepository.save(irrigation);
+        irrigationDueIndex.track(irrigation);
     }
 
     @Override
@@ -170,6 +216,8 @@ public class IrrigationExecutionServiceImpl implements IrrigationExecutionServic
             parcelRepository.save(irrigatedParcel);
 
             irrigationRepository.save(irrigation);
+            usageRollupService.recordFinished(irrigation);
+            irrigationDueIndex.track(irrigation);
 
             log.info("Successfully stopped irrigation ID: {}", irrigationId);
 
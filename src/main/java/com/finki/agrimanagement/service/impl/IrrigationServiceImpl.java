@@ -2,6 +2,7 @@ package com.finki.agrimanagement.service.impl;
 
 import com.finki.agrimanagement.dto.request.IrrigationRequestDTO;
 import com.finki.agrimanagement.dto.response.IrrigationResponseDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.entity.Farm;
 import com.finki.agrimanagement.entity.Irrigation;
 import com.finki.agrimanagement.entity.Parcel;
@@ -12,7 +13,11 @@ import com.finki.agrimanagement.mapper.IrrigationMapper;
 import com.finki.agrimanagement.repository.FarmRepository;
 import com.finki.agrimanagement.repository.IrrigationRepository;
 import com.finki.agrimanagement.repository.ParcelRepository;
+import com.finki.agrimanagement.scheduler.IrrigationDueIndex;
+import com.finki.agrimanagement.service.EmailNotificationService;
 import com.finki.agrimanagement.service.IrrigationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,22 +28,41 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 @Transactional(readOnly = true)
 public class IrrigationServiceImpl implements IrrigationService {
 
+    /**
+     * Order in which irrigation lists show the statuses, the ones needing attention first
+     */
+    private static final List<IrrigationStatus> STATUS_PRIORITY = List.of(
+            IrrigationStatus.IN_PROGRESS,
+            IrrigationStatus.RETRYING,
+            IrrigationStatus.SCHEDULED,
+            IrrigationStatus.FAILED,
+            IrrigationStatus.STOPPED,
+            IrrigationStatus.CANCELLED,
+            IrrigationStatus.COMPLETED);
+
     private final IrrigationRepository irrigationRepository;
     private final ParcelRepository parcelRepository;
     private final FarmRepository farmRepository;
     private final IrrigationMapper irrigationMapper;
+    private final IrrigationDueIndex irrigationDueIndex;
+    private final EmailNotificationService emailNotificationService;
 
     public IrrigationServiceImpl(IrrigationRepository irrigationRepository,
                                  ParcelRepository parcelRepository,
                                  FarmRepository farmRepository,
-                                 IrrigationMapper irrigationMapper) {
+                                 IrrigationMapper irrigationMapper,
+                                 IrrigationDueIndex irrigationDueIndex,
+                                 EmailNotificationService emailNotificationService) {
         this.irrigationRepository = irrigationRepository;
         this.parcelRepository = parcelRepository;
         this.farmRepository = farmRepository;
         this.irrigationMapper = irrigationMapper;
+        this.irrigationDueIndex = irrigationDueIndex;
+        this.emailNotificationService = emailNotificationService;
     }
 
     @Override
@@ -58,16 +82,36 @@ public class IrrigationServiceImpl implements IrrigationService {
         }
 
         Irrigation saved = irrigationRepository.save(irrigation);
+        irrigationDueIndex.track(saved);
         return irrigationMapper.toDTO(saved);
     }
 
+    /**
+     * One page of all irrigations, ordered by status priority, then scheduled time, then id.
+     * Each status is read as its own index range, continuing after the cursor's status, time and id.
+     */
     @Override
-    public List<IrrigationResponseDTO> getAllIrrigations() {
-        return irrigationRepository.findAll().stream()
-                .sorted(Comparator.comparingInt((Irrigation i) -> getStatusPriority(i.getStatus()))
-                        .thenComparing(Irrigation::getScheduledDatetime))
-                .map(irrigationMapper::toDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<IrrigationResponseDTO> getAllIrrigations(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, 3);
+        int firstStatus = after != null ? STATUS_PRIORITY.indexOf(after.getEnum(0, IrrigationStatus.class)) : 0;
+
+        List<Irrigation> page = new ArrayList<>(pageSize + 1);
+        for (int i = firstStatus; i < STATUS_PRIORITY.size() && page.size() <= pageSize; i++) {
+            IrrigationStatus status = STATUS_PRIORITY.get(i);
+            Limit limit = Limit.of(pageSize + 1 - page.size());
+            page.addAll(after != null && i == firstStatus
+                    ? irrigationRepository.findPageByStatusAfter(status, after.getDateTime(1), after.getLong(2), limit)
+                    : irrigationRepository.findPageByStatus(status, limit));
+        }
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            Irrigation last = page.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getStatus(), last.getScheduledDatetime(), last.getId());
+        }
+        return new PageResponseDTO<>(page.stream().map(irrigationMapper::toDTO).toList(), nextCursor);
     }
 
     @Override
@@ -96,6 +140,7 @@ public class IrrigationServiceImpl implements IrrigationService {
         }
 
         Irrigation updated = irrigationRepository.save(irrigation);
+        irrigationDueIndex.track(updated);
         return irrigationMapper.toDTO(updated);
     }
 
@@ -106,6 +151,7 @@ public class IrrigationServiceImpl implements IrrigationService {
             throw new ResourceNotFoundException("Irrigation not found with id: " + id);
         }
         irrigationRepository.deleteById(id);
+        irrigationDueIndex.untrack(id);
     }
 
     @Override
@@ -177,12 +223,68 @@ public class IrrigationServiceImpl implements IrrigationService {
         irrigation.setStatusDescription(getDefaultStatusDescription(newStatus));
 
         Irrigation updated = irrigationRepository.save(irrigation);
+        irrigationDueIndex.track(updated);
         return irrigationMapper.toDTO(updated);
     }
 
+    /**
+     * Mark up to the given number of SCHEDULED or RETRYING irrigations due before the deadline as failed
+     * and queue their failure notifications. Irrigations claimed for execution are left to their executor.
+     * The irrigations are locked with SKIP LOCKED and moved to FAILED
+     * in one bulk update; only those are then loaded, and their outbox rows join the same transaction,
+     * so no irrigation is failed without its notification.
+     *
+     * @return the ids of the irrigations marked as failed
+     */
     @Override
-    public List<Irrigation> getIrrigationsDueBeforeByStatus(LocalDateTime dateTime, IrrigationStatus status) {
-        return irrigationRepository.findByStatusAndScheduledDatetimeBefore(status, dateTime);
+    @Transactional
+    public List<Long> markOverdueAsFailed(LocalDateTime deadline, int limit, String reason) {
+        List<Long> overdueIds = irrigationRepository.lockOverdueIds(deadline, LocalDateTime.now(), limit);
+        if (overdueIds.isEmpty()) {
+            return overdueIds;
+        }
+        irrigationRepository.updateStatusByIdIn(overdueIds, IrrigationStatus.FAILED,
+                getDefaultStatusDescription(IrrigationStatus.FAILED), LocalDateTime.now());
+        overdueIds.forEach(irrigationDueIndex::untrack);
+
+        for (Irrigation irrigation : irrigationRepository.findAllWithParcelByIdIn(overdueIds)) {
+            log.warn("Marked irrigation ID: {} as FAILED ({}, {} retry attempts)",
+                    irrigation.getId(), reason, irrigation.getRetryCount());
+            emailNotificationService.sendIrrigationFailedNotification(irrigation, reason);
+        }
+        return overdueIds;
+    }
+
+    /**
+     * Postpone a claimed irrigation by the given number of hours and queue its postponement notification
+     * in the same transaction. The irrigation is locked and only postponed if it is still pending and still
+     * holds the given claim, so a stale claim cannot move an irrigation another instance has taken over.
+     * The claim is released, so the irrigation is claimed again when it is due.
+     *
+     * @return whether the irrigation was postponed
+     */
+    @Override
+    @Transactional
+    public boolean postponeClaimedIrrigation(Long irrigationId, String claimToken, int hours, String reason) {
+        Irrigation irrigation = irrigationRepository.findByIdForUpdate(irrigationId).orElse(null);
+        boolean pending = irrigation != null && (irrigation.getStatus() == IrrigationStatus.SCHEDULED ||
+                irrigation.getStatus() == IrrigationStatus.RETRYING);
+        if (!pending || !claimToken.equals(irrigation.getClaimToken())) {
+            log.info("Not postponing irrigation ID: {}, it is no longer pending or no longer claimed by this instance",
+                    irrigationId);
+            return false;
+        }
+
+        irrigation.setScheduledDatetime(irrigation.getScheduledDatetime().plusHours(hours));
+        irrigation.setStatusDescription("Postponed by " + hours + " hours - " + reason);
+        irrigation.setUpdatedAt(LocalDateTime.now());
+        irrigation.setClaimToken(null);
+        irrigation.setClaimedUntil(null);
+        Irrigation postponed = irrigationRepository.save(irrigation);
+        irrigationDueIndex.track(postponed);
+
+        emailNotificationService.sendIrrigationPostponedNotification(postponed, reason);
+        return true;
     }
 
     /**
@@ -204,14 +306,6 @@ public class IrrigationServiceImpl implements IrrigationService {
      * Get priority for irrigation status
      */
     private int getStatusPriority(IrrigationStatus status) {
-        return switch (status) {
-            case IN_PROGRESS -> 1;
-            case RETRYING -> 2;
-            case SCHEDULED -> 3;
-            case FAILED -> 4;
-            case STOPPED -> 5;
-            case CANCELLED -> 6;
-            case COMPLETED -> 7;
-        };
+        return STATUS_PRIORITY.indexOf(status);
     }
 }
@@ -0,0 +1,53 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.repository.IrrigationDailyUsageRepository;
+import com.finki.agrimanagement.service.IrrigationUsageRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+@Slf4j
+public class IrrigationUsageRollupServiceImpl implements IrrigationUsageRollupService {
+
+    private final IrrigationDailyUsageRepository dailyUsageRepository;
+
+    public IrrigationUsageRollupServiceImpl(IrrigationDailyUsageRepository dailyUsageRepository) {
+        this.dailyUsageRepository = dailyUsageRepository;
+    }
+
+    /**
+     * Joins the caller's transaction, so the usage changes together with the irrigation status
+     */
+    @Override
+    @Transactional
+    public void recordFinished(Irrigation irrigation) {
+        IrrigationStatus status = irrigation.getStatus();
+        if (status != IrrigationStatus.COMPLETED && status != IrrigationStatus.STOPPED) {
+            throw new IllegalArgumentException("Only completed or stopped irrigations are rolled up, got: " + status);
+        }
+
+        dailyUsageRepository.addUsage(
+                irrigation.getParcel().getId(),
+                irrigation.getFinishedDatetime().toLocalDate(),
+                status.name(),
+                irrigation.getWaterAmountLiters() != null ? irrigation.getWaterAmountLiters() : 0,
+                irrigation.getDurationMinutes() != null ? irrigation.getDurationMinutes() : 0);
+    }
+
+    /**
+     * Deletes and re-inserts the rows in one transaction, so readers see either the old or the new figures
+     */
+    @Override
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        dailyUsageRepository.deleteByUsageDateRange(from, to);
+        int rows = dailyUsageRepository.insertFromIrrigations(from.atStartOfDay(), to.atStartOfDay());
+        log.debug("Rebuilt {} daily irrigation usage row(s) from {} to {}", rows, from, to);
+        return rows;
+    }
+}
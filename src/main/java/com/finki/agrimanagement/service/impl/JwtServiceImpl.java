@@ -2,6 +2,7 @@ package com.finki.agrimanagement.service.impl;
 
 import com.finki.agrimanagement.service.JwtService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -18,14 +19,22 @@ import java.util.function.Function;
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.access-token.expiration}")
-    private long accessTokenExpiration;
-
-    @Value("${jwt.refresh-token.expiration}")
-    private long refreshTokenExpiration;
+    private final long accessTokenExpiration;
+    private final long refreshTokenExpiration;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtServiceImpl(@Value("${jwt.secret}") String secret,
+                          @Value("${jwt.access-token.expiration}") long accessTokenExpiration,
+                          @Value("${jwt.refresh-token.expiration}") long refreshTokenExpiration,
+                          VerifiedTokenCache tokenCache) {
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.tokenCache = tokenCache;
+    }
 
     @Override
     public String extractUsername(String token) {
@@ -63,38 +72,26 @@ public class JwtServiceImpl implements JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername())) && !claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Claims extractAllClaims(String token) {
+        return tokenCache.get(token, this::verify);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
+    private Claims verify(String token) {
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     @Override
     public long getAccessTokenExpiration() {
         return accessTokenExpiration;
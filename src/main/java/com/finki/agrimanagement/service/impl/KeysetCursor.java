@@ -0,0 +1,90 @@
+package com.finki.agrimanagement.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor of a keyset-paginated list: the sort key of the last row of a page, encoded so clients
+ * treat it as a token. The next page continues strictly after that key, so rows inserted or deleted
+ * meanwhile never shift it and no row is skipped or returned twice.
+ */
+final class KeysetCursor {
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SEPARATOR = "|";
+
+    private final String[] parts;
+
+    private KeysetCursor(String[] parts) {
+        this.parts = parts;
+    }
+
+    static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (Object key : keys) {
+            if (!raw.isEmpty()) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor made of the given number of keys, or return null if there is none
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static KeysetCursor decode(String cursor, int keyCount) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != keyCount) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new KeysetCursor(parts);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    /**
+     * Validate the requested page size and cap it at the maximum
+     */
+    static int pageSize(int requested) {
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    long getLong(int index) {
+        try {
+            return Long.parseLong(parts[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    LocalDateTime getDateTime(int index) {
+        try {
+            return LocalDateTime.parse(parts[index]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    <E extends Enum<E>> E getEnum(int index, Class<E> type) {
+        try {
+            return Enum.valueOf(type, parts[index]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.finki.agrimanagement.service.impl;
 
 import com.finki.agrimanagement.dto.request.ParcelRequestDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.dto.response.ParcelResponseDTO;
 import com.finki.agrimanagement.dto.weather.CurrentWeatherResponseDTO;
 import com.finki.agrimanagement.dto.weather.ParcelWeatherDTO;
@@ -16,6 +17,7 @@ import com.finki.agrimanagement.repository.ParcelRepository;
 import com.finki.agrimanagement.service.ParcelService;
 import com.finki.agrimanagement.service.WeatherService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -63,11 +65,23 @@ public class ParcelServiceImpl implements ParcelService {
         return parcelMapper.toDTO(saved);
     }
 
+    /**
+     * One page of all parcels ordered by id, continuing after the cursor's id
+     */
     @Override
-    public List<ParcelResponseDTO> getAllParcels() {
-        return parcelRepository.findAll().stream()
-                .map(parcelMapper::toDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<ParcelResponseDTO> getAllParcels(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, 1);
+
+        List<Parcel> page = parcelRepository.findPageAfter(after != null ? after.getLong(0) : 0L,
+                Limit.of(pageSize + 1));
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(page.get(pageSize - 1).getId());
+        }
+        return new PageResponseDTO<>(page.stream().map(parcelMapper::toDTO).toList(), nextCursor);
     }
 
     @Override
@@ -0,0 +1,113 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows as CSV or newline-delimited JSON directly to an output stream.
+ * Output is flushed every few rows, so the client receives data in chunks while rows are
+ * still being read, and a slow client simply blocks the writer.
+ */
+class TextExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final String[] fields;
+    private final int flushEveryRows;
+    private final Writer writer;
+    private final JsonGenerator jsonGenerator;
+    private int pendingRows;
+
+    TextExportWriter(ExportFormat format, String[] fields, OutputStream out,
+                     ObjectMapper objectMapper, int flushEveryRows) throws IOException {
+        if (format == ExportFormat.XLSX) {
+            throw new IllegalArgumentException("XLSX exports are written as workbooks, not text");
+        }
+        this.format = format;
+        this.fields = fields;
+        this.flushEveryRows = flushEveryRows;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.NDJSON) {
+            this.jsonGenerator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.jsonGenerator = null;
+            writeCsvLine(fields);
+        }
+    }
+
+    void writeRow(Object... values) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            jsonGenerator.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                jsonGenerator.writeFieldName(fields[i]);
+                writeJsonValue(values[i]);
+            }
+            jsonGenerator.writeEndObject();
+            jsonGenerator.writeRaw('\n');
+        } else {
+            writeCsvLine(values);
+        }
+
+        if (++pendingRows >= flushEveryRows) {
+            flush();
+        }
+    }
+
+    /**
+     * Flush the remaining rows; the underlying stream is left open
+     */
+    void finish() throws IOException {
+        flush();
+    }
+
+    private void flush() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.flush();
+        }
+        writer.flush();
+        pendingRows = 0;
+    }
+
+    private void writeJsonValue(Object value) throws IOException {
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else if (value instanceof Number number) {
+            jsonGenerator.writeNumber(number.toString());
+        } else {
+            jsonGenerator.writeString(toText(value));
+        }
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(toText(values[i])));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String toText(Object value) {
+        // LocalDateTime.toString is ISO-8601, so loaders can parse dates without knowing the report format
+        return String.valueOf(value);
+    }
+
+    private static String escapeCsv(String value) {
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return needsQuoting ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
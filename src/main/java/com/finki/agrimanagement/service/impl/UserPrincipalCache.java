@@ -0,0 +1,176 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.UserCacheConfig;
+import com.finki.agrimanagement.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the users that authenticated requests are resolved to, so polling clients do not read
+ * the users table on every call. Entries expire after a short TTL and are evicted as soon as a user
+ * is disabled, deleted or has their role changed. Every request gets its own copy of the user.
+ * <p>
+ * Eviction only reaches the cache of the replica that made the change, so other replicas may keep
+ * serving the old user until their entry expires. {@code security.user-cache.ttl} is the bound on
+ * that staleness and should stay short.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserCacheConfig cacheConfig;
+    private final Map<String, CachedUser> entries;
+
+    /**
+     * Generation at which each key was last evicted. Only the most recent evictions are kept,
+     * keys that fall out are treated as evicted at {@link #forgottenGeneration}.
+     */
+    private final Map<String, Long> evictedAt;
+    private long generation;
+    private long forgottenGeneration;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserPrincipalCache(UserCacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.cacheConfig = cacheConfig;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > cacheConfig.getMaxEntries();
+            }
+        };
+        this.evictedAt = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= cacheConfig.getMaxEntries()) {
+                    return false;
+                }
+                forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue());
+                return true;
+            }
+        };
+
+        FunctionCounter.builder("security.user-cache.hits", hits, AtomicLong::get)
+                .description("Authenticated requests served a cached user")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.user-cache.misses", misses, AtomicLong::get)
+                .description("Authenticated requests that read the user from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the user with the given email, calling the loader when the user is not cached or has expired.
+     * Exceptions thrown by the loader are passed on and nothing is cached. A user loaded while the
+     * same email was evicted is returned but not cached, since it may have been read before the change.
+     */
+    public User get(String email, Function<String, User> loader) {
+        if (!cacheConfig.isEnabled()) {
+            return loader.apply(email);
+        }
+
+        User cached = lookup(email);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return copyOf(cached);
+        }
+
+        misses.incrementAndGet();
+        long loadedAt;
+        synchronized (entries) {
+            loadedAt = generation;
+        }
+        User user = loader.apply(email);
+        long expiresAtNanos = System.nanoTime() + cacheConfig.getTtl().toNanos();
+        synchronized (entries) {
+            if (evictionGeneration(email) <= loadedAt) {
+                entries.put(email, new CachedUser(copyOf(user), expiresAtNanos));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Evict the user now and, when called inside a transaction, once more after it commits,
+     * so a request reading the user before the commit cannot put the old state back.
+     */
+    public void evict(String email) {
+        remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private User lookup(String email) {
+        synchronized (entries) {
+            CachedUser cached = entries.get(email);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.expiresAtNanos() >= 0) {
+                entries.remove(email);
+                return null;
+            }
+            return cached.user();
+        }
+    }
+
+    private void remove(String email) {
+        synchronized (entries) {
+            entries.remove(email);
+            evictedAt.put(email, ++generation);
+        }
+    }
+
+    private long evictionGeneration(String email) {
+        return evictedAt.getOrDefault(email, forgottenGeneration);
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .enabled(user.getEnabled())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    private record CachedUser(User user, long expiresAtNanos) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.finki.agrimanagement.service.impl;
 
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
 import com.finki.agrimanagement.dto.response.UserResponseDTO;
 import com.finki.agrimanagement.entity.User;
 import com.finki.agrimanagement.exception.ResourceNotFoundException;
@@ -7,11 +8,11 @@ import com.finki.agrimanagement.mapper.UserMapper;
 import com.finki.agrimanagement.repository.UserRepository;
 import com.finki.agrimanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,13 +20,25 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserPrincipalCache userPrincipalCache;
 
+    /**
+     * One page of all users ordered by id, continuing after the cursor's id
+     */
     @Override
-    public List<UserResponseDTO> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(userMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public PageResponseDTO<UserResponseDTO> getAllUsers(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, 1);
+
+        List<User> page = userRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after.getLong(0) : 0L,
+                Limit.of(pageSize + 1));
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(page.get(pageSize - 1).getId());
+        }
+        return new PageResponseDTO<>(page.stream().map(userMapper::toResponseDTO).toList(), nextCursor);
     }
 
     @Override
@@ -38,10 +51,10 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userRepository.delete(user);
+        userPrincipalCache.evict(user.getEmail());
     }
 
     @Override
@@ -51,6 +64,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         user.setEnabled(!user.getEnabled());
         userRepository.save(user);
+        userPrincipalCache.evict(user.getEmail());
         return userMapper.toResponseDTO(user);
     }
 }
@@ -0,0 +1,103 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.JwtCacheConfig;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the claims of tokens whose signature has already been verified, keyed by the SHA-256 of the token
+ * so raw tokens are never kept in memory. An entry expires together with its token and the least recently
+ * used tokens are evicted once the cache is full.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtCacheConfig cacheConfig;
+    private final Map<String, Claims> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VerifiedTokenCache(JwtCacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > cacheConfig.getMaxEntries();
+            }
+        };
+    }
+
+    /**
+     * Return the verified claims of the token, calling the verifier only when the token is not cached
+     * or has expired. Exceptions thrown by the verifier are passed on and nothing is cached.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        if (!cacheConfig.isEnabled()) {
+            return verifier.apply(token);
+        }
+
+        String key = hash(token);
+        Claims cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        Claims claims = verifier.apply(token);
+        if (claims.getExpiration() != null) {
+            synchronized (entries) {
+                entries.put(key, claims);
+            }
+        }
+        return claims;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Claims lookup(String key) {
+        synchronized (entries) {
+            Claims cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (!cached.getExpiration().after(new Date())) {
+                entries.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
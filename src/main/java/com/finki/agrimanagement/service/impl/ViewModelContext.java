@@ -0,0 +1,77 @@
+package com.finki.agrimanagement.service.impl;
+
+import org.thymeleaf.context.IContext;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Thymeleaf context exposing the components of a view model record as template variables.
+ * Accessors are looked up once per record type, and one context can be reused for many
+ * renders by swapping the model between them.
+ */
+class ViewModelContext implements IContext {
+
+    private static final ClassValue<Map<String, Method>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+            if (!type.isRecord()) {
+                throw new IllegalArgumentException(type.getName() + " is not a record");
+            }
+            Map<String, Method> accessors = new LinkedHashMap<>();
+            for (RecordComponent component : type.getRecordComponents()) {
+                Method accessor = component.getAccessor();
+                accessor.setAccessible(true);
+                accessors.put(component.getName(), accessor);
+            }
+            return Collections.unmodifiableMap(accessors);
+        }
+    };
+
+    private final Locale locale;
+    private Object model;
+    private Map<String, Method> accessors = Map.of();
+
+    ViewModelContext(Locale locale) {
+        this.locale = locale;
+    }
+
+    void setModel(Object model) {
+        this.model = model;
+        this.accessors = ACCESSORS.get(model.getClass());
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public boolean containsVariable(String name) {
+        return accessors.containsKey(name);
+    }
+
+    @Override
+    public Set<String> getVariableNames() {
+        return accessors.keySet();
+    }
+
+    @Override
+    public Object getVariable(String name) {
+        Method accessor = accessors.get(name);
+        if (accessor == null) {
+            return null;
+        }
+        try {
+            return accessor.invoke(model);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read " + name + " from " + model.getClass().getSimpleName(), e);
+        }
+    }
+}
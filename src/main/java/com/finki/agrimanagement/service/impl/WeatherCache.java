@@ -0,0 +1,256 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.WeatherCacheConfig;
+import com.finki.agrimanagement.dto.weather.CoordDTO;
+import com.finki.agrimanagement.dto.weather.CurrentWeatherResponseDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Caches current weather per lat/lon grid cell, so neighbouring parcels share one OpenWeather call.
+ * Entries expire after the configured TTL and the least recently used cells are evicted once
+ * the cache is full. Concurrent misses for the same cell wait for a single upstream call.
+ */
+@Component
+public class WeatherCache {
+
+    private final WeatherCacheConfig cacheConfig;
+    private final Map<CellKey, CachedWeather> entries;
+    private final Map<CellKey, CompletableFuture<CurrentWeatherResponseDTO>> pendingLoads = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public WeatherCache(WeatherCacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.cacheConfig = cacheConfig;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellKey, CachedWeather> eldest) {
+                return size() > cacheConfig.getMaxEntries();
+            }
+        };
+
+        FunctionCounter.builder("weather.cache.hits", hits, AtomicLong::get)
+                .description("Weather lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.cache.misses", misses, AtomicLong::get)
+                .description("Weather lookups that called OpenWeather")
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.cache.coalesced", coalesced, AtomicLong::get)
+                .description("Weather lookups that waited for another lookup of the same cell")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached weather for the grid cell containing the coordinates, loading it when missing or expired.
+     * The loader is called with the coordinates of the cell center.
+     */
+    public CurrentWeatherResponseDTO get(Double latitude,
+                                         Double longitude,
+                                         BiFunction<Double, Double, CurrentWeatherResponseDTO> loader) {
+        if (!cacheConfig.isEnabled()) {
+            return loader.apply(latitude, longitude);
+        }
+
+        CellKey key = cellOf(latitude, longitude);
+        CurrentWeatherResponseDTO cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<CurrentWeatherResponseDTO> load = new CompletableFuture<>();
+        CompletableFuture<CurrentWeatherResponseDTO> pending = pendingLoads.putIfAbsent(key, load);
+        if (pending != null) {
+            coalesced.incrementAndGet();
+            return await(pending);
+        }
+
+        try {
+            // Another load for this cell may have finished between the lookup and claiming the cell
+            CurrentWeatherResponseDTO weather = lookup(key);
+            if (weather != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                weather = loader.apply(key.centerLatitude(cacheConfig), key.centerLongitude(cacheConfig));
+                store(key, weather);
+            }
+            load.complete(weather);
+            return weather;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingLoads.remove(key, load);
+        }
+    }
+
+    /**
+     * Return the weather for each of the given locations, loading all missing cells with a single call
+     * to the bulk loader. The bulk loader is called with the cell centers and may leave out cells it
+     * could not load; locations in such cells are mapped to null.
+     */
+    public Map<CoordDTO, CurrentWeatherResponseDTO> getAll(
+            Collection<CoordDTO> locations,
+            Function<Collection<CoordDTO>, Map<CoordDTO, CurrentWeatherResponseDTO>> bulkLoader) {
+        if (!cacheConfig.isEnabled()) {
+            return bulkLoader.apply(new HashSet<>(locations));
+        }
+
+        Map<CellKey, List<CoordDTO>> locationsByCell = new HashMap<>();
+        for (CoordDTO location : locations) {
+            locationsByCell.computeIfAbsent(cellOf(location.getLat(), location.getLon()), key -> new ArrayList<>())
+                    .add(location);
+        }
+
+        Map<CellKey, CurrentWeatherResponseDTO> weatherByCell = new HashMap<>();
+        Map<CellKey, CompletableFuture<CurrentWeatherResponseDTO>> claimed = new HashMap<>();
+        Map<CellKey, CompletableFuture<CurrentWeatherResponseDTO>> awaited = new HashMap<>();
+        for (CellKey key : locationsByCell.keySet()) {
+            CurrentWeatherResponseDTO cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                weatherByCell.put(key, cached);
+                continue;
+            }
+            CompletableFuture<CurrentWeatherResponseDTO> load = new CompletableFuture<>();
+            CompletableFuture<CurrentWeatherResponseDTO> pending = pendingLoads.putIfAbsent(key, load);
+            if (pending != null) {
+                coalesced.incrementAndGet();
+                awaited.put(key, pending);
+            } else {
+                misses.incrementAndGet();
+                claimed.put(key, load);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            try {
+                Map<CellKey, CoordDTO> centers = new HashMap<>();
+                claimed.keySet().forEach(key -> centers.put(key, key.center(cacheConfig)));
+                Map<CoordDTO, CurrentWeatherResponseDTO> loaded = bulkLoader.apply(centers.values());
+                claimed.forEach((key, load) -> {
+                    CurrentWeatherResponseDTO weather = loaded.get(centers.get(key));
+                    store(key, weather);
+                    weatherByCell.put(key, weather);
+                    load.complete(weather);
+                });
+            } catch (RuntimeException e) {
+                claimed.values().forEach(load -> load.completeExceptionally(e));
+                throw e;
+            } finally {
+                claimed.forEach(pendingLoads::remove);
+            }
+        }
+
+        awaited.forEach((key, pending) -> {
+            try {
+                weatherByCell.put(key, await(pending));
+            } catch (RuntimeException e) {
+                weatherByCell.put(key, null);
+            }
+        });
+
+        Map<CoordDTO, CurrentWeatherResponseDTO> weatherByLocation = new HashMap<>();
+        locationsByCell.forEach((key, cellLocations) ->
+                cellLocations.forEach(location -> weatherByLocation.put(location, weatherByCell.get(key))));
+        return weatherByLocation;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CurrentWeatherResponseDTO lookup(CellKey key) {
+        synchronized (entries) {
+            CachedWeather cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return cached.weather();
+        }
+    }
+
+    private void store(CellKey key, CurrentWeatherResponseDTO weather) {
+        if (weather == null) {
+            return;
+        }
+        long expiresAtNanos = System.nanoTime() + cacheConfig.getTtl().toNanos();
+        synchronized (entries) {
+            entries.put(key, new CachedWeather(weather, expiresAtNanos));
+        }
+    }
+
+    private CellKey cellOf(Double latitude, Double longitude) {
+        double cellSize = cacheConfig.getCellSizeDegrees();
+        return new CellKey((long) Math.floor(latitude / cellSize), (long) Math.floor(longitude / cellSize));
+    }
+
+    private static CurrentWeatherResponseDTO await(CompletableFuture<CurrentWeatherResponseDTO> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CellKey(long latitudeIndex, long longitudeIndex) {
+
+        double centerLatitude(WeatherCacheConfig config) {
+            return center(latitudeIndex, config.getCellSizeDegrees());
+        }
+
+        double centerLongitude(WeatherCacheConfig config) {
+            return center(longitudeIndex, config.getCellSizeDegrees());
+        }
+
+        CoordDTO center(WeatherCacheConfig config) {
+            return new CoordDTO(centerLongitude(config), centerLatitude(config));
+        }
+
+        private static double center(long index, double cellSize) {
+            return Math.round((index + 0.5) * cellSize * 1_000_000) / 1_000_000.0;
+        }
+    }
+
+    private record CachedWeather(CurrentWeatherResponseDTO weather, long expiresAtNanos) {
+    }
+}
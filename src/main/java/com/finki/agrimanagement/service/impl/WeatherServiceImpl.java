@@ -1,12 +1,23 @@
 package com.finki.agrimanagement.service.impl;
 
+import com.finki.agrimanagement.dto.weather.CoordDTO;
 import com.finki.agrimanagement.dto.weather.CurrentWeatherResponseDTO;
 import com.finki.agrimanagement.dto.weather.RainCheckResultDTO;
 import com.finki.agrimanagement.service.WeatherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -14,91 +25,181 @@ public class WeatherServiceImpl implements WeatherService {
 
     private final WebClient webClient;
     private final String apiKey;
+    private final WeatherCache weatherCache;
+    private final int maxConcurrentRequests;
+    private final Duration requestTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Timer successfulRequests;
+    private final Timer failedRequests;
+    private final Counter fallbacks;
 
     public WeatherServiceImpl(
             WebClient.Builder webClientBuilder,
             @Value("${openweather.api.base-url}") String baseUrl,
-            @Value("${openweather.api.key}") String apiKey) {
+            @Value("${openweather.api.key}") String apiKey,
+            @Value("${openweather.api.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${openweather.api.request-timeout}") Duration requestTimeout,
+            WeatherCache weatherCache,
+            MeterRegistry meterRegistry) {
         this.webClient = webClientBuilder.baseUrl(baseUrl).build();
         this.apiKey = apiKey;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.requestTimeout = requestTimeout;
+        this.weatherCache = weatherCache;
+        this.meterRegistry = meterRegistry;
+        this.successfulRequests = requestTimer("success");
+        this.failedRequests = requestTimer("error");
+        this.fallbacks = Counter.builder("weather.fallbacks")
+                .description("Rain checks answered with the fallback because the weather was unavailable")
+                .register(meterRegistry);
     }
 
     @Override
     public RainCheckResultDTO checkRainConditions(Double latitude, Double longitude) {
         try {
             CurrentWeatherResponseDTO weather = getCurrentWeather(latitude, longitude);
-
-            // Check if currently raining (weather condition contains "rain")
-            boolean isRaining = weather.getWeather() != null &&
-                    weather.getWeather().stream()
-                            .anyMatch(w ->
-                                (w.getMain() != null && w.getMain().toLowerCase().contains("rain")) ||
-                                (w.getDescription() != null && w.getDescription().toLowerCase().contains("rain"))
-                            );
-
-            // Check if significant rain expected in next hour (> 0.5mm)
-            boolean willRainInOneHour = weather.getRain() != null &&
-                    weather.getRain().getOneHour() != null &&
-                    weather.getRain().getOneHour() > 0.5;
-
-            String recommendation;
-            String details;
-
-            if (isRaining) {
-                recommendation = "SKIP_IRRIGATION";
-                details = "Currently raining at location";
-            } else if (willRainInOneHour) {
-                recommendation = "SKIP_IRRIGATION";
-                double rainAmount = weather.getRain().getOneHour();
-                details = String.format("Significant rain expected in next hour (%.2fmm)", rainAmount);
-            } else {
-                recommendation = "PROCEED_WITH_IRRIGATION";
-                details = "No rain currently and none expected in next hour";
-            }
-
-            log.info("Rain check for coordinates ({}, {}): isRaining={}, willRainInOneHour={}, recommendation={}",
-                    latitude, longitude, isRaining, willRainInOneHour, recommendation);
-
-            return RainCheckResultDTO.builder()
-                    .latitude(latitude)
-                    .longitude(longitude)
-                    .isRaining(isRaining)
-                    .rainExpectedInOneHour(willRainInOneHour)
-                    .recommendation(recommendation)
-                    .details(details)
-                    .build();
-
+            return evaluateRainConditions(latitude, longitude, weather);
         } catch (Exception e) {
             log.error("Failed to fetch weather data for coordinates ({}, {}): {}",
                     latitude, longitude, e.getMessage());
+            return weatherCheckFailed(latitude, longitude);
+        }
+    }
 
-            // On error, recommend proceeding with irrigation
-            return RainCheckResultDTO.builder()
-                    .latitude(latitude)
-                    .longitude(longitude)
-                    .isRaining(false)
-                    .rainExpectedInOneHour(false)
-                    .recommendation("PROCEED_WITH_IRRIGATION")
-                    .details("Weather check failed - proceeding with irrigation")
-                    .build();
+    @Override
+    public Map<CoordDTO, RainCheckResultDTO> checkRainConditions(Collection<CoordDTO> locations) {
+        Map<CoordDTO, CurrentWeatherResponseDTO> weatherByLocation;
+        try {
+            weatherByLocation = weatherCache.getAll(locations, this::fetchCurrentWeather);
+        } catch (Exception e) {
+            log.error("Failed to fetch weather data for {} location(s): {}", locations.size(), e.getMessage());
+            weatherByLocation = Map.of();
+        }
+
+        Map<CoordDTO, RainCheckResultDTO> results = new HashMap<>();
+        for (CoordDTO location : locations) {
+            CurrentWeatherResponseDTO weather = weatherByLocation.get(location);
+            results.put(location, weather != null
+                    ? evaluateRainConditions(location.getLat(), location.getLon(), weather)
+                    : weatherCheckFailed(location.getLat(), location.getLon()));
         }
+        return results;
     }
 
     @Override
     public CurrentWeatherResponseDTO getCurrentWeather(Double latitude, Double longitude) {
-        log.info("Fetching current weather for coordinates: ({}, {})", latitude, longitude);
+        return weatherCache.get(latitude, longitude, (lat, lon) ->
+                requestCurrentWeather(lat, lon).timeout(requestTimeout).block());
+    }
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/weather")
-                        .queryParam("lat", latitude)
-                        .queryParam("lon", longitude)
-                        .queryParam("appid", apiKey)
-                        .queryParam("units", "metric")
-                        .build())
-                .retrieve()
-                .bodyToMono(CurrentWeatherResponseDTO.class)
+    /**
+     * Decide whether irrigation should be skipped based on the current weather at the location
+     */
+    private RainCheckResultDTO evaluateRainConditions(Double latitude, Double longitude,
+                                                      CurrentWeatherResponseDTO weather) {
+        // Check if currently raining (weather condition contains "rain")
+        boolean isRaining = weather.getWeather() != null &&
+                weather.getWeather().stream()
+                        .anyMatch(w ->
+                            (w.getMain() != null && w.getMain().toLowerCase().contains("rain")) ||
+                            (w.getDescription() != null && w.getDescription().toLowerCase().contains("rain"))
+                        );
+
+        // Check if significant rain expected in next hour (> 0.5mm)
+        boolean willRainInOneHour = weather.getRain() != null &&
+                weather.getRain().getOneHour() != null &&
+                weather.getRain().getOneHour() > 0.5;
+
+        String recommendation;
+        String details;
+
+        if (isRaining) {
+            recommendation = "SKIP_IRRIGATION";
+            details = "Currently raining at location";
+        } else if (willRainInOneHour) {
+            recommendation = "SKIP_IRRIGATION";
+            double rainAmount = weather.getRain().getOneHour();
+            details = String.format("Significant rain expected in next hour (%.2fmm)", rainAmount);
+        } else {
+            recommendation = "PROCEED_WITH_IRRIGATION";
+            details = "No rain currently and none expected in next hour";
+        }
+
+        log.info("Rain check for coordinates ({}, {}): isRaining={}, willRainInOneHour={}, recommendation={}",
+                latitude, longitude, isRaining, willRainInOneHour, recommendation);
+
+        return RainCheckResultDTO.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .isRaining(isRaining)
+                .rainExpectedInOneHour(willRainInOneHour)
+                .recommendation(recommendation)
+                .details(details)
+                .build();
+    }
+
+    /**
+     * On error, recommend proceeding with irrigation
+     */
+    private RainCheckResultDTO weatherCheckFailed(Double latitude, Double longitude) {
+        fallbacks.increment();
+        return RainCheckResultDTO.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .isRaining(false)
+                .rainExpectedInOneHour(false)
+                .recommendation("PROCEED_WITH_IRRIGATION")
+                .details("Weather check failed - proceeding with irrigation")
+                .build();
+    }
+
+    /**
+     * Fetch current weather for all locations concurrently, bounded by the configured request limit.
+     * Locations whose request fails or times out are left out of the result.
+     */
+    private Map<CoordDTO, CurrentWeatherResponseDTO> fetchCurrentWeather(Collection<CoordDTO> locations) {
+        log.info("Fetching current weather for {} location(s)", locations.size());
+
+        return Flux.fromIterable(locations)
+                .flatMap(location -> requestCurrentWeather(location.getLat(), location.getLon())
+                                .timeout(requestTimeout)
+                                .map(weather -> Map.entry(location, weather))
+                                .onErrorResume(e -> {
+                                    log.error("Failed to fetch weather data for coordinates ({}, {}): {}",
+                                            location.getLat(), location.getLon(), e.getMessage());
+                                    return Mono.empty();
+                                }),
+                        maxConcurrentRequests)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
                 .block();
     }
-}
 
+    private Mono<CurrentWeatherResponseDTO> requestCurrentWeather(Double latitude, Double longitude) {
+        log.info("Fetching current weather for coordinates: ({}, {})", latitude, longitude);
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/weather")
+                            .queryParam("lat", latitude)
+                            .queryParam("lon", longitude)
+                            .queryParam("appid", apiKey)
+                            .queryParam("units", "metric")
+                            .build())
+                    .retrieve()
+                    .bodyToMono(CurrentWeatherResponseDTO.class)
+                    .doOnSuccess(weather -> sample.stop(successfulRequests))
+                    // A cancelled request is one that hit the timeout
+                    .doOnError(e -> sample.stop(failedRequests))
+                    .doOnCancel(() -> sample.stop(failedRequests));
+        });
+    }
+
+    private Timer requestTimer(String outcome) {
+        return Timer.builder("weather.requests")
+                .description("Latency of OpenWeather API requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.finki.agrimanagement.loadtest;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mail sender that builds messages like the real one but counts them instead of talking to an SMTP server
+ */
+class CountingMailSender extends JavaMailSenderImpl {
+
+    private final AtomicLong sent = new AtomicLong();
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        sent.addAndGet(mimeMessages.length);
+    }
+
+    long getSentCount() {
+        return sent.get();
+    }
+}
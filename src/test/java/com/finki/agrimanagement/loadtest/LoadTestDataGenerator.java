@@ -0,0 +1,165 @@
+package com.finki.agrimanagement.loadtest;
+
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds users, farms, crops and parcels with a history of completed irrigations and fertilizations,
+ * and creates the irrigations that become due before every tick. The same seed always produces the same data.
+ */
+@Slf4j
+class LoadTestDataGenerator {
+
+    private static final int FLUSH_INTERVAL = 500;
+    private static final String[] FERTILIZERS = {"NPK", "Urea", "Ammonium nitrate", "Compost"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final LoadTestProperties properties;
+    private final Random random;
+
+    // Keeps user emails unique when seeding a database that already holds an earlier run
+    private final long runId = System.currentTimeMillis();
+    private final List<Long> parcelIds = new ArrayList<>();
+    private int pendingWrites;
+
+    LoadTestDataGenerator(EntityManager entityManager,
+                          TransactionTemplate transactionTemplate,
+                          LoadTestProperties properties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.random = new Random(properties.getSeed());
+    }
+
+    /**
+     * Insert the configured data set and return the ids of the generated parcels
+     */
+    List<Long> seed() {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Crop> crops = new ArrayList<>();
+            for (int c = 0; c < properties.getCrops(); c++) {
+                Crop crop = new Crop();
+                crop.setName("Crop " + c);
+                crop.setIrrigationFrequencyDays(1 + random.nextInt(7));
+                crop.setIrrigationDurationMinutes(15 + random.nextInt(46));
+                crop.setWaterRequirementLitersPerSqm(1 + random.nextDouble() * 9);
+                crop.setFertilizationFrequencyDays(7 + random.nextInt(24));
+                crop.setFertilizerType(FERTILIZERS[c % FERTILIZERS.length]);
+                persist(crop);
+                crops.add(crop);
+            }
+
+            for (int u = 0; u < properties.getUsers(); u++) {
+                User user = User.builder()
+                        .firstName("Load")
+                        .lastName("User " + u)
+                        .email("load-user-" + runId + "-" + u + "@example.com")
+                        .password("not-a-real-hash")
+                        .role(Role.MANAGER)
+                        .enabled(true)
+                        .build();
+                persist(user);
+
+                for (int f = 0; f < properties.getFarmsPerUser(); f++) {
+                    Farm farm = new Farm();
+                    farm.setName("Farm " + u + "-" + f);
+                    farm.setLocation("Region " + f);
+                    farm.setUser(user);
+                    persist(farm);
+
+                    for (int p = 0; p < properties.getParcelsPerFarm(); p++) {
+                        Crop crop = crops.get(random.nextInt(crops.size()));
+                        Parcel parcel = new Parcel();
+                        parcel.setName("Parcel " + u + "-" + f + "-" + p);
+                        parcel.setFarm(farm);
+                        parcel.setCrop(crop);
+                        parcel.setArea(100 + random.nextDouble() * 900);
+                        parcel.setLatitude(41.0 + random.nextDouble());
+                        parcel.setLongitude(21.0 + random.nextDouble());
+                        parcel.setLastIrrigatedAt(now.minusMinutes(random.nextInt(crop.getIrrigationFrequencyDays() * 2 * 24 * 60)));
+                        parcel.setLastFertilizedAt(now.minusDays(random.nextInt(crop.getFertilizationFrequencyDays() * 2)));
+                        persist(parcel);
+                        seedHistory(parcel, now);
+                        parcelIds.add(parcel.getId());
+                    }
+                }
+            }
+        });
+        entityManager.clear();
+        log.info("Seeded {} parcel(s) with {} historical irrigation(s) and fertilization(s) each in {} ms",
+                parcelIds.size(), properties.getHistoryPerParcel(), (System.nanoTime() - started) / 1_000_000);
+        return parcelIds;
+    }
+
+    /**
+     * Insert irrigations that became due during the minute before {@code now} and return them
+     */
+    List<Irrigation> createDueIrrigations(LocalDateTime now) {
+        List<Irrigation> irrigations = transactionTemplate.execute(status -> {
+            List<Irrigation> due = new ArrayList<>();
+            for (int i = 0; i < properties.getDueIrrigationsPerTick(); i++) {
+                Irrigation irrigation = new Irrigation();
+                irrigation.setParcel(entityManager.getReference(Parcel.class,
+                        parcelIds.get(random.nextInt(parcelIds.size()))));
+                irrigation.setScheduledDatetime(now.minusNanos(random.nextInt(60_000) * 1_000_000L));
+                irrigation.setStatus(IrrigationStatus.SCHEDULED);
+                irrigation.setDurationMinutes(30);
+                irrigation.setWaterAmountLiters(250.0);
+                persist(irrigation);
+                due.add(irrigation);
+            }
+            return due;
+        });
+        entityManager.clear();
+        return irrigations;
+    }
+
+    private void seedHistory(Parcel parcel, LocalDateTime now) {
+        for (int h = 1; h <= properties.getHistoryPerParcel(); h++) {
+            LocalDateTime past = now.minusDays(h * 3L);
+
+            Irrigation irrigation = new Irrigation();
+            irrigation.setParcel(parcel);
+            irrigation.setScheduledDatetime(past);
+            irrigation.setStartDatetime(past);
+            irrigation.setFinishedDatetime(past.plusMinutes(30));
+            irrigation.setStatus(IrrigationStatus.COMPLETED);
+            irrigation.setDurationMinutes(30);
+            irrigation.setWaterAmountLiters(parcel.getArea() * 2);
+            persist(irrigation);
+
+            Fertilization fertilization = new Fertilization();
+            fertilization.setParcel(parcel);
+            fertilization.setScheduledDatetime(past);
+            fertilization.setCompletedDatetime(past.plusHours(1));
+            fertilization.setStatus(FertilizationStatus.COMPLETED);
+            fertilization.setFertilizerType(parcel.getCrop().getFertilizerType());
+            persist(fertilization);
+        }
+    }
+
+    private void persist(Object entity) {
+        entityManager.persist(entity);
+        if (++pendingWrites % FLUSH_INTERVAL == 0) {
+            entityManager.flush();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.finki.agrimanagement.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "loadtest")
+@Getter
+@Setter
+public class LoadTestProperties {
+
+    /**
+     * Seed for the data generator and the weather stub, so runs are reproducible
+     */
+    private long seed = 42;
+
+    private int users = 10;
+
+    private int farmsPerUser = 5;
+
+    private int parcelsPerFarm = 20;
+
+    private int crops = 10;
+
+    /**
+     * Completed irrigations and fertilizations generated per parcel as history
+     */
+    private int historyPerParcel = 20;
+
+    /**
+     * Number of scheduler ticks to drive
+     */
+    private int ticks = 5;
+
+    /**
+     * Irrigations that become due before every tick, spread over the minute leading up to it
+     */
+    private int dueIrrigationsPerTick = 200;
+
+    /**
+     * Share of weather cells for which the OpenWeather stub reports rain
+     */
+    private double rainFraction = 0.2;
+
+    /**
+     * Latency added to every OpenWeather stub response
+     */
+    private Duration weatherLatency = Duration.ofMillis(20);
+}
@@ -0,0 +1,224 @@
+package com.finki.agrimanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.scheduler.FertilizationScheduler;
+import com.finki.agrimanagement.scheduler.IrrigationDueIndex;
+import com.finki.agrimanagement.scheduler.IrrigationScheduler;
+import com.finki.agrimanagement.scheduler.NotificationOutboxDispatcher;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the schedulers against a seeded database, with OpenWeather and SMTP stubbed locally.
+ * The scheduler ticks are driven by the test instead of the clock. For every phase of a tick it reports
+ * the duration, the SQL statements issued and the rows written, and across all ticks the lag between
+ * an irrigation becoming due and its execution starting. The report is logged and written to
+ * {@code target/loadtest-report.json}.
+ * <p>
+ * Run with {@code mvn -Ploadtest test}, against the embedded database by default or against the
+ * docker-compose Postgres with {@code -Dloadtest.database=postgres}. The data set is sized with the
+ * {@code loadtest.*} properties, for example {@code -Dloadtest.parcels-per-farm=200}.
+ */
+@Slf4j
+@Tag("loadtest")
+@SpringBootTest
+@ActiveProfiles({"test", "loadtest"})
+class SchedulerLoadTest {
+
+    private static final StubOpenWeatherServer WEATHER = new StubOpenWeatherServer();
+
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private IrrigationScheduler irrigationScheduler;
+
+    @Autowired
+    private FertilizationScheduler fertilizationScheduler;
+
+    @Autowired
+    private NotificationOutboxDispatcher notificationDispatcher;
+
+    @Autowired
+    private IrrigationDueIndex irrigationDueIndex;
+
+    @Autowired
+    private IrrigationRepository irrigationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CountingMailSender mailSender;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The test drives the schedulers itself, so nothing may be triggered by the clock
+    @MockitoBean
+    private TaskScheduler taskScheduler;
+
+    @DynamicPropertySource
+    static void weatherStub(DynamicPropertyRegistry registry) {
+        registry.add("openweather.api.base-url", WEATHER::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopWeatherStub() {
+        WEATHER.stop();
+    }
+
+    @Test
+    void schedulerTicks() throws Exception {
+        WEATHER.configure(properties.getSeed(), properties.getRainFraction(), properties.getWeatherLatency());
+        LoadTestDataGenerator generator = new LoadTestDataGenerator(entityManager, transactionTemplate, properties);
+        int parcels = generator.seed().size();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        Map<String, List<PhaseResult>> phases = new LinkedHashMap<>();
+        List<Long> lagMillis = new ArrayList<>();
+
+        for (int tick = 1; tick <= properties.getTicks(); tick++) {
+            List<Irrigation> due = generator.createDueIrrigations(LocalDateTime.now());
+            due.forEach(irrigationDueIndex::track);
+
+            measure(phases, "irrigation scheduling", statistics, irrigationScheduler::scheduleRequiredIrrigations);
+            measure(phases, "irrigation execution", statistics, irrigationScheduler::executeScheduledIrrigations);
+            measure(phases, "fertilization scheduling", statistics, fertilizationScheduler::scheduleRequiredFertilizations);
+            measure(phases, "fertilization due check", statistics, fertilizationScheduler::checkDueFertilizations);
+            measure(phases, "notification dispatch", statistics, notificationDispatcher::dispatchPending);
+
+            int executed = collectLag(due, lagMillis);
+            log.info("Tick {}: {} of {} due irrigation(s) executed", tick, executed, due.size());
+        }
+
+        Map<String, Object> report = report(parcels, phases, lagMillis);
+        File reportFile = new File("target/loadtest-report.json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        log.info("Load test report ({}):\n{}", reportFile.getAbsolutePath(),
+                objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report));
+
+        assertThat(lagMillis).isNotEmpty();
+    }
+
+    private void measure(Map<String, List<PhaseResult>> phases, String phase, Statistics statistics, Tick tick)
+            throws Exception {
+        statistics.clear();
+        long started = System.nanoTime();
+
+        tick.run();
+
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        long rowsWritten = statistics.getEntityInsertCount() + statistics.getEntityUpdateCount()
+                + statistics.getEntityDeleteCount();
+        phases.computeIfAbsent(phase, name -> new ArrayList<>())
+                .add(new PhaseResult(durationMillis, statistics.getPrepareStatementCount(), rowsWritten));
+    }
+
+    /**
+     * Add the lag of every due irrigation that was started and return how many were started.
+     * Irrigations postponed because of rain are left out.
+     */
+    private int collectLag(List<Irrigation> due, List<Long> lagMillis) {
+        int executed = 0;
+        Map<Long, LocalDateTime> dueAt = new LinkedHashMap<>();
+        due.forEach(irrigation -> dueAt.put(irrigation.getId(), irrigation.getScheduledDatetime()));
+        for (Irrigation irrigation : irrigationRepository.findAllById(dueAt.keySet())) {
+            if (irrigation.getStatus() == IrrigationStatus.COMPLETED && irrigation.getStartDatetime() != null) {
+                lagMillis.add(Duration.between(dueAt.get(irrigation.getId()), irrigation.getStartDatetime()).toMillis());
+                executed++;
+            }
+        }
+        return executed;
+    }
+
+    private Map<String, Object> report(int parcels, Map<String, List<PhaseResult>> phases, List<Long> lagMillis) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("parcels", parcels);
+        report.put("ticks", properties.getTicks());
+        report.put("dueIrrigationsPerTick", properties.getDueIrrigationsPerTick());
+
+        Map<String, Object> phaseReport = new LinkedHashMap<>();
+        phases.forEach((phase, results) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("avgDurationMs", results.stream().mapToLong(PhaseResult::durationMillis).average().orElse(0));
+            summary.put("maxDurationMs", results.stream().mapToLong(PhaseResult::durationMillis).max().orElse(0));
+            summary.put("avgQueries", results.stream().mapToLong(PhaseResult::statements).average().orElse(0));
+            summary.put("avgRowsWritten", results.stream().mapToLong(PhaseResult::rowsWritten).average().orElse(0));
+            phaseReport.put(phase, summary);
+        });
+        report.put("phases", phaseReport);
+
+        Collections.sort(lagMillis);
+        Map<String, Object> lag = new LinkedHashMap<>();
+        lag.put("executed", lagMillis.size());
+        lag.put("p50Ms", percentile(lagMillis, 0.50));
+        lag.put("p99Ms", percentile(lagMillis, 0.99));
+        lag.put("maxMs", lagMillis.isEmpty() ? 0 : lagMillis.get(lagMillis.size() - 1));
+        report.put("executionLag", lag);
+
+        report.put("weatherRequests", WEATHER.getRequestCount());
+        report.put("emailsSent", mailSender.getSentCount());
+        return report;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    @FunctionalInterface
+    private interface Tick {
+        void run() throws Exception;
+    }
+
+    private record PhaseResult(long durationMillis, long statements, long rowsWritten) {
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(LoadTestProperties.class)
+    static class LoadTestConfiguration {
+
+        @Bean
+        CountingMailSender mailSender() {
+            return new CountingMailSender();
+        }
+    }
+}
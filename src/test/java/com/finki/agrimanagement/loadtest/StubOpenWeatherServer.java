@@ -0,0 +1,83 @@
+package com.finki.agrimanagement.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the OpenWeather current weather endpoint. Whether a location reports rain
+ * depends only on its coordinates and the seed, so every run sees the same weather.
+ */
+class StubOpenWeatherServer {
+
+    private static final String RAIN = """
+            {"weather":[{"main":"Rain","description":"light rain"}],"rain":{"1h":1.4}}""";
+    private static final String CLEAR = """
+            {"weather":[{"main":"Clear","description":"clear sky"}]}""";
+
+    private final HttpServer server;
+    private final AtomicLong requests = new AtomicLong();
+
+    private volatile long seed;
+    private volatile double rainFraction;
+    private volatile Duration latency = Duration.ZERO;
+
+    StubOpenWeatherServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the OpenWeather stub", e);
+        }
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/weather", this::handle);
+        server.start();
+    }
+
+    void configure(long seed, double rainFraction, Duration latency) {
+        this.seed = seed;
+        this.rainFraction = rainFraction;
+        this.latency = latency;
+    }
+
+    String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long getRequestCount() {
+        return requests.get();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] body = (isRaining(exchange.getRequestURI()) ? RAIN : CLEAR).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private boolean isRaining(URI uri) {
+        String query = uri.getQuery();
+        int hash = Long.hashCode(seed) * 31 + (query != null ? query.replaceAll("&appid=[^&]*", "").hashCode() : 0);
+        return Math.floorMod(hash, 1_000) < rainFraction * 1_000;
+    }
+}
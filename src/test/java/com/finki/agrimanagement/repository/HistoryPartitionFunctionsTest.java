@@ -0,0 +1,216 @@
+package com.finki.agrimanagement.repository;
+
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the partition maintenance functions of the Liquibase changelog against PostgreSQL,
+ * and checks how locking a row that a concurrent update moved to another month's partition fails.
+ */
+@Tag("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+class HistoryPartitionFunctionsTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:18");
+
+    @Autowired
+    private IrrigationRepository irrigationRepository;
+
+    @Autowired
+    private FertilizationRepository fertilizationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+    @Test
+    void missingMonthsAreCreatedOnce() {
+        LocalDate fromMonth = currentMonth.minusMonths(6);
+
+        assertThat(irrigationRepository.createMonthlyPartitions(fromMonth, 3)).isEqualTo(6);
+        assertThat(irrigationRepository.createMonthlyPartitions(fromMonth, 3)).isZero();
+        assertThat(partitionExists("public", "irrigation", currentMonth.plusMonths(3))).isTrue();
+    }
+
+    @Test
+    void monthsWithUnfinishedRowsStayAttachedWhenArchiving() {
+        LocalDate finishedMonth = currentMonth.minusMonths(30);
+        LocalDate unfinishedMonth = currentMonth.minusMonths(29);
+        irrigationRepository.createMonthlyPartitions(finishedMonth, 3);
+        fertilizationRepository.createMonthlyPartitions(finishedMonth, 3);
+
+        Parcel parcel = persistParcel();
+        persistIrrigation(parcel, finishedMonth.atTime(6, 0), IrrigationStatus.COMPLETED);
+        persistIrrigation(parcel, unfinishedMonth.atTime(6, 0), IrrigationStatus.COMPLETED);
+        persistIrrigation(parcel, unfinishedMonth.atTime(7, 0), IrrigationStatus.RETRYING);
+        persistFertilization(parcel, finishedMonth.atTime(6, 0), FertilizationStatus.CANCELLED);
+        persistFertilization(parcel, unfinishedMonth.atTime(6, 0), FertilizationStatus.PENDING);
+        entityManager.flush();
+
+        LocalDate cutoff = currentMonth.minusMonths(24);
+        List<String> detachedIrrigations = irrigationRepository.detachMonthlyPartitionsBefore(cutoff);
+        List<String> detachedFertilizations = fertilizationRepository.detachMonthlyPartitionsBefore(cutoff);
+
+        assertThat(detachedIrrigations)
+                .contains(partitionName("irrigation", finishedMonth))
+                .doesNotContain(partitionName("irrigation", unfinishedMonth));
+        assertThat(detachedFertilizations)
+                .contains(partitionName("fertilization", finishedMonth))
+                .doesNotContain(partitionName("fertilization", unfinishedMonth));
+        assertThat(partitionExists("history_archive", "irrigation", finishedMonth)).isTrue();
+        assertThat(partitionExists("public", "irrigation", unfinishedMonth)).isTrue();
+    }
+
+    /**
+     * A postponement into the next month moves the row to the next month's partition. A transaction waiting
+     * to lock the row fails once the update commits, as a ConcurrencyFailureException the schedulers retry.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void lockingAnIrrigationMovedToAnotherMonthFailsAsAConcurrencyFailure() throws Exception {
+        Irrigation irrigation = transactionTemplate.execute(status ->
+                persistIrrigation(persistParcel(), LocalDateTime.now(), IrrigationStatus.SCHEDULED));
+        Long irrigationId = irrigation.getId();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        ExecutorService locker = Executors.newSingleThreadExecutor();
+
+        try (Connection postponing = dataSource.getConnection()) {
+            postponing.setAutoCommit(false);
+            try (PreparedStatement postpone = postponing.prepareStatement(
+                    "UPDATE irrigation SET scheduled_datetime = scheduled_datetime + INTERVAL '1 month' WHERE id = ?")) {
+                postpone.setLong(1, irrigationId);
+                postpone.executeUpdate();
+            }
+
+            Future<?> lock = locker.submit(() ->
+                    transactionTemplate.execute(status -> irrigationRepository.findByIdForUpdate(irrigationId)));
+            awaitLockWait(jdbcTemplate);
+            postponing.commit();
+
+            assertThatThrownBy(lock::get).hasCauseInstanceOf(ConcurrencyFailureException.class);
+        } finally {
+            locker.shutdownNow();
+            Parcel parcel = irrigation.getParcel();
+            jdbcTemplate.update("DELETE FROM irrigation WHERE id = ?", irrigationId);
+            jdbcTemplate.update("DELETE FROM parcel WHERE id = ?", parcel.getId());
+            jdbcTemplate.update("DELETE FROM farm WHERE id = ?", parcel.getFarm().getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", parcel.getFarm().getUser().getId());
+        }
+    }
+
+    private Parcel persistParcel() {
+        User user = User.builder()
+                .firstName("Partition")
+                .lastName("User")
+                .email("partition-test-" + System.nanoTime() + "@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        Farm farm = new Farm();
+        farm.setName("Partition Farm");
+        farm.setUser(user);
+        entityManager.persist(farm);
+
+        Parcel parcel = new Parcel();
+        parcel.setName("Partition Parcel");
+        parcel.setArea(100.0);
+        parcel.setFarm(farm);
+        entityManager.persist(parcel);
+        return parcel;
+    }
+
+    private Irrigation persistIrrigation(Parcel parcel, LocalDateTime scheduledDatetime, IrrigationStatus status) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setScheduledDatetime(scheduledDatetime);
+        irrigation.setStatus(status);
+        entityManager.persist(irrigation);
+        return irrigation;
+    }
+
+    private void persistFertilization(Parcel parcel, LocalDateTime scheduledDatetime, FertilizationStatus status) {
+        Fertilization fertilization = new Fertilization();
+        fertilization.setParcel(parcel);
+        fertilization.setScheduledDatetime(scheduledDatetime);
+        fertilization.setFertilizerType("NPK");
+        fertilization.setStatus(status);
+        entityManager.persist(fertilization);
+    }
+
+    private static String partitionName(String table, LocalDate month) {
+        return table + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private boolean partitionExists(String schema, String table, LocalDate month) {
+        Object regclass = entityManager
+                .createNativeQuery("SELECT CAST(to_regclass(:name) AS TEXT)")
+                .setParameter("name", schema + "." + partitionName(table, month))
+                .getSingleResult();
+        return regclass != null;
+    }
+
+    private static void awaitLockWait(JdbcTemplate jdbcTemplate) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("The locking transaction never waited for the postponement");
+    }
+}
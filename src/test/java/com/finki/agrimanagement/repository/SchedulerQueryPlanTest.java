@@ -0,0 +1,269 @@
+package com.finki.agrimanagement.repository;
+
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the queries the schedulers issue every tick against a seeded PostgreSQL database, migrated by Liquibase
+ * like the application, and checks with EXPLAIN that each one is answered from the intended index of the changelog,
+ * including the partial indexes of pending rows. The SQL is the statement Hibernate actually generated for the
+ * repository method, recorded as it ran. Needs Docker, run with: mvn -Ppostgres test
+ */
+@Tag("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.finki.agrimanagement.repository.SchedulerQueryPlanTest$RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+class SchedulerQueryPlanTest {
+
+    private static final List<String> RECORDED_SQL = new CopyOnWriteArrayList<>();
+
+    private static final Pattern INDEX_SCAN =
+            Pattern.compile("Index (?:Only )?Scan (?:Backward )?using (\\S+)|Bitmap Index Scan on (\\S+)");
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:18");
+
+    @Autowired
+    private IrrigationRepository irrigationRepository;
+
+    @Autowired
+    private FertilizationRepository fertilizationRepository;
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Farm farm;
+    private Parcel parcel;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void seed() {
+        User user = User.builder()
+                .firstName("Plan")
+                .lastName("User")
+                .email("plan-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        Crop crop = new Crop();
+        crop.setName("Wheat");
+        crop.setIrrigationFrequencyDays(4);
+        entityManager.persist(crop);
+
+        List<Farm> farms = new ArrayList<>();
+        for (int f = 0; f < 10; f++) {
+            Farm seededFarm = new Farm();
+            seededFarm.setName("Farm " + f);
+            seededFarm.setUser(user);
+            entityManager.persist(seededFarm);
+            farms.add(seededFarm);
+        }
+        farm = farms.get(0);
+
+        // A long history of finished work with only a few pending rows, as in production
+        for (int p = 0; p < 200; p++) {
+            Parcel seededParcel = new Parcel();
+            seededParcel.setName("Parcel " + p);
+            seededParcel.setArea(100.0);
+            seededParcel.setFarm(farms.get(p % farms.size()));
+            seededParcel.setCrop(crop);
+            entityManager.persist(seededParcel);
+            if (p == 0) {
+                parcel = seededParcel;
+            }
+
+            for (int day = 0; day < 20; day++) {
+                boolean pending = day == 0;
+                Irrigation irrigation = new Irrigation();
+                irrigation.setParcel(seededParcel);
+                irrigation.setScheduledDatetime(now.minusDays(day * 4L).plusHours(p % 24));
+                irrigation.setStatus(pending ? IrrigationStatus.SCHEDULED : IrrigationStatus.COMPLETED);
+                entityManager.persist(irrigation);
+
+                Fertilization fertilization = new Fertilization();
+                fertilization.setParcel(seededParcel);
+                fertilization.setScheduledDatetime(now.minusDays(day * 14L).plusHours(p % 24));
+                fertilization.setFertilizerType("NPK");
+                fertilization.setStatus(pending ? FertilizationStatus.SCHEDULED : FertilizationStatus.COMPLETED);
+                entityManager.persist(fertilization);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement analyze = connection.createStatement()) {
+                analyze.execute("ANALYZE irrigation, fertilization, parcel, farm");
+            }
+        });
+    }
+
+    @Test
+    void dueIndexRebuildUsesThePartialIndexOfPendingIrrigations() {
+        String sql = recordSql(() -> irrigationRepository.findPendingDueEntries());
+
+        assertThat(indexesUsedBy(sql)).contains("idx_irrigation_pending_scheduled");
+    }
+
+    @Test
+    void overdueIrrigationCheckUsesThePartialIndexOfPendingIrrigations() {
+        String sql = recordSql(() -> irrigationRepository.lockOverdueIds(now, now, 100));
+
+        assertThat(indexesUsedBy(sql, Timestamp.valueOf(now), Timestamp.valueOf(now), 100))
+                .contains("idx_irrigation_pending_scheduled");
+    }
+
+    @Test
+    void parcelIrrigationLookupUsesAnIndex() {
+        String sql = recordSql(() -> irrigationRepository.findByParcelIdAndStatus(
+                parcel.getId(), IrrigationStatus.SCHEDULED));
+
+        assertThat(indexesUsedBy(sql, parcel.getId(), IrrigationStatus.SCHEDULED.name()))
+                .contains("idx_irrigation_parcel_status_scheduled");
+    }
+
+    @Test
+    void autoSchedulingCandidatesCheckExistingIrrigationsThroughAnIndex() {
+        LocalDateTime earliestSlot = now.plusMinutes(5);
+        String sql = recordSql(() -> parcelRepository.findIrrigationCandidates(
+                earliestSlot, IrrigationStatus.SCHEDULED));
+
+        assertThat(indexesUsedBy(sql, IrrigationStatus.SCHEDULED.name(),
+                Timestamp.valueOf(earliestSlot), Timestamp.valueOf(earliestSlot)))
+                .contains("idx_irrigation_parcel_status_scheduled");
+    }
+
+    @Test
+    void dueFertilizationClaimUsesThePartialIndexOfScheduledFertilizations() {
+        String sql = recordSql(() -> fertilizationRepository.lockDueScheduledIds(now, 100));
+
+        assertThat(indexesUsedBy(sql, Timestamp.valueOf(now), 100))
+                .contains("idx_fertilization_scheduled_due");
+    }
+
+    @Test
+    void parcelFertilizationLookupUsesAnIndex() {
+        String sql = recordSql(() -> fertilizationRepository.findByParcelIdAndStatus(
+                parcel.getId(), FertilizationStatus.SCHEDULED));
+
+        assertThat(indexesUsedBy(sql, parcel.getId(), FertilizationStatus.SCHEDULED.name()))
+                .contains("idx_fertilization_parcel_status");
+    }
+
+    @Test
+    void farmParcelLookupUsesAnIndex() {
+        String sql = recordSql(() -> parcelRepository.findByFarmIdIn(List.of(farm.getId())));
+
+        assertThat(indexesUsedBy(sql, farm.getId())).contains("idx_parcel_farm_id");
+    }
+
+    /**
+     * Run the repository call and return the first statement it issued
+     */
+    private String recordSql(Runnable query) {
+        RECORDED_SQL.clear();
+        query.run();
+        assertThat(RECORDED_SQL).isNotEmpty();
+        return RECORDED_SQL.get(0);
+    }
+
+    /**
+     * EXPLAIN the statement with sequential scans disabled, so it fails to use an index only when no index
+     * can answer it, and return the indexes the plan scans. The partitions of irrigation and fertilization
+     * have their own copies of each index, which are resolved to the index of the changelog they belong to.
+     */
+    private Set<String> indexesUsedBy(String sql, Object... parameters) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET LOCAL enable_seqscan = off");
+            }
+
+            Set<String> scannedIndexes = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    while (plan.next()) {
+                        Matcher scan = INDEX_SCAN.matcher(plan.getString(1));
+                        while (scan.find()) {
+                            scannedIndexes.add(scan.group(1) != null ? scan.group(1) : scan.group(2));
+                        }
+                    }
+                }
+            }
+
+            Set<String> indexes = new HashSet<>();
+            try (PreparedStatement parentIndex = connection.prepareStatement("""
+                    SELECT COALESCE(parent.relname, child.relname)
+                    FROM pg_class child
+                    LEFT JOIN pg_inherits i ON i.inhrelid = child.oid
+                    LEFT JOIN pg_class parent ON parent.oid = i.inhparent
+                    WHERE child.relname = ?
+                    """)) {
+                for (String scannedIndex : scannedIndexes) {
+                    parentIndex.setString(1, scannedIndex);
+                    try (ResultSet index = parentIndex.executeQuery()) {
+                        while (index.next()) {
+                            indexes.add(index.getString(1));
+                        }
+                    }
+                }
+            }
+            return indexes;
+        });
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            RECORDED_SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.IrrigationExecutionConfig;
+import com.finki.agrimanagement.config.IrrigationRetryConfig;
+import com.finki.agrimanagement.config.SchedulerClusterConfig;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.IrrigationDailyUsage;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.mapper.FertilizationMapperImpl;
+import com.finki.agrimanagement.repository.FarmRepository;
+import com.finki.agrimanagement.repository.FertilizationRepository;
+import com.finki.agrimanagement.repository.IrrigationDailyUsageRepository;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.repository.ParcelRepository;
+import com.finki.agrimanagement.repository.SchedulerLeaseRepository;
+import com.finki.agrimanagement.repository.UserRepository;
+import com.finki.agrimanagement.service.EmailNotificationService;
+import com.finki.agrimanagement.service.FertilizationService;
+import com.finki.agrimanagement.service.IrrigationExecutionService;
+import com.finki.agrimanagement.service.IrrigationService;
+import com.finki.agrimanagement.service.WeatherService;
+import com.finki.agrimanagement.service.impl.FertilizationServiceImpl;
+import com.finki.agrimanagement.service.impl.IrrigationExecutionServiceImpl;
+import com.finki.agrimanagement.service.impl.IrrigationUsageRollupServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs several scheduler instances against one database, as replicas of the application would,
+ * and checks that they split the due work between them without doing anything twice.
+ * Runs outside a test transaction so every instance sees what the others committed.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({IrrigationExecutionServiceImpl.class, IrrigationRetryConfig.class, IrrigationDueIndex.class,
+        IrrigationUsageRollupServiceImpl.class, FertilizationServiceImpl.class, FertilizationMapperImpl.class})
+class ClusteredSchedulingTest {
+
+    private static final int INSTANCES = 3;
+
+    @Autowired
+    private IrrigationExecutionService irrigationExecutionService;
+
+    @Autowired
+    private FertilizationService fertilizationService;
+
+    @Autowired
+    private IrrigationRepository irrigationRepository;
+
+    @Autowired
+    private FertilizationRepository fertilizationRepository;
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    @Autowired
+    private FarmRepository farmRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private IrrigationDailyUsageRepository dailyUsageRepository;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    private final List<IrrigationExecutionEngine> engines = new ArrayList<>();
+    private Farm farm;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .firstName("Cluster")
+                .lastName("User")
+                .email("cluster-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build());
+
+        farm = new Farm();
+        farm.setName("Cluster Farm");
+        farm.setUser(user);
+        farm = farmRepository.save(farm);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engines.forEach(IrrigationExecutionEngine::shutdown);
+        irrigationRepository.deleteAll();
+        dailyUsageRepository.deleteAll();
+        fertilizationRepository.deleteAll();
+        parcelRepository.deleteAll();
+        farmRepository.deleteAll();
+        userRepository.deleteAll();
+        leaseRepository.deleteAll();
+    }
+
+    @Test
+    void everyDueIrrigationRunsExactlyOnceAcrossInstances() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Parcel parcel = saveParcel("parcel-" + i);
+            dueIds.add(saveIrrigation(parcel, now.minusMinutes(1 + i % 5)).getId());
+        }
+
+        Map<Long, AtomicInteger> executions = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> executionsPerInstance = new ConcurrentHashMap<>();
+        List<IrrigationScheduler> schedulers = new ArrayList<>();
+        for (int i = 1; i <= INSTANCES; i++) {
+            String instanceId = "node-" + i;
+            IrrigationExecutionService counting = new IrrigationExecutionService() {
+                @Override
+                public void executeIrrigation(Long irrigationId) {
+                    irrigationExecutionService.executeIrrigation(irrigationId);
+                }
+
+                @Override
+                public boolean executeClaimedIrrigation(Long irrigationId, String claimToken) {
+                    executions.computeIfAbsent(irrigationId, id -> new AtomicInteger()).incrementAndGet();
+                    executionsPerInstance.computeIfAbsent(instanceId, id -> new AtomicInteger()).incrementAndGet();
+                    return irrigationExecutionService.executeClaimedIrrigation(irrigationId, claimToken);
+                }
+
+                @Override
+                public void stopIrrigation(Long irrigationId) {
+                    irrigationExecutionService.stopIrrigation(irrigationId);
+                }
+            };
+            IrrigationScheduler scheduler = irrigationScheduler(instanceId, counting);
+            scheduler.rebuildDueIndex();
+            schedulers.add(scheduler);
+        }
+
+        // Two ticks on every instance at once; the second finds nothing left to do
+        for (int tick = 0; tick < 2; tick++) {
+            runConcurrently(schedulers.stream()
+                    .map(scheduler -> (Runnable) scheduler::executeScheduledIrrigations)
+                    .toList());
+        }
+
+        assertThat(executions.keySet()).containsExactlyInAnyOrderElementsOf(dueIds);
+        assertThat(executions.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+        assertThat(executionsPerInstance.values().stream().mapToInt(AtomicInteger::get).sum())
+                .isEqualTo(dueIds.size());
+        assertThat(irrigationRepository.findAllById(dueIds)).allSatisfy(irrigation -> {
+            assertThat(irrigation.getStatus()).isEqualTo(IrrigationStatus.COMPLETED);
+            assertThat(irrigation.getClaimToken()).isNull();
+        });
+        assertThat(dailyUsageRepository.findAll().stream().mapToLong(IrrigationDailyUsage::getIrrigationCount).sum())
+                .isEqualTo(dueIds.size());
+    }
+
+    @Test
+    void claimedIrrigationIsOnlyExecutedWhileStillPendingAndClaimedByTheCaller() {
+        LocalDateTime now = LocalDateTime.now();
+        Irrigation failedMeanwhile = saveIrrigation(saveParcel("parcel-failed"), now.minusHours(3));
+        Irrigation claimedElsewhere = saveIrrigation(saveParcel("parcel-claimed"), now.minusMinutes(1));
+        irrigationRepository.claimDue(List.of(failedMeanwhile.getId(), claimedElsewhere.getId()), now,
+                "node-1:claim", now.plusMinutes(5));
+        // Failed meanwhile, as a manual status update would, while node-1 was about to execute it
+        Irrigation failed = irrigationRepository.findById(failedMeanwhile.getId()).orElseThrow();
+        failed.setStatus(IrrigationStatus.FAILED);
+        irrigationRepository.save(failed);
+
+        assertThat(irrigationExecutionService.executeClaimedIrrigation(failedMeanwhile.getId(), "node-1:claim"))
+                .isFalse();
+        assertThat(irrigationExecutionService.executeClaimedIrrigation(claimedElsewhere.getId(), "node-2:claim"))
+                .isFalse();
+
+        assertThat(irrigationRepository.findById(failedMeanwhile.getId()).orElseThrow().getStatus())
+                .isEqualTo(IrrigationStatus.FAILED);
+        assertThat(irrigationRepository.findById(claimedElsewhere.getId()).orElseThrow().getStatus())
+                .isEqualTo(IrrigationStatus.SCHEDULED);
+        verify(emailNotificationService, never()).sendIrrigationCompletedNotification(any());
+
+        assertThat(irrigationExecutionService.executeClaimedIrrigation(claimedElsewhere.getId(), "node-1:claim"))
+                .isTrue();
+        assertThat(irrigationRepository.findById(claimedElsewhere.getId()).orElseThrow().getStatus())
+                .isEqualTo(IrrigationStatus.COMPLETED);
+    }
+
+    @Test
+    void everyDueFertilizationIsNotifiedExactlyOnceAcrossInstances() throws Exception {
+        List<Long> dueIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Parcel parcel = saveParcel("parcel-" + i);
+            dueIds.add(saveFertilization(parcel, LocalDateTime.now().minusHours(1 + i % 3)).getId());
+        }
+
+        List<Runnable> ticks = new ArrayList<>();
+        for (int i = 1; i <= INSTANCES; i++) {
+            SchedulerClusterConfig clusterConfig = clusterConfig("node-" + i);
+            clusterConfig.setFertilizationClaimBatchSize(5);
+            FertilizationScheduler scheduler = new FertilizationScheduler(fertilizationService, parcelRepository,
+                    fertilizationRepository, new SchedulerMetrics(new SimpleMeterRegistry()),
+                    new SchedulerLeaderLease(leaseRepository, clusterConfig), clusterConfig);
+            ticks.add(scheduler::checkDueFertilizations);
+        }
+
+        runConcurrently(ticks);
+
+        assertThat(fertilizationRepository.findAllById(dueIds))
+                .allSatisfy(fertilization -> assertThat(fertilization.getStatus()).isEqualTo(FertilizationStatus.PENDING));
+        for (Long id : dueIds) {
+            verify(emailNotificationService, times(1))
+                    .sendFertilizationDueNotification(argThat(fertilization -> fertilization.getId().equals(id)));
+        }
+    }
+
+    @Test
+    void exactlyOneInstanceLeadsAndAnotherTakesOverWhenItLeaves() throws Exception {
+        List<SchedulerLeaderLease> leases = new ArrayList<>();
+        for (int i = 1; i <= INSTANCES; i++) {
+            leases.add(new SchedulerLeaderLease(leaseRepository, clusterConfig("node-" + i)));
+        }
+
+        List<Boolean> leaders = callConcurrently(leases.stream()
+                .map(lease -> (Callable<Boolean>) lease::isLeader)
+                .toList());
+        assertThat(leaders).containsOnlyOnce(true);
+
+        SchedulerLeaderLease leader = leases.get(leaders.indexOf(true));
+        leader.release();
+        List<SchedulerLeaderLease> followers = leases.stream().filter(lease -> lease != leader).toList();
+        assertThat(followers.stream().filter(SchedulerLeaderLease::isLeader)).hasSize(1);
+        assertThat(leader.isLeader()).isFalse();
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverByAnotherInstance() throws Exception {
+        SchedulerClusterConfig crashingConfig = clusterConfig("node-1");
+        crashingConfig.setLeaseTtl(Duration.ofMillis(300));
+        crashingConfig.setLeaseRenewInterval(Duration.ofMillis(100));
+        SchedulerLeaderLease crashing = new SchedulerLeaderLease(leaseRepository, crashingConfig);
+        SchedulerLeaderLease standby = new SchedulerLeaderLease(leaseRepository, clusterConfig("node-2"));
+
+        assertThat(crashing.isLeader()).isTrue();
+        assertThat(standby.isLeader()).isFalse();
+
+        // The leader stops renewing, as if its process had died
+        Thread.sleep(400);
+
+        assertThat(standby.isLeader()).isTrue();
+        assertThat(crashing.isLeader()).isFalse();
+    }
+
+    private IrrigationScheduler irrigationScheduler(String instanceId, IrrigationExecutionService executionService) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SchedulerClusterConfig clusterConfig = clusterConfig(instanceId);
+        IrrigationExecutionConfig executionConfig = new IrrigationExecutionConfig();
+        executionConfig.setMaxConcurrency(4);
+        executionConfig.setTickDeadlineSeconds(30);
+
+        IrrigationDueIndex dueIndex = new IrrigationDueIndex();
+        IrrigationExecutionEngine engine = new IrrigationExecutionEngine(dueIndex, irrigationRepository,
+                executionConfig, meterRegistry);
+        engines.add(engine);
+        return new IrrigationScheduler(mock(IrrigationService.class), executionService, new IrrigationRetryConfig(),
+                parcelRepository, irrigationRepository, mock(WeatherService.class),
+                dueIndex, mock(TaskScheduler.class), engine, new SchedulerMetrics(meterRegistry),
+                new SchedulerLeaderLease(leaseRepository, clusterConfig), clusterConfig);
+    }
+
+    private static SchedulerClusterConfig clusterConfig(String instanceId) {
+        SchedulerClusterConfig clusterConfig = new SchedulerClusterConfig();
+        clusterConfig.setInstanceId(instanceId);
+        return clusterConfig;
+    }
+
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        callConcurrently(tasks.stream().map(task -> (Callable<Boolean>) () -> {
+            task.run();
+            return true;
+        }).toList());
+    }
+
+    /**
+     * Start all tasks at the same moment, each on its own thread, and return their results in order
+     */
+    private static <T> List<T> callConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Parcel saveParcel(String name) {
+        Parcel parcel = new Parcel();
+        parcel.setName(name);
+        parcel.setArea(100.0);
+        parcel.setFarm(farm);
+        return parcelRepository.save(parcel);
+    }
+
+    private Irrigation saveIrrigation(Parcel parcel, LocalDateTime scheduledDatetime) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setScheduledDatetime(scheduledDatetime);
+        irrigation.setStatus(IrrigationStatus.SCHEDULED);
+        irrigation.setDurationMinutes(30);
+        irrigation.setWaterAmountLiters(100.0);
+        return irrigationRepository.save(irrigation);
+    }
+
+    private Fertilization saveFertilization(Parcel parcel, LocalDateTime scheduledDatetime) {
+        Fertilization fertilization = new Fertilization();
+        fertilization.setParcel(parcel);
+        fertilization.setScheduledDatetime(scheduledDatetime);
+        fertilization.setFertilizerType("NPK");
+        fertilization.setStatus(FertilizationStatus.SCHEDULED);
+        return fertilizationRepository.save(fertilization);
+    }
+}
@@ -0,0 +1,89 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.HistoryPartitionConfig;
+import com.finki.agrimanagement.repository.FertilizationRepository;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class HistoryPartitionJobTest {
+
+    private final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+    private IrrigationRepository irrigationRepository;
+    private FertilizationRepository fertilizationRepository;
+    private SchedulerLeaderLease leaderLease;
+    private HistoryPartitionConfig partitionConfig;
+    private HistoryPartitionJob job;
+
+    @BeforeEach
+    void setUp() {
+        irrigationRepository = mock(IrrigationRepository.class);
+        fertilizationRepository = mock(FertilizationRepository.class);
+        when(irrigationRepository.detachMonthlyPartitionsBefore(any())).thenReturn(List.of());
+        when(fertilizationRepository.detachMonthlyPartitionsBefore(any())).thenReturn(List.of());
+        leaderLease = mock(SchedulerLeaderLease.class);
+        when(leaderLease.isLeader()).thenReturn(true);
+
+        partitionConfig = new HistoryPartitionConfig();
+        partitionConfig.setMonthsAhead(2);
+        partitionConfig.setRetentionMonths(12);
+        job = new HistoryPartitionJob(irrigationRepository, fertilizationRepository, leaderLease, partitionConfig,
+                new SchedulerMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void leaderCreatesPartitionsFromTheCurrentMonthAndArchivesThoseBeforeTheRetentionPeriod() {
+        partitionConfig.setArchiveEnabled(true);
+
+        job.maintainPartitions();
+
+        verify(irrigationRepository).createMonthlyPartitions(currentMonth, 2);
+        verify(fertilizationRepository).createMonthlyPartitions(currentMonth, 2);
+        verify(irrigationRepository).detachMonthlyPartitionsBefore(currentMonth.minusMonths(12));
+        verify(fertilizationRepository).detachMonthlyPartitionsBefore(currentMonth.minusMonths(12));
+    }
+
+    @Test
+    void partitionsAreNotArchivedUnlessArchivingIsEnabled() {
+        job.maintainPartitions();
+
+        verify(irrigationRepository).createMonthlyPartitions(currentMonth, 2);
+        verify(irrigationRepository, never()).detachMonthlyPartitionsBefore(any());
+        verify(fertilizationRepository, never()).detachMonthlyPartitionsBefore(any());
+    }
+
+    @Test
+    void followerLeavesThePartitionsAlone() {
+        partitionConfig.setArchiveEnabled(true);
+        when(leaderLease.isLeader()).thenReturn(false);
+
+        job.maintainPartitions();
+
+        verifyNoInteractions(irrigationRepository, fertilizationRepository);
+    }
+
+    @Test
+    void failingToCreatePartitionsDoesNotStopArchiving() {
+        partitionConfig.setArchiveEnabled(true);
+        when(irrigationRepository.createMonthlyPartitions(any(), anyInt()))
+                .thenThrow(new QueryTimeoutException("lock timeout"));
+
+        job.maintainPartitions();
+
+        verify(irrigationRepository).detachMonthlyPartitionsBefore(currentMonth.minusMonths(12));
+    }
+}
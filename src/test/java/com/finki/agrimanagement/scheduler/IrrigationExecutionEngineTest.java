@@ -0,0 +1,141 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.IrrigationExecutionConfig;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class IrrigationExecutionEngineTest {
+
+    private IrrigationDueIndex irrigationDueIndex;
+    private IrrigationRepository irrigationRepository;
+    private IrrigationExecutionConfig executionConfig;
+    private IrrigationExecutionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        irrigationDueIndex = mock(IrrigationDueIndex.class);
+        irrigationRepository = mock(IrrigationRepository.class);
+        executionConfig = new IrrigationExecutionConfig();
+        executionConfig.setMaxConcurrency(2);
+        executionConfig.setTickDeadlineSeconds(30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void runsParcelsInParallelButNeverOverlapsTheSameParcel() {
+        engine = newEngine();
+        List<Irrigation> irrigations = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            irrigations.add(irrigation(id, id % 4));
+        }
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<Long, AtomicInteger> runningPerParcel = new ConcurrentHashMap<>();
+        Map<Long, List<Long>> executionOrder = new ConcurrentHashMap<>();
+        List<Long> overlaps = new CopyOnWriteArrayList<>();
+
+        int unfinished = engine.execute(irrigations, irrigation -> {
+            Long parcelId = irrigation.getParcel().getId();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (runningPerParcel.computeIfAbsent(parcelId, id -> new AtomicInteger()).incrementAndGet() > 1) {
+                overlaps.add(parcelId);
+            }
+            executionOrder.computeIfAbsent(parcelId, id -> new CopyOnWriteArrayList<>()).add(irrigation.getId());
+            sleep(20);
+            runningPerParcel.get(parcelId).decrementAndGet();
+            running.decrementAndGet();
+        });
+
+        assertThat(unfinished).isZero();
+        assertThat(overlaps).isEmpty();
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(executionOrder.get(1L)).containsExactly(1L, 5L, 9L);
+        assertThat(engine.getQueueDepth()).isZero();
+        assertThat(engine.getInFlightCount()).isZero();
+        verify(irrigationDueIndex, never()).track(any());
+    }
+
+    @Test
+    void defersIrrigationsNotStartedBeforeTheDeadline() {
+        executionConfig.setTickDeadlineSeconds(0);
+        engine = newEngine();
+        List<Irrigation> irrigations = List.of(irrigation(1L, 1L), irrigation(2L, 2L));
+        List<Long> executed = new CopyOnWriteArrayList<>();
+
+        engine.execute(irrigations, irrigation -> executed.add(irrigation.getId()));
+
+        verify(irrigationDueIndex, timeout(1000)).track(irrigations.get(0));
+        verify(irrigationDueIndex, timeout(1000)).track(irrigations.get(1));
+        assertThat(executed).isEmpty();
+    }
+
+    @Test
+    void deferredIrrigationReleasesItsClaimAndRunsOnTheNextTick() {
+        executionConfig.setTickDeadlineSeconds(0);
+        engine = newEngine();
+        Irrigation irrigation = irrigation(1L, 1L);
+        irrigation.setClaimToken("node-1:first-tick");
+        List<Long> executed = new CopyOnWriteArrayList<>();
+
+        engine.execute(List.of(irrigation), deferred -> executed.add(deferred.getId()));
+
+        InOrder inOrder = inOrder(irrigationRepository, irrigationDueIndex);
+        inOrder.verify(irrigationRepository, timeout(1000)).releaseClaim(1L, "node-1:first-tick");
+        inOrder.verify(irrigationDueIndex, timeout(1000)).track(irrigation);
+        assertThat(executed).isEmpty();
+
+        executionConfig.setTickDeadlineSeconds(30);
+        int unfinished = engine.execute(List.of(irrigation), next -> executed.add(next.getId()));
+
+        assertThat(unfinished).isZero();
+        assertThat(executed).containsExactly(1L);
+    }
+
+    private IrrigationExecutionEngine newEngine() {
+        return new IrrigationExecutionEngine(irrigationDueIndex, irrigationRepository, executionConfig,
+                new SimpleMeterRegistry());
+    }
+
+    private static Irrigation irrigation(Long id, Long parcelId) {
+        Parcel parcel = new Parcel();
+        parcel.setId(parcelId);
+        Irrigation irrigation = new Irrigation();
+        irrigation.setId(id);
+        irrigation.setParcel(parcel);
+        return irrigation;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
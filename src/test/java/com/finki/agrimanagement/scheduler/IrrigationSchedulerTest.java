@@ -0,0 +1,346 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.IrrigationExecutionConfig;
+import com.finki.agrimanagement.config.IrrigationRetryConfig;
+import com.finki.agrimanagement.config.SchedulerClusterConfig;
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.mapper.IrrigationMapperImpl;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.service.EmailNotificationService;
+import com.finki.agrimanagement.service.IrrigationExecutionService;
+import com.finki.agrimanagement.service.WeatherService;
+import com.finki.agrimanagement.service.impl.IrrigationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({IrrigationScheduler.class, IrrigationDueIndex.class, IrrigationExecutionEngine.class,
+        SchedulerMetrics.class, SimpleMeterRegistry.class, SchedulerClusterConfig.class,
+        IrrigationServiceImpl.class, IrrigationMapperImpl.class})
+class IrrigationSchedulerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IrrigationSchedulerTest.class);
+
+    @Autowired
+    private IrrigationScheduler irrigationScheduler;
+
+    @Autowired
+    private IrrigationRepository irrigationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private IrrigationExecutionService irrigationExecutionService;
+
+    @MockitoBean
+    private IrrigationRetryConfig retryConfig;
+
+    @MockitoBean
+    private WeatherService weatherService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @MockitoBean
+    private TaskScheduler taskScheduler;
+
+    @MockitoBean
+    private IrrigationExecutionConfig executionConfig;
+
+    @MockitoBean
+    private SchedulerLeaderLease leaderLease;
+
+    @Autowired
+    private IrrigationDueIndex irrigationDueIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Farm farm;
+    private Crop crop;
+
+    @BeforeEach
+    void setUp() {
+        when(leaderLease.isLeader()).thenReturn(true);
+
+        User user = User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email("scheduler-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        farm = new Farm();
+        farm.setName("Test Farm");
+        farm.setUser(user);
+        entityManager.persist(farm);
+
+        crop = new Crop();
+        crop.setName("Tomato");
+        crop.setIrrigationFrequencyDays(4);
+        crop.setIrrigationDurationMinutes(45);
+        crop.setWaterRequirementLitersPerSqm(2.0);
+        entityManager.persist(crop);
+    }
+
+    @Test
+    void schedulesOnlyParcelsWithoutRelevantScheduledIrrigation() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Parcel neverIrrigated = persistParcel("never-irrigated", null, crop);
+        Parcel overdue = persistParcel("overdue", now.minusDays(10), crop);
+        Parcel upcoming = persistParcel("upcoming", now.minusDays(1), crop);
+        Parcel covered = persistParcel("covered", now.minusDays(1), crop);
+        Parcel coveredTooLate = persistParcel("covered-too-late", now.minusDays(1), crop);
+        persistParcel("no-crop", null, null);
+
+        // next needed = last + 4 days, grace = next + 2 days
+        persistScheduledIrrigation(covered, now.plusDays(4));
+        persistScheduledIrrigation(coveredTooLate, now.plusDays(6));
+        flushAndClear();
+
+        irrigationScheduler.scheduleRequiredIrrigations();
+        flushAndClear();
+
+        assertThat(scheduledFor(neverIrrigated)).hasSize(1);
+        assertThat(scheduledFor(overdue)).hasSize(1)
+                .first().satisfies(i -> assertThat(i.getScheduledDatetime()).isBefore(now.plusMinutes(6)));
+        assertThat(scheduledFor(upcoming)).hasSize(1)
+                .first().satisfies(i -> {
+                    assertThat(i.getScheduledDatetime()).isEqualTo(upcoming.getLastIrrigatedAt().plusDays(4));
+                    assertThat(i.getDurationMinutes()).isEqualTo(45);
+                    assertThat(i.getWaterAmountLiters()).isEqualTo(200.0);
+                });
+        assertThat(scheduledFor(covered)).hasSize(1);
+        assertThat(scheduledFor(coveredTooLate)).hasSize(2);
+        assertThat(irrigationRepository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void secondTickSchedulesNothing() {
+        for (int i = 0; i < 20; i++) {
+            persistParcel("parcel-" + i, LocalDateTime.now().minusDays(i % 8), crop);
+        }
+        flushAndClear();
+
+        irrigationScheduler.scheduleRequiredIrrigations();
+        flushAndClear();
+        long afterFirstTick = irrigationRepository.count();
+
+        irrigationScheduler.scheduleRequiredIrrigations();
+        flushAndClear();
+
+        assertThat(afterFirstTick).isEqualTo(20);
+        assertThat(irrigationRepository.count()).isEqualTo(afterFirstTick);
+    }
+
+    @Test
+    void tickIssuesConstantNumberOfQueriesRegardlessOfParcelCount() {
+        int parcelCount = 2_000;
+        for (int i = 0; i < parcelCount; i++) {
+            Parcel parcel = persistParcel("parcel-" + i, LocalDateTime.now().minusDays(i % 8), crop);
+            if (i % 2 == 0) {
+                persistScheduledIrrigation(parcel, LocalDateTime.now().minusHours(1));
+            }
+        }
+        flushAndClear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        long start = System.nanoTime();
+
+        irrigationScheduler.scheduleRequiredIrrigations();
+        flushAndClear();
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Auto-scheduling tick over {} parcels: {} statements prepared, {} queries, {} entity loads, " +
+                        "{} irrigations inserted in {} ms",
+                parcelCount, statistics.getPrepareStatementCount(), statistics.getQueryExecutionCount(),
+                statistics.getEntityLoadCount(), statistics.getEntityInsertCount(), elapsedMillis);
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(parcelCount / 2);
+    }
+
+    @Test
+    void tickInsertsNewIrrigationsInJdbcBatches() {
+        int parcelCount = 10_000;
+        for (int i = 0; i < parcelCount; i++) {
+            persistParcel("parcel-" + i, null, crop);
+        }
+        flushAndClear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        irrigationScheduler.scheduleRequiredIrrigations();
+        flushAndClear();
+
+        int batchSize = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().getJdbcBatchSize();
+        log.info("Auto-scheduling tick over {} parcels: {} statements prepared for {} irrigations inserted " +
+                        "with batch size {}",
+                parcelCount, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(), batchSize);
+
+        // One candidate query, plus one sequence call and one insert batch per block of ids
+        assertThat(batchSize).isGreaterThan(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(parcelCount);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 2L * parcelCount / batchSize);
+    }
+
+    @Test
+    void executesOnlyIrrigationsDueInTheIndex() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Parcel parcel = persistParcel("indexed", now.minusDays(1), crop);
+        Irrigation due = persistScheduledIrrigation(parcel, now.minusMinutes(1));
+        Irrigation later = persistScheduledIrrigation(parcel, now.plusHours(2));
+        Irrigation finished = persistScheduledIrrigation(parcel, now.minusMinutes(2));
+        finished.setStatus(IrrigationStatus.COMPLETED);
+        flushAndClear();
+
+        when(executionConfig.getTickDeadlineSeconds()).thenReturn(10);
+        when(irrigationExecutionService.executeClaimedIrrigation(anyLong(), anyString())).thenReturn(true);
+        irrigationScheduler.rebuildDueIndex();
+        assertThat(irrigationDueIndex.size()).isEqualTo(2);
+
+        irrigationScheduler.executeScheduledIrrigations();
+
+        verify(irrigationExecutionService).executeClaimedIrrigation(eq(due.getId()), anyString());
+        verify(irrigationExecutionService, never()).executeClaimedIrrigation(eq(later.getId()), anyString());
+        verify(irrigationExecutionService, never()).executeClaimedIrrigation(eq(finished.getId()), anyString());
+        assertThat(irrigationDueIndex.nextDueAt()).contains(later.getScheduledDatetime());
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(meterRegistry.get("irrigation.execution.lag").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.items.processed").tag("job", "irrigation-execution").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void overdueCheckFailsOverdueIrrigationsInBatchesAndNotifiesOnlyThem() {
+        when(retryConfig.getOverdueHours()).thenReturn(1);
+        when(retryConfig.getOverdueBatchSize()).thenReturn(2);
+        LocalDateTime now = LocalDateTime.now();
+        Parcel parcel = persistParcel("overdue", now.minusDays(1), crop);
+
+        List<Long> overdueIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Irrigation irrigation = persistScheduledIrrigation(parcel, now.minusHours(2 + i));
+            if (i % 2 == 1) {
+                irrigation.setStatus(IrrigationStatus.RETRYING);
+            }
+            overdueIds.add(irrigation.getId());
+        }
+        // Farms may have no user, their irrigations are failed and notified all the same
+        Farm userlessFarm = new Farm();
+        userlessFarm.setName("Userless Farm");
+        entityManager.persist(userlessFarm);
+        Parcel userlessParcel = persistParcel("userless", now.minusDays(1), crop);
+        userlessParcel.setFarm(userlessFarm);
+        overdueIds.add(persistScheduledIrrigation(userlessParcel, now.minusHours(4)).getId());
+
+        // An executor has claimed this one, it is left for the execution to finish
+        Irrigation claimed = persistScheduledIrrigation(parcel, now.minusHours(3));
+        claimed.setClaimToken("node-2:claim");
+        claimed.setClaimedUntil(now.plusMinutes(5));
+
+        Irrigation withinDeadline = persistScheduledIrrigation(parcel, now.minusMinutes(30));
+        Irrigation completed = persistScheduledIrrigation(parcel, now.minusHours(3));
+        completed.setStatus(IrrigationStatus.COMPLETED);
+        flushAndClear();
+
+        irrigationScheduler.checkOverdueIrrigations();
+        flushAndClear();
+
+        assertThat(irrigationRepository.findAllById(overdueIds))
+                .hasSize(6)
+                .allSatisfy(irrigation -> assertThat(irrigation.getStatus()).isEqualTo(IrrigationStatus.FAILED));
+        assertThat(irrigationRepository.findById(claimed.getId()).orElseThrow().getStatus())
+                .isEqualTo(IrrigationStatus.SCHEDULED);
+        assertThat(irrigationRepository.findById(withinDeadline.getId()).orElseThrow().getStatus())
+                .isEqualTo(IrrigationStatus.SCHEDULED);
+        assertThat(irrigationRepository.findById(completed.getId()).orElseThrow().getStatus())
+                .isEqualTo(IrrigationStatus.COMPLETED);
+        for (Long id : overdueIds) {
+            verify(emailNotificationService).sendIrrigationFailedNotification(
+                    argThat(irrigation -> irrigation.getId().equals(id)), anyString());
+        }
+        verify(emailNotificationService, times(overdueIds.size())).sendIrrigationFailedNotification(any(), anyString());
+    }
+
+    private Parcel persistParcel(String name, LocalDateTime lastIrrigatedAt, Crop parcelCrop) {
+        Parcel parcel = new Parcel();
+        parcel.setName(name);
+        parcel.setArea(100.0);
+        parcel.setFarm(farm);
+        parcel.setCrop(parcelCrop);
+        parcel.setLastIrrigatedAt(lastIrrigatedAt);
+        entityManager.persist(parcel);
+        return parcel;
+    }
+
+    private Irrigation persistScheduledIrrigation(Parcel parcel, LocalDateTime scheduledDatetime) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setScheduledDatetime(scheduledDatetime);
+        irrigation.setStatus(IrrigationStatus.SCHEDULED);
+        entityManager.persist(irrigation);
+        return irrigation;
+    }
+
+    private List<Irrigation> scheduledFor(Parcel parcel) {
+        return irrigationRepository.findByParcelIdAndStatus(parcel.getId(), IrrigationStatus.SCHEDULED);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
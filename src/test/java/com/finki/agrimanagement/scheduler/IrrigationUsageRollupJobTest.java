@@ -0,0 +1,108 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.finki.agrimanagement.config.IrrigationUsageRollupConfig;
+import com.finki.agrimanagement.entity.UsageRollupBackfill;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.repository.UsageRollupBackfillRepository;
+import com.finki.agrimanagement.service.IrrigationUsageRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IrrigationUsageRollupJobTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final Map<String, UsageRollupBackfill> savedBackfills = new HashMap<>();
+
+    private IrrigationUsageRollupService rollupService;
+    private IrrigationRepository irrigationRepository;
+    private SchedulerLeaderLease leaderLease;
+    private IrrigationUsageRollupJob job;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = mock(IrrigationUsageRollupService.class);
+        irrigationRepository = mock(IrrigationRepository.class);
+        UsageRollupBackfillRepository backfillRepository = mock(UsageRollupBackfillRepository.class);
+        when(backfillRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(savedBackfills.get(invocation.<String>getArgument(0))));
+        when(backfillRepository.save(any(UsageRollupBackfill.class))).thenAnswer(invocation -> {
+            UsageRollupBackfill backfill = invocation.getArgument(0);
+            savedBackfills.put(backfill.getName(), backfill);
+            return backfill;
+        });
+        leaderLease = mock(SchedulerLeaderLease.class);
+        when(leaderLease.isLeader()).thenReturn(true);
+
+        IrrigationUsageRollupConfig rollupConfig = new IrrigationUsageRollupConfig();
+        rollupConfig.setBackfillChunkDays(10);
+        job = new IrrigationUsageRollupJob(rollupService, backfillRepository, irrigationRepository, leaderLease,
+                rollupConfig, new SchedulerMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    void backfillSkippedAtStartupByAFollowerRunsOnceItLeads() {
+        LocalDate earliest = today.minusDays(5);
+        when(irrigationRepository.findEarliestFinishedDatetime()).thenReturn(earliest.atTime(8, 0));
+        when(leaderLease.isLeader()).thenReturn(false);
+
+        job.backfillAfterStartup();
+        verify(rollupService, after(200).never()).rebuild(any(), any());
+
+        when(leaderLease.isLeader()).thenReturn(true);
+        job.resumeBackfill();
+        verify(rollupService, timeout(5_000)).rebuild(earliest, today);
+
+        job.resumeBackfill();
+        verify(rollupService, after(200).times(1)).rebuild(any(), any());
+    }
+
+    @Test
+    void backfillResumesFromTheFailedChunkOnTheNextStartup() {
+        LocalDate earliest = today.minusDays(30);
+        when(irrigationRepository.findEarliestFinishedDatetime()).thenReturn(earliest.atTime(8, 0));
+        when(rollupService.rebuild(earliest.plusDays(10), earliest.plusDays(20)))
+                .thenThrow(new QueryTimeoutException("Statement timed out"))
+                .thenReturn(0);
+
+        job.backfillIfMissing();
+
+        verify(rollupService).rebuild(earliest, earliest.plusDays(10));
+        verify(rollupService, times(0)).rebuild(earliest.plusDays(20), today);
+        assertThat(savedBackfills.get(IrrigationUsageRollupJob.BACKFILL_NAME).getNextDate())
+                .isEqualTo(earliest.plusDays(10));
+
+        job.backfillIfMissing();
+
+        verify(rollupService, times(1)).rebuild(earliest, earliest.plusDays(10));
+        verify(rollupService, times(2)).rebuild(earliest.plusDays(10), earliest.plusDays(20));
+        verify(rollupService).rebuild(earliest.plusDays(20), today);
+        assertThat(savedBackfills.get(IrrigationUsageRollupJob.BACKFILL_NAME).isDone()).isTrue();
+
+        job.backfillIfMissing();
+
+        verify(rollupService, times(4)).rebuild(any(), any());
+    }
+}
@@ -0,0 +1,165 @@
+package com.finki.agrimanagement.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.config.NotificationConfig;
+import com.finki.agrimanagement.config.NotificationDigestConfig;
+import com.finki.agrimanagement.config.NotificationOutboxConfig;
+import com.finki.agrimanagement.dto.email.NotificationDigestEmail;
+import com.finki.agrimanagement.entity.NotificationOutbox;
+import com.finki.agrimanagement.enums.NotificationOutboxStatus;
+import com.finki.agrimanagement.enums.NotificationType;
+import com.finki.agrimanagement.repository.NotificationOutboxRepository;
+import com.finki.agrimanagement.service.impl.EmailTemplateRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationOutboxDispatcherTest {
+
+    private NotificationOutboxRepository outboxRepository;
+    private JavaMailSender mailSender;
+    private EmailTemplateRenderer templateRenderer;
+    private NotificationOutboxConfig outboxConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        templateRenderer = mock(EmailTemplateRenderer.class);
+        when(templateRenderer.renderAll(any(), anyList())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(1).size(), "<p>Irrigation</p>"));
+        when(templateRenderer.renderDigest(any())).thenReturn("<p>Digest</p>");
+
+        outboxConfig = new NotificationOutboxConfig();
+        outboxConfig.setMaxPerSecond(1_000);
+        outboxConfig.setInitialBackoff(Duration.ofMinutes(1));
+        NotificationConfig notificationConfig = new NotificationConfig();
+        notificationConfig.setFrom("farm@example.com");
+        meterRegistry = new SimpleMeterRegistry();
+
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, outboxConfig, notificationConfig,
+                new NotificationDigestConfig(), mailSender, templateRenderer, new ObjectMapper(),
+                mock(SchedulerLeaderLease.class), meterRegistry);
+    }
+
+    @Test
+    void sendsABatchOverOneConnectionAndRetriesOnlyTheFailedMessage() throws Exception {
+        List<NotificationOutbox> batch = List.of(
+                notification(1L, NotificationType.IRRIGATION_FAILED),
+                notification(2L, NotificationType.IRRIGATION_FAILED),
+                notification(3L, NotificationType.IRRIGATION_FAILED));
+        stubPending(batch);
+        // The SMTP server rejects the second message only, as it would for a single bad recipient
+        doAnswer(invocation -> {
+            Object[] messages = invocation.getArguments();
+            throw new MailSendException(Map.of(messages[1], new RuntimeException("Recipient rejected")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        int sent = dispatcher.dispatchPending();
+
+        assertThat(sent).isEqualTo(2);
+        ArgumentCaptor<MimeMessage[]> sentMessages = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(1)).send(sentMessages.capture());
+        assertThat(sentMessages.getValue()).hasSize(3);
+        assertThat(batch.get(0).getStatus()).isEqualTo(NotificationOutboxStatus.SENT);
+        assertThat(batch.get(2).getStatus()).isEqualTo(NotificationOutboxStatus.SENT);
+        assertThat(batch.get(1).getStatus()).isEqualTo(NotificationOutboxStatus.PENDING);
+        assertThat(batch.get(1).getAttempts()).isEqualTo(1);
+        assertThat(batch.get(1).getLastError()).isEqualTo("Recipient rejected");
+        assertThat(batch.get(1).getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(50));
+        verify(outboxRepository).saveAll(batch);
+    }
+
+    @Test
+    void marksNotificationFailedAfterLastAttempt() throws Exception {
+        NotificationOutbox notification = notification(1L, NotificationType.IRRIGATION_FAILED);
+        notification.setAttempts(outboxConfig.getMaxAttempts() - 1);
+        stubPending(List.of(notification));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        int sent = dispatcher.dispatchPending();
+
+        assertThat(sent).isZero();
+        assertThat(notification.getStatus()).isEqualTo(NotificationOutboxStatus.FAILED);
+        assertThat(notification.getAttempts()).isEqualTo(outboxConfig.getMaxAttempts());
+    }
+
+    @Test
+    void combinesNotificationsOfOneRecipientAndTypeIntoADigest() throws Exception {
+        stubPending(List.of(
+                notification(1L, NotificationType.IRRIGATION_POSTPONED),
+                notification(2L, NotificationType.IRRIGATION_POSTPONED),
+                notification(3L, NotificationType.IRRIGATION_FAILED)));
+        // Notifications still inside the digest window are pulled into the digest as well
+        List<NotificationOutbox> waiting = List.of(
+                notification(2L, NotificationType.IRRIGATION_POSTPONED),
+                notification(4L, NotificationType.IRRIGATION_POSTPONED),
+                notification(5L, NotificationType.IRRIGATION_POSTPONED));
+        when(outboxRepository.findByStatusAndTypeAndRecipientAndAttemptsAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                eq(NotificationOutboxStatus.PENDING), eq(NotificationType.IRRIGATION_POSTPONED),
+                eq("farmer@example.com"), eq(0), any(), any()))
+                .thenReturn(waiting);
+
+        int sent = dispatcher.dispatchPending();
+
+        assertThat(sent).isEqualTo(5);
+        ArgumentCaptor<MimeMessage[]> sentMessages = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(sentMessages.capture());
+        assertThat(sentMessages.getValue()).hasSize(2);
+        assertThat(sentMessages.getValue()).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Irrigation - Parcel 3", "📋 4 Irrigations Postponed");
+
+        ArgumentCaptor<NotificationDigestEmail> digest = ArgumentCaptor.forClass(NotificationDigestEmail.class);
+        verify(templateRenderer).renderDigest(digest.capture());
+        assertThat(digest.getValue().count()).isEqualTo(4);
+        assertThat(digest.getValue().items()).extracting(NotificationDigestEmail.Item::parcelName)
+                .containsExactly("Parcel 1", "Parcel 2", "Parcel 4", "Parcel 5");
+        assertThat(waiting.subList(1, 3)).allMatch(notification -> notification.getStatus() == NotificationOutboxStatus.SENT);
+        assertThat(dispatcher.getDigestsSent()).isEqualTo(1);
+        assertThat(dispatcher.getDigestedNotifications()).isEqualTo(4);
+        assertThat(meterRegistry.get("notifications.digest.size").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.digest.size").summary().max()).isEqualTo(4);
+    }
+
+    private void stubPending(List<NotificationOutbox> batch) {
+        when(outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                eq(NotificationOutboxStatus.PENDING), any(), any()))
+                .thenReturn(batch, List.of());
+    }
+
+    private static NotificationOutbox notification(Long id, NotificationType type) {
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setId(id);
+        notification.setType(type);
+        notification.setRecipient("farmer@example.com");
+        notification.setSubject("Irrigation - Parcel " + id);
+        notification.setPayload("{\"parcelName\":\"Parcel " + id + "\",\"waterAmount\":100.0}");
+        return notification;
+    }
+}
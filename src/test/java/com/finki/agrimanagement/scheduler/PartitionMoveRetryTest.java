@@ -0,0 +1,48 @@
+package com.finki.agrimanagement.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionMoveRetryTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void rowMovedToAnotherPartitionIsLockedOnTheNextAttempt() {
+        Integer result = PartitionMoveRetry.run("Claiming", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("tuple to be locked was already moved to another partition");
+            }
+            return 5;
+        });
+
+        assertThat(result).isEqualTo(5);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        assertThatThrownBy(() -> PartitionMoveRetry.run("Claiming", () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("tuple to be locked was already moved to another partition");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(attempts).hasValue(PartitionMoveRetry.MAX_ATTEMPTS);
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        assertThatThrownBy(() -> PartitionMoveRetry.run("Claiming", () -> {
+            attempts.incrementAndGet();
+            throw new QueryTimeoutException("statement timeout");
+        })).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+}
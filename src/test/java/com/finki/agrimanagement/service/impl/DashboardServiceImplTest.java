@@ -0,0 +1,212 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.dto.response.CropAreaResponseDTO;
+import com.finki.agrimanagement.dto.response.FarmDashboardResponseDTO;
+import com.finki.agrimanagement.dto.response.WaterUsageResponseDTO;
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.enums.UsagePeriod;
+import com.finki.agrimanagement.exception.ResourceNotFoundException;
+import com.finki.agrimanagement.service.DashboardService;
+import com.finki.agrimanagement.service.IrrigationUsageRollupService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * Checks the dashboard aggregates against a small farm whose totals are known,
+ * including rows of another farm that must not leak into the figures.
+ * Water usage is read from the daily usage rollup, which is rebuilt from the seeded irrigations.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DashboardServiceImpl.class, IrrigationUsageRollupServiceImpl.class})
+class DashboardServiceImplTest {
+
+    // A Wednesday, so the week and month buckets below are easy to tell apart
+    private static final LocalDate DAY = LocalDate.of(2026, 4, 29);
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private IrrigationUsageRollupService usageRollupService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User stranger;
+    private Farm farm;
+
+    @BeforeEach
+    void seed() {
+        owner = user("owner@example.com");
+        stranger = user("stranger@example.com");
+
+        Crop wheat = new Crop();
+        wheat.setName("Wheat");
+        entityManager.persist(wheat);
+
+        farm = farm("Dashboard Farm", owner);
+        Farm otherFarm = farm("Other Farm", stranger);
+
+        Parcel north = parcel("North", 100.0, farm, wheat);
+        Parcel south = parcel("South", 50.0, farm, wheat);
+        parcel("Fallow", 25.0, farm, null);
+        Parcel foreign = parcel("Foreign", 1000.0, otherFarm, wheat);
+
+        // Two completed on the same day, one the next day (Thursday), one on Friday of the next month
+        irrigation(north, IrrigationStatus.COMPLETED, DAY.atTime(6, 0), 100.0, 30);
+        irrigation(south, IrrigationStatus.COMPLETED, DAY.atTime(18, 0), 50.0, 15);
+        irrigation(north, IrrigationStatus.COMPLETED, DAY.plusDays(1).atTime(6, 0), 70.0, 20);
+        irrigation(north, IrrigationStatus.COMPLETED, DAY.plusDays(2).atTime(6, 0), 30.0, 10);
+        irrigation(north, IrrigationStatus.FAILED, DAY.atTime(7, 0), 100.0, 30);
+        irrigation(south, IrrigationStatus.STOPPED, DAY.atTime(8, 0), 50.0, 15);
+        irrigation(foreign, IrrigationStatus.COMPLETED, DAY.atTime(6, 0), 5000.0, 60);
+
+        // Overdue: two pending irrigations and one pending fertilization in the past
+        irrigation(north, IrrigationStatus.SCHEDULED, null, 100.0, 30)
+                .setScheduledDatetime(LocalDateTime.now().minusHours(2));
+        irrigation(south, IrrigationStatus.RETRYING, null, 50.0, 15)
+                .setScheduledDatetime(LocalDateTime.now().minusHours(1));
+        irrigation(south, IrrigationStatus.SCHEDULED, null, 50.0, 15)
+                .setScheduledDatetime(LocalDateTime.now().plusDays(1));
+        fertilization(north, FertilizationStatus.PENDING, LocalDateTime.now().minusDays(1));
+        fertilization(south, FertilizationStatus.SCHEDULED, LocalDateTime.now().plusDays(3));
+        fertilization(foreign, FertilizationStatus.PENDING, LocalDateTime.now().minusDays(1));
+
+        entityManager.flush();
+        usageRollupService.rebuild(DAY.minusDays(7), DAY.plusDays(7));
+        entityManager.clear();
+    }
+
+    @Test
+    void dashboardCountsOutcomesOverdueWorkAndCropAreas() {
+        FarmDashboardResponseDTO dashboard = dashboardService.getFarmDashboard(
+                farm.getId(), DAY.minusDays(1), DAY.plusDays(7), owner);
+
+        assertThat(dashboard.getCompletedIrrigations()).isEqualTo(4);
+        assertThat(dashboard.getFailedIrrigations()).isEqualTo(1);
+        assertThat(dashboard.getStoppedIrrigations()).isEqualTo(1);
+        assertThat(dashboard.getSuccessRate()).isEqualTo(0.8);
+        assertThat(dashboard.getFailureRate()).isEqualTo(0.2);
+        assertThat(dashboard.getOverdueIrrigations()).isEqualTo(2);
+        assertThat(dashboard.getOverdueFertilizations()).isEqualTo(1);
+        assertThat(dashboard.getCropAreas())
+                .extracting(CropAreaResponseDTO::getCropName, CropAreaResponseDTO::getParcelCount,
+                        CropAreaResponseDTO::getTotalArea)
+                .containsExactlyInAnyOrder(
+                        tuple("Wheat", 2L, 150.0),
+                        tuple(null, 1L, 25.0));
+    }
+
+    @Test
+    void waterUsageIsSummedPerPeriod() {
+        List<WaterUsageResponseDTO> daily = dashboardService.getWaterUsage(
+                farm.getId(), UsagePeriod.DAY, DAY.minusDays(1), DAY.plusDays(7), owner);
+        assertThat(daily)
+                .extracting(WaterUsageResponseDTO::getPeriodStart, WaterUsageResponseDTO::getWaterLiters,
+                        WaterUsageResponseDTO::getIrrigationCount)
+                .containsExactly(
+                        tuple(DAY, 150.0, 2L),
+                        tuple(DAY.plusDays(1), 70.0, 1L),
+                        tuple(DAY.plusDays(2), 30.0, 1L));
+        assertThat(daily.get(0).getDurationMinutes()).isEqualTo(45);
+
+        List<WaterUsageResponseDTO> weekly = dashboardService.getWaterUsage(
+                farm.getId(), UsagePeriod.WEEK, DAY.minusDays(1), DAY.plusDays(7), owner);
+        assertThat(weekly)
+                .extracting(WaterUsageResponseDTO::getPeriodStart, WaterUsageResponseDTO::getWaterLiters)
+                .containsExactly(tuple(LocalDate.of(2026, 4, 27), 250.0));
+
+        List<WaterUsageResponseDTO> monthly = dashboardService.getWaterUsage(
+                farm.getId(), UsagePeriod.MONTH, DAY.minusDays(1), DAY.plusDays(7), owner);
+        assertThat(monthly)
+                .extracting(WaterUsageResponseDTO::getPeriodStart, WaterUsageResponseDTO::getWaterLiters)
+                .containsExactly(
+                        tuple(LocalDate.of(2026, 4, 1), 220.0),
+                        tuple(LocalDate.of(2026, 5, 1), 30.0));
+    }
+
+    @Test
+    void foreignFarmAndReversedRangeAreRejected() {
+        assertThatThrownBy(() -> dashboardService.getFarmDashboard(farm.getId(), null, null, stranger))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> dashboardService.getWaterUsage(farm.getId(), UsagePeriod.DAY,
+                DAY.plusDays(1), DAY, owner))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private User user(String email) {
+        User user = User.builder()
+                .firstName("Dash")
+                .lastName("Board")
+                .email(email)
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Farm farm(String name, User user) {
+        Farm farm = new Farm();
+        farm.setName(name);
+        farm.setUser(user);
+        entityManager.persist(farm);
+        return farm;
+    }
+
+    private Parcel parcel(String name, double area, Farm farm, Crop crop) {
+        Parcel parcel = new Parcel();
+        parcel.setName(name);
+        parcel.setArea(area);
+        parcel.setFarm(farm);
+        parcel.setCrop(crop);
+        entityManager.persist(parcel);
+        return parcel;
+    }
+
+    private Irrigation irrigation(Parcel parcel, IrrigationStatus status, LocalDateTime finished,
+                                  double waterLiters, int durationMinutes) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setStatus(status);
+        irrigation.setScheduledDatetime(finished != null ? finished.minusMinutes(durationMinutes) : LocalDateTime.now());
+        irrigation.setFinishedDatetime(finished);
+        irrigation.setWaterAmountLiters(waterLiters);
+        irrigation.setDurationMinutes(durationMinutes);
+        entityManager.persist(irrigation);
+        return irrigation;
+    }
+
+    private void fertilization(Parcel parcel, FertilizationStatus status, LocalDateTime scheduled) {
+        Fertilization fertilization = new Fertilization();
+        fertilization.setParcel(parcel);
+        fertilization.setStatus(status);
+        fertilization.setScheduledDatetime(scheduled);
+        fertilization.setFertilizerType("NPK");
+        entityManager.persist(fertilization);
+    }
+}
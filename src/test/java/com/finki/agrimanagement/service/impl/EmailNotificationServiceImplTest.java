@@ -0,0 +1,83 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.config.NotificationConfig;
+import com.finki.agrimanagement.config.NotificationDigestConfig;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.NotificationOutbox;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailNotificationServiceImplTest {
+
+    private NotificationOutboxRepository outboxRepository;
+    private NotificationConfig notificationConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private Irrigation irrigation;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        notificationConfig = new NotificationConfig();
+        notificationConfig.setEnabled(true);
+        notificationConfig.setTo("farmer@example.com");
+        meterRegistry = new SimpleMeterRegistry();
+
+        Farm farm = new Farm();
+        farm.setName("Farm");
+        Parcel parcel = new Parcel();
+        parcel.setName("Parcel 1");
+        parcel.setFarm(farm);
+        irrigation = new Irrigation();
+        irrigation.setId(1L);
+        irrigation.setParcel(parcel);
+        irrigation.setWaterAmountLiters(100.0);
+        irrigation.setScheduledDatetime(LocalDateTime.of(2026, 3, 10, 8, 0));
+    }
+
+    @Test
+    void outboxWriteFailuresArePassedOnToRollTheCallerBack() {
+        when(outboxRepository.save(any(NotificationOutbox.class)))
+                .thenThrow(new DataIntegrityViolationException("Outbox insert failed"));
+        EmailNotificationServiceImpl notificationService = new EmailNotificationServiceImpl(outboxRepository,
+                notificationConfig, new NotificationDigestConfig(), new ObjectMapper(), meterRegistry);
+
+        assertThatThrownBy(() -> notificationService.sendIrrigationFailedNotification(irrigation, "Overdue"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(meterRegistry.get("notifications.queue.failures").tag("type", "IRRIGATION_FAILED")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void notificationsThatCannotBeSerializedAreDropped() throws Exception {
+        ObjectMapper objectMapper = mock(ObjectMapper.class);
+        when(objectMapper.writeValueAsString(any()))
+                .thenThrow(JsonMappingException.fromUnexpectedIOE(new IOException("Cannot serialize")));
+        EmailNotificationServiceImpl notificationService = new EmailNotificationServiceImpl(outboxRepository,
+                notificationConfig, new NotificationDigestConfig(), objectMapper, meterRegistry);
+
+        assertThatCode(() -> notificationService.sendIrrigationFailedNotification(irrigation, "Overdue"))
+                .doesNotThrowAnyException();
+        verify(outboxRepository, never()).save(any());
+        assertThat(meterRegistry.get("notifications.queue.failures").tag("type", "IRRIGATION_FAILED")
+                .counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.dto.email.EmailViewModel;
+import com.finki.agrimanagement.dto.email.FertilizationCancelledEmail;
+import com.finki.agrimanagement.dto.email.FertilizationCompletedEmail;
+import com.finki.agrimanagement.dto.email.FertilizationDueEmail;
+import com.finki.agrimanagement.dto.email.IrrigationCompletedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationFailedEmail;
+import com.finki.agrimanagement.dto.email.IrrigationPostponedEmail;
+import com.finki.agrimanagement.dto.email.NotificationDigestEmail;
+import com.finki.agrimanagement.enums.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateRendererTest {
+
+    private final EmailTemplateRenderer renderer = new EmailTemplateRenderer(templateEngine());
+
+    @Test
+    void rendersEveryNotificationTypeFromItsViewModel() {
+        List<EmailViewModel> emails = List.of(
+                new IrrigationCompletedEmail("North", "Green Farm", "Pepper", 120.0,
+                        "01/05/2026 06:00", "01/05/2026 06:01", "01/05/2026 06:31"),
+                new IrrigationFailedEmail("North", "Green Farm", "Pepper", 120.0,
+                        "01/05/2026 06:00", "Valve did not open", 2),
+                new IrrigationPostponedEmail("North", "Green Farm", "Pepper", 120.0,
+                        "01/05/2026 06:00", "02/05/2026 06:00", "Heavy rain"),
+                new FertilizationDueEmail("North", "Green Farm", "Pepper", "NPK", "01/05/2026 08:00"),
+                new FertilizationCompletedEmail("North", "Green Farm", "Pepper", "NPK",
+                        "01/05/2026 08:00", "01/05/2026 09:00"),
+                new FertilizationCancelledEmail("North", "Green Farm", "Pepper", "NPK", "01/05/2026 08:00"));
+
+        for (EmailViewModel email : emails) {
+            assertThat(renderer.render(email))
+                    .as(email.type().name())
+                    .contains("North", "Green Farm", "Pepper", email.digestTime());
+        }
+        assertThat(renderer.render(emails.get(2))).contains("Heavy rain");
+    }
+
+    @Test
+    void bulkRenderMatchesRenderingOneByOne() {
+        List<FertilizationDueEmail> emails = List.of(
+                new FertilizationDueEmail("North", "Green Farm", "Pepper", "NPK", "01/05/2026 08:00"),
+                new FertilizationDueEmail("South", "Green Farm", "Tomato", "Urea", "02/05/2026 08:00"),
+                new FertilizationDueEmail("East", "Blue Farm", "N/A", null, "03/05/2026 08:00"));
+
+        List<String> rendered = renderer.renderAll(NotificationType.FERTILIZATION_DUE, emails);
+
+        assertThat(rendered).containsExactly(
+                renderer.render(emails.get(0)), renderer.render(emails.get(1)), renderer.render(emails.get(2)));
+        assertThatThrownBy(() -> renderer.renderAll(NotificationType.FERTILIZATION_COMPLETED, emails))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rendersDigestItems() {
+        NotificationDigestEmail digest = new NotificationDigestEmail("Irrigations Postponed", 2,
+                "01/05/2026 06:00", "01/05/2026 06:04", List.of(
+                new NotificationDigestEmail.Item("Green Farm", "North", "Pepper", "01/05/2026 06:00", "Heavy rain"),
+                new NotificationDigestEmail.Item("Green Farm", "South", "Tomato", "01/05/2026 06:04", "Drizzle")));
+
+        assertThat(renderer.renderDigest(digest))
+                .contains("Irrigations Postponed", "North", "South", "Heavy rain", "Drizzle", "01/05/2026 06:04");
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        return templateEngine;
+    }
+}
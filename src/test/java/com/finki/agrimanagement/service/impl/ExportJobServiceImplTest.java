@@ -0,0 +1,124 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.ExportJobConfig;
+import com.finki.agrimanagement.dto.request.ExportJobRequestDTO;
+import com.finki.agrimanagement.dto.response.ExportJobResponseDTO;
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportJobStatus;
+import com.finki.agrimanagement.enums.ExportReportType;
+import com.finki.agrimanagement.exception.ExportJobNotReadyException;
+import com.finki.agrimanagement.exception.ExportQueueFullException;
+import com.finki.agrimanagement.service.ExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ExportJobServiceImplTest {
+
+    @TempDir
+    Path storageDirectory;
+
+    private ExportService exportService;
+    private ExportJobConfig jobConfig;
+    private ExportJobServiceImpl exportJobService;
+    private final CountDownLatch releaseExport = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        exportService = mock(ExportService.class);
+        doAnswer(invocation -> {
+            releaseExport.await(5, TimeUnit.SECONDS);
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,parcel\r\n1,North\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeAllIrrigations(eq(ExportFormat.CSV), any());
+
+        jobConfig = new ExportJobConfig();
+        jobConfig.setWorkerThreads(1);
+        jobConfig.setQueueCapacity(1);
+        jobConfig.setStorageDirectory(storageDirectory.toString());
+        exportJobService = new ExportJobServiceImpl(exportService, jobConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseExport.countDown();
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void identicalConcurrentRequestsShareOneJob() throws Exception {
+        ExportJobResponseDTO first = exportJobService.submitJob(request(ExportReportType.IRRIGATIONS, ExportFormat.CSV));
+        ExportJobResponseDTO second = exportJobService.submitJob(request(ExportReportType.IRRIGATIONS, ExportFormat.CSV));
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThatThrownBy(() -> exportJobService.getJobResult(first.getId()))
+                .isInstanceOf(ExportJobNotReadyException.class);
+
+        releaseExport.countDown();
+        ExportJobResponseDTO completed = awaitCompletion(first.getId());
+
+        assertThat(completed.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(completed.getFilename()).startsWith("irrigations-all-").endsWith(".csv");
+        assertThat(exportJobService.getJobResult(first.getId()).getContentAsString(StandardCharsets.UTF_8))
+                .contains("1,North");
+        verify(exportService, times(1)).writeAllIrrigations(eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void rejectsSubmissionsWhenQueueIsFull() {
+        exportJobService.submitJob(request(ExportReportType.IRRIGATIONS, ExportFormat.CSV));
+        exportJobService.submitJob(request(ExportReportType.CROP_MANAGEMENT, ExportFormat.XLSX));
+
+        assertThatThrownBy(() -> exportJobService.submitJob(request(ExportReportType.FARM_OVERVIEW, ExportFormat.XLSX)))
+                .isInstanceOf(ExportQueueFullException.class);
+    }
+
+    @Test
+    void expiredJobsAreRemovedWithTheirFiles() throws Exception {
+        jobConfig.setResultTtl(Duration.ZERO);
+        releaseExport.countDown();
+        ExportJobResponseDTO job = exportJobService.submitJob(request(ExportReportType.IRRIGATIONS, ExportFormat.CSV));
+        awaitCompletion(job.getId());
+        Thread.sleep(5);
+
+        exportJobService.removeExpiredJobs();
+
+        assertThat(storageDirectory).isEmptyDirectory();
+    }
+
+    private ExportJobResponseDTO awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ExportJobResponseDTO job = exportJobService.getJob(jobId);
+            if (job.getExpiresAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Export job " + jobId + " did not finish");
+    }
+
+    private static ExportJobRequestDTO request(ExportReportType reportType, ExportFormat format) {
+        ExportJobRequestDTO dto = new ExportJobRequestDTO();
+        dto.setReportType(reportType);
+        dto.setFormat(format);
+        return dto;
+    }
+}
@@ -0,0 +1,180 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.config.ExportConfig;
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Fertilization;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.FertilizationStatus;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.service.ExportService;
+import com.finki.agrimanagement.service.ParcelService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the exports against N+1 queries: every export must run a fixed number of
+ * statements, however many farms, parcels, irrigations and fertilizations there are.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ExportServiceImpl.class, ExportConfig.class, JacksonAutoConfiguration.class, SimpleMeterRegistry.class})
+class ExportQueryCountTest {
+
+    private static final int MAX_STATEMENTS_PER_EXPORT = 4;
+    private static final int FARM_COUNT = 3;
+    private static final int PARCELS_PER_FARM = 4;
+    private static final int RECORDS_PER_PARCEL = 5;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ParcelService parcelService;
+
+    private Statistics statistics;
+    private Long farmId;
+    private Long parcelId;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .firstName("Query")
+                .lastName("Count")
+                .email("query-count@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        Crop pepper = crop("Pepper");
+        Crop tomato = crop("Tomato");
+
+        for (int f = 0; f < FARM_COUNT; f++) {
+            Farm farm = new Farm();
+            farm.setName("Farm " + f);
+            farm.setUser(user);
+            entityManager.persist(farm);
+            farmId = farm.getId();
+
+            for (int p = 0; p < PARCELS_PER_FARM; p++) {
+                Parcel parcel = new Parcel();
+                parcel.setName("Parcel " + f + "-" + p);
+                parcel.setArea(10.0);
+                parcel.setFarm(farm);
+                parcel.setCrop(p % 2 == 0 ? pepper : tomato);
+                entityManager.persist(parcel);
+                parcelId = parcel.getId();
+
+                for (int r = 0; r < RECORDS_PER_PARCEL; r++) {
+                    Irrigation irrigation = new Irrigation();
+                    irrigation.setParcel(parcel);
+                    irrigation.setScheduledDatetime(LocalDateTime.now().minusDays(r));
+                    irrigation.setStatus(IrrigationStatus.COMPLETED);
+                    entityManager.persist(irrigation);
+
+                    Fertilization fertilization = new Fertilization();
+                    fertilization.setParcel(parcel);
+                    fertilization.setScheduledDatetime(LocalDateTime.now().minusDays(r));
+                    fertilization.setStatus(FertilizationStatus.COMPLETED);
+                    entityManager.persist(fertilization);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void workbookExportsRunAFixedNumberOfStatements() throws Exception {
+        assertStatementCount("farm overview", () -> exportService.exportFarmOverviewReport().close());
+        assertStatementCount("all irrigations", () -> exportService.exportAllIrrigations().close());
+        assertStatementCount("irrigations by farm", () -> exportService.exportIrrigationByFarm(farmId).close());
+        assertStatementCount("all fertilizations", () -> exportService.exportAllFertilizations().close());
+        assertStatementCount("fertilizations by farm", () -> exportService.exportFertilizationByFarm(farmId).close());
+        assertStatementCount("parcel activity", () -> exportService.exportParcelActivityReport(parcelId).close());
+        assertStatementCount("crop management", () -> exportService.exportCropManagementReport().close());
+        assertStatementCount("complete farm", () -> exportService.exportCompleteFarmReport(farmId).close());
+    }
+
+    @Test
+    void textExportsRunAFixedNumberOfStatements() throws Exception {
+        for (ExportFormat format : new ExportFormat[]{ExportFormat.CSV, ExportFormat.NDJSON}) {
+            assertStatementCount("irrigations " + format,
+                    () -> exportService.writeAllIrrigations(format, OutputStream.nullOutputStream()));
+            assertStatementCount("irrigations by farm " + format,
+                    () -> exportService.writeIrrigationsByFarm(farmId, format, OutputStream.nullOutputStream()));
+            assertStatementCount("fertilizations " + format,
+                    () -> exportService.writeAllFertilizations(format, OutputStream.nullOutputStream()));
+            assertStatementCount("fertilizations by farm " + format,
+                    () -> exportService.writeFertilizationsByFarm(farmId, format, OutputStream.nullOutputStream()));
+        }
+    }
+
+    @Test
+    void cropManagementAggregatesParcelsInTheQuery() throws Exception {
+        try (Workbook workbook = exportService.exportCropManagementReport()) {
+            Sheet distribution = workbook.getSheet("Crop Distribution");
+
+            assertThat(distribution.getRow(1).getCell(0).getStringCellValue()).isEqualTo("Pepper");
+            assertThat(distribution.getRow(1).getCell(1).getNumericCellValue())
+                    .isEqualTo(FARM_COUNT * PARCELS_PER_FARM / 2.0);
+            assertThat(distribution.getRow(1).getCell(2).getNumericCellValue())
+                    .isEqualTo(FARM_COUNT * PARCELS_PER_FARM / 2.0 * 10.0);
+        }
+    }
+
+    private void assertStatementCount(String export, Export action) throws Exception {
+        entityManager.clear();
+        statistics.clear();
+
+        action.run();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("statements issued by the %s export", export)
+                .isLessThanOrEqualTo(MAX_STATEMENTS_PER_EXPORT);
+    }
+
+    private Crop crop(String name) {
+        Crop crop = new Crop();
+        crop.setName(name);
+        entityManager.persist(crop);
+        return crop;
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void run() throws Exception;
+    }
+}
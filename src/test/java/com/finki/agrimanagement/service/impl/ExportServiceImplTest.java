@@ -0,0 +1,181 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finki.agrimanagement.config.ExportConfig;
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.ExportFormat;
+import com.finki.agrimanagement.enums.ExportReportType;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.service.ExportService;
+import com.finki.agrimanagement.service.ParcelService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ExportServiceImpl.class, ExportConfig.class, JacksonAutoConfiguration.class, SimpleMeterRegistry.class})
+class ExportServiceImplTest {
+
+    private static final int IRRIGATION_COUNT = 2_500;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ParcelService parcelService;
+
+    private Farm farm;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email("export-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        farm = new Farm();
+        farm.setName("Export Farm");
+        farm.setUser(user);
+        entityManager.persist(farm);
+
+        Crop crop = new Crop();
+        crop.setName("Pepper");
+        entityManager.persist(crop);
+
+        Parcel parcel = new Parcel();
+        parcel.setName("Export Parcel With A Fairly Long Name");
+        parcel.setArea(50.0);
+        parcel.setFarm(farm);
+        parcel.setCrop(crop);
+        entityManager.persist(parcel);
+
+        for (int i = 0; i < IRRIGATION_COUNT; i++) {
+            Irrigation irrigation = new Irrigation();
+            irrigation.setParcel(parcel);
+            irrigation.setScheduledDatetime(LocalDateTime.now().minusHours(i));
+            irrigation.setStatus(IrrigationStatus.COMPLETED);
+            irrigation.setDurationMinutes(30);
+            irrigation.setWaterAmountLiters(100.0);
+            entityManager.persist(irrigation);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void streamsIrrigationsThroughBoundedRowWindow() throws Exception {
+        Workbook workbook = exportService.exportAllIrrigations();
+
+        assertThat(workbook).isInstanceOf(SXSSFWorkbook.class);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount())
+                .as("irrigations are detached while writing")
+                .isLessThan(10);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeWorkbook(ExportReportType.IRRIGATIONS, workbook, out);
+
+        try (Workbook written = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = written.getSheet("Irrigation Report");
+            assertThat(sheet.getLastRowNum()).isEqualTo(IRRIGATION_COUNT);
+            assertThat(sheet.getRow(1).getCell(2).getStringCellValue()).isEqualTo("Export Farm");
+            assertThat(sheet.getColumnWidth(1)).isEqualTo(("Export Parcel With A Fairly Long Name".length() + 2) * 256);
+        }
+    }
+
+    @Test
+    void exportsIrrigationsOfOneFarm() throws Exception {
+        Workbook workbook = exportService.exportIrrigationByFarm(farm.getId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+
+        try (Workbook written = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(written.getSheetAt(0).getLastRowNum()).isEqualTo(IRRIGATION_COUNT);
+        }
+    }
+
+    @Test
+    void writesIrrigationsAsCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        double rowsBefore = recorded("exports.rows", ExportFormat.CSV);
+        double bytesBefore = recorded("exports.bytes", ExportFormat.CSV);
+
+        exportService.writeAllIrrigations(ExportFormat.CSV, out);
+
+        assertThat(recorded("exports.rows", ExportFormat.CSV) - rowsBefore).isEqualTo(IRRIGATION_COUNT);
+        assertThat(recorded("exports.bytes", ExportFormat.CSV) - bytesBefore).isEqualTo(out.size());
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(IRRIGATION_COUNT + 1);
+        assertThat(lines.get(0)).isEqualTo("id,parcel,farm,scheduledDatetime,durationMinutes,waterAmountLiters," +
+                "status,startDatetime,finishedDatetime,retryCount");
+        assertThat(lines.get(1)).contains(",Export Parcel With A Fairly Long Name,Export Farm,")
+                .contains(",30,100.0,COMPLETED,,,0");
+    }
+
+    @Test
+    void writesIrrigationsOfOneFarmAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeIrrigationsByFarm(farm.getId(), ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(IRRIGATION_COUNT);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("farm").asText()).isEqualTo("Export Farm");
+        assertThat(first.get("waterAmountLiters").asDouble()).isEqualTo(100.0);
+        assertThat(first.get("startDatetime").isNull()).isTrue();
+        assertThat(LocalDateTime.parse(first.get("scheduledDatetime").asText())).isBefore(LocalDateTime.now());
+    }
+
+    private double recorded(String meter, ExportFormat format) {
+        DistributionSummary summary = meterRegistry.find(meter)
+                .tags("report", ExportReportType.IRRIGATIONS.name(), "format", format.name())
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
@@ -0,0 +1,147 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.mapper.IrrigationMapperImpl;
+import com.finki.agrimanagement.repository.IrrigationRepository;
+import com.finki.agrimanagement.scheduler.IrrigationDueIndex;
+import com.finki.agrimanagement.service.EmailNotificationService;
+import com.finki.agrimanagement.service.IrrigationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({IrrigationServiceImpl.class, IrrigationMapperImpl.class})
+class IrrigationServiceImplTest {
+
+    private static final String CLAIM_TOKEN = "node-1:claim";
+
+    @Autowired
+    private IrrigationService irrigationService;
+
+    @Autowired
+    private IrrigationRepository irrigationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private IrrigationDueIndex irrigationDueIndex;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    private final LocalDateTime scheduledDatetime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private Parcel parcel;
+
+    @BeforeEach
+    void seed() {
+        User user = User.builder()
+                .firstName("Postpone")
+                .lastName("User")
+                .email("postpone-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        Farm farm = new Farm();
+        farm.setName("Postpone Farm");
+        farm.setUser(user);
+        entityManager.persist(farm);
+
+        parcel = new Parcel();
+        parcel.setName("Postpone Parcel");
+        parcel.setArea(100.0);
+        parcel.setFarm(farm);
+        entityManager.persist(parcel);
+    }
+
+    @Test
+    void claimedIrrigationIsPostponedAndReleasedWithItsNotification() {
+        Irrigation irrigation = persistClaimedIrrigation(IrrigationStatus.RETRYING, CLAIM_TOKEN);
+
+        boolean postponed = irrigationService.postponeClaimedIrrigation(irrigation.getId(), CLAIM_TOKEN, 2,
+                "rain expected in next hour");
+        flushAndClear();
+
+        assertThat(postponed).isTrue();
+        Irrigation reloaded = irrigationRepository.findById(irrigation.getId()).orElseThrow();
+        assertThat(reloaded.getScheduledDatetime()).isEqualTo(scheduledDatetime.plusHours(2));
+        assertThat(reloaded.getStatusDescription()).isEqualTo("Postponed by 2 hours - rain expected in next hour");
+        assertThat(reloaded.getClaimToken()).isNull();
+        assertThat(reloaded.getClaimedUntil()).isNull();
+        verify(irrigationDueIndex).track(argThat(tracked -> tracked.getId().equals(irrigation.getId())));
+        verify(emailNotificationService).sendIrrigationPostponedNotification(
+                argThat(notified -> notified.getId().equals(irrigation.getId())), eq("rain expected in next hour"));
+    }
+
+    @Test
+    void irrigationClaimedByAnotherInstanceIsLeftAlone() {
+        Irrigation irrigation = persistClaimedIrrigation(IrrigationStatus.SCHEDULED, "node-2:claim");
+
+        boolean postponed = irrigationService.postponeClaimedIrrigation(irrigation.getId(), CLAIM_TOKEN, 2,
+                "currently raining");
+        flushAndClear();
+
+        assertThat(postponed).isFalse();
+        Irrigation reloaded = irrigationRepository.findById(irrigation.getId()).orElseThrow();
+        assertThat(reloaded.getScheduledDatetime()).isEqualTo(scheduledDatetime);
+        assertThat(reloaded.getClaimToken()).isEqualTo("node-2:claim");
+        verify(emailNotificationService, never()).sendIrrigationPostponedNotification(any(), anyString());
+    }
+
+    @Test
+    void finishedIrrigationIsNotPostponed() {
+        Irrigation irrigation = persistClaimedIrrigation(IrrigationStatus.FAILED, CLAIM_TOKEN);
+
+        boolean postponed = irrigationService.postponeClaimedIrrigation(irrigation.getId(), CLAIM_TOKEN, 2,
+                "currently raining");
+        flushAndClear();
+
+        assertThat(postponed).isFalse();
+        assertThat(irrigationRepository.findById(irrigation.getId()).orElseThrow().getScheduledDatetime())
+                .isEqualTo(scheduledDatetime);
+        verify(emailNotificationService, never()).sendIrrigationPostponedNotification(any(), anyString());
+    }
+
+    private Irrigation persistClaimedIrrigation(IrrigationStatus status, String claimToken) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setScheduledDatetime(scheduledDatetime);
+        irrigation.setStatus(status);
+        irrigation.setClaimToken(claimToken);
+        irrigation.setClaimedUntil(scheduledDatetime.plusMinutes(5));
+        entityManager.persist(irrigation);
+        flushAndClear();
+        return irrigation;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,146 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.IrrigationDailyUsage;
+import com.finki.agrimanagement.entity.IrrigationDailyUsageId;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.repository.IrrigationDailyUsageRepository;
+import com.finki.agrimanagement.service.IrrigationUsageRollupService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the incrementally maintained daily usage rows match a rebuild from the irrigation table,
+ * and that rebuilding a range twice gives the same rows.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(IrrigationUsageRollupServiceImpl.class)
+class IrrigationUsageRollupServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private IrrigationUsageRollupService rollupService;
+
+    @Autowired
+    private IrrigationDailyUsageRepository dailyUsageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Parcel parcel;
+
+    @BeforeEach
+    void seed() {
+        User user = User.builder()
+                .firstName("Roll")
+                .lastName("Up")
+                .email("rollup-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        Farm farm = new Farm();
+        farm.setName("Rollup Farm");
+        farm.setUser(user);
+        entityManager.persist(farm);
+
+        parcel = new Parcel();
+        parcel.setName("Rollup Parcel");
+        parcel.setArea(80.0);
+        parcel.setFarm(farm);
+        entityManager.persist(parcel);
+    }
+
+    @Test
+    void incrementalUpdatesMatchARebuild() {
+        record(IrrigationStatus.COMPLETED, DAY.atTime(6, 0), 100.0, 30);
+        record(IrrigationStatus.COMPLETED, DAY.atTime(18, 0), 40.0, 10);
+        record(IrrigationStatus.STOPPED, DAY.atTime(9, 0), 25.0, 5);
+        record(IrrigationStatus.COMPLETED, DAY.plusDays(1).atTime(6, 0), 60.0, 20);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> incremental = rows();
+        IrrigationDailyUsage completedOnDay = dailyUsageRepository.findById(
+                new IrrigationDailyUsageId(parcel.getId(), DAY, IrrigationStatus.COMPLETED)).orElseThrow();
+        assertThat(completedOnDay.getWaterLiters()).isEqualTo(140.0);
+        assertThat(completedOnDay.getDurationMinutes()).isEqualTo(40);
+        assertThat(completedOnDay.getIrrigationCount()).isEqualTo(2);
+
+        assertThat(rollupService.rebuild(DAY.minusDays(1), DAY.plusDays(2))).isEqualTo(3);
+        entityManager.clear();
+        assertThat(rows()).containsExactlyElementsOf(incremental);
+
+        rollupService.rebuild(DAY.minusDays(1), DAY.plusDays(2));
+        entityManager.clear();
+        assertThat(rows()).containsExactlyElementsOf(incremental);
+    }
+
+    @Test
+    void rebuildOnlyTouchesTheGivenDays() {
+        record(IrrigationStatus.COMPLETED, DAY.atTime(6, 0), 100.0, 30);
+        record(IrrigationStatus.COMPLETED, DAY.plusDays(1).atTime(6, 0), 60.0, 20);
+        entityManager.flush();
+
+        rollupService.rebuild(DAY, DAY.plusDays(1));
+        entityManager.clear();
+
+        assertThat(dailyUsageRepository.count()).isEqualTo(2);
+        assertThat(dailyUsageRepository.findEarliestUsageDate()).isEqualTo(DAY);
+    }
+
+    @Test
+    void unfinishedIrrigationsAreRejected() {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setStatus(IrrigationStatus.FAILED);
+
+        assertThatThrownBy(() -> rollupService.recordFinished(irrigation))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Persist a finished irrigation and add it to the rollup, as the execution service does
+     */
+    private void record(IrrigationStatus status, LocalDateTime finished, double waterLiters, int durationMinutes) {
+        Irrigation irrigation = new Irrigation();
+        irrigation.setParcel(parcel);
+        irrigation.setStatus(status);
+        irrigation.setScheduledDatetime(finished.minusMinutes(durationMinutes));
+        irrigation.setFinishedDatetime(finished);
+        irrigation.setWaterAmountLiters(waterLiters);
+        irrigation.setDurationMinutes(durationMinutes);
+        entityManager.persist(irrigation);
+        rollupService.recordFinished(irrigation);
+    }
+
+    private List<String> rows() {
+        return dailyUsageRepository.findAll().stream()
+                .sorted(Comparator.comparing((IrrigationDailyUsage u) -> u.getId().getUsageDate())
+                        .thenComparing(u -> u.getId().getStatus()))
+                .map(u -> u.getId().getUsageDate() + " " + u.getId().getStatus() + " " + u.getWaterLiters()
+                        + " " + u.getDurationMinutes() + " " + u.getIrrigationCount())
+                .toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.JwtCacheConfig;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceImplTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("a-test-secret-that-is-long-enough-for-hs256".getBytes());
+
+    private final UserDetails farmer = new User("farmer@example.com", "secret", List.of());
+
+    private JwtCacheConfig cacheConfig;
+    private VerifiedTokenCache tokenCache;
+    private JwtServiceImpl jwtService;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new JwtCacheConfig();
+        tokenCache = new VerifiedTokenCache(cacheConfig);
+        jwtService = new JwtServiceImpl(SECRET, 60_000, 600_000, tokenCache);
+    }
+
+    @Test
+    void verifiesEachTokenOnceAcrossAuthenticatedRequests() {
+        String token = jwtService.generateAccessToken(farmer);
+
+        for (int request = 0; request < 3; request++) {
+            assertThat(jwtService.extractUsername(token)).isEqualTo("farmer@example.com");
+            assertThat(jwtService.isTokenValid(token, farmer)).isTrue();
+        }
+
+        assertThat(tokenCache.getMissCount()).isEqualTo(1);
+        assertThat(tokenCache.getHitCount()).isEqualTo(5);
+        assertThat(jwtService.isTokenValid(token, new User("other@example.com", "secret", List.of()))).isFalse();
+    }
+
+    @Test
+    void rejectsTamperedTokensWithoutCachingThem() {
+        String token = jwtService.generateAccessToken(farmer);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.extractUsername(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtService.extractUsername(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(tokenCache.size()).isZero();
+    }
+
+    @Test
+    void cachedTokensExpireWithTheToken() throws InterruptedException {
+        // exp is stored in whole seconds, so a two second lifetime leaves at least one second to verify it
+        JwtServiceImpl shortLived = new JwtServiceImpl(SECRET, 2_000, 2_000, tokenCache);
+        String token = shortLived.generateAccessToken(farmer);
+        assertThat(shortLived.isTokenValid(token, farmer)).isTrue();
+
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> shortLived.isTokenValid(token, farmer)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(tokenCache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedToken() {
+        cacheConfig.setMaxEntries(1);
+        String first = jwtService.generateAccessToken(farmer);
+        String second = jwtService.generateRefreshToken(farmer);
+
+        jwtService.extractUsername(first);
+        jwtService.extractUsername(second);
+        jwtService.extractUsername(first);
+
+        assertThat(tokenCache.size()).isEqualTo(1);
+        assertThat(tokenCache.getMissCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,176 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.dto.response.IrrigationResponseDTO;
+import com.finki.agrimanagement.dto.response.PageResponseDTO;
+import com.finki.agrimanagement.dto.response.ParcelResponseDTO;
+import com.finki.agrimanagement.entity.Crop;
+import com.finki.agrimanagement.entity.Farm;
+import com.finki.agrimanagement.entity.Irrigation;
+import com.finki.agrimanagement.entity.Parcel;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.IrrigationStatus;
+import com.finki.agrimanagement.enums.Role;
+import com.finki.agrimanagement.mapper.IrrigationMapperImpl;
+import com.finki.agrimanagement.mapper.ParcelMapperImpl;
+import com.finki.agrimanagement.scheduler.IrrigationDueIndex;
+import com.finki.agrimanagement.service.EmailNotificationService;
+import com.finki.agrimanagement.service.IrrigationService;
+import com.finki.agrimanagement.service.ParcelService;
+import com.finki.agrimanagement.service.WeatherService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Walks the keyset-paginated lists page by page and checks that together the pages hold every row
+ * exactly once, in the order the unpaginated lists used to return.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({IrrigationServiceImpl.class, IrrigationMapperImpl.class, ParcelServiceImpl.class, ParcelMapperImpl.class})
+class KeysetPaginationTest {
+
+    private static final int PAGE_SIZE = 7;
+
+    @Autowired
+    private IrrigationService irrigationService;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private IrrigationDueIndex irrigationDueIndex;
+
+    @MockitoBean
+    private WeatherService weatherService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @BeforeEach
+    void seed() {
+        User user = User.builder()
+                .firstName("Page")
+                .lastName("User")
+                .email("page-test@example.com")
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+        entityManager.persist(user);
+
+        Crop crop = new Crop();
+        crop.setName("Corn");
+        entityManager.persist(crop);
+
+        Farm farm = new Farm();
+        farm.setName("Paged Farm");
+        farm.setUser(user);
+        entityManager.persist(farm);
+
+        // The schema allows farms without a user, their parcels and irrigations must still be listed
+        Farm userlessFarm = new Farm();
+        userlessFarm.setName("Userless Farm");
+        entityManager.persist(userlessFarm);
+
+        // Several rows share a scheduled time, so the id has to break the tie between pages
+        LocalDateTime base = LocalDateTime.of(2026, 5, 1, 6, 0);
+        IrrigationStatus[] statuses = IrrigationStatus.values();
+        for (int p = 0; p < 5; p++) {
+            Parcel parcel = new Parcel();
+            parcel.setName("Parcel " + p);
+            parcel.setArea(50.0);
+            parcel.setFarm(p == 4 ? userlessFarm : farm);
+            parcel.setCrop(p % 2 == 0 ? crop : null);
+            entityManager.persist(parcel);
+
+            for (int i = 0; i < 12; i++) {
+                Irrigation irrigation = new Irrigation();
+                irrigation.setParcel(parcel);
+                irrigation.setScheduledDatetime(base.plusHours(i % 3));
+                irrigation.setStatus(statuses[(p + i) % statuses.length]);
+                entityManager.persist(irrigation);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void irrigationPagesFollowStatusPriorityWithoutGapsOrDuplicates() {
+        List<IrrigationResponseDTO> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponseDTO<IrrigationResponseDTO> page = irrigationService.getAllIrrigations(cursor, PAGE_SIZE);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = entityManager.createQuery("SELECT i FROM Irrigation i", Irrigation.class)
+                .getResultList().stream()
+                .sorted((a, b) -> {
+                    int byStatus = Integer.compare(priority(a.getStatus()), priority(b.getStatus()));
+                    if (byStatus != 0) {
+                        return byStatus;
+                    }
+                    int byTime = a.getScheduledDatetime().compareTo(b.getScheduledDatetime());
+                    return byTime != 0 ? byTime : a.getId().compareTo(b.getId());
+                })
+                .map(Irrigation::getId)
+                .toList();
+        assertThat(walked).extracting(IrrigationResponseDTO::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void parcelPagesAreOrderedByIdWithoutGapsOrDuplicates() {
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponseDTO<ParcelResponseDTO> page = parcelService.getAllParcels(cursor, 2);
+            page.getItems().forEach(parcel -> walked.add(parcel.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = entityManager.createQuery("SELECT p.id FROM Parcel p ORDER BY p.id", Long.class)
+                .getResultList();
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> irrigationService.getAllIrrigations("not-a-cursor", PAGE_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> irrigationService.getAllIrrigations(KeysetCursor.encode(1L), PAGE_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parcelService.getAllParcels(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int priority(IrrigationStatus status) {
+        return switch (status) {
+            case IN_PROGRESS -> 1;
+            case RETRYING -> 2;
+            case SCHEDULED -> 3;
+            case FAILED -> 4;
+            case STOPPED -> 5;
+            case CANCELLED -> 6;
+            case COMPLETED -> 7;
+        };
+    }
+}
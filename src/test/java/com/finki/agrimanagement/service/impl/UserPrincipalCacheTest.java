@@ -0,0 +1,115 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.UserCacheConfig;
+import com.finki.agrimanagement.entity.User;
+import com.finki.agrimanagement.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserPrincipalCacheTest {
+
+    private UserCacheConfig cacheConfig;
+    private AtomicInteger databaseReads;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new UserCacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        databaseReads = new AtomicInteger();
+    }
+
+    @Test
+    void servesRepeatedRequestsFromTheCacheWithSeparateCopies() {
+        UserPrincipalCache cache = new UserPrincipalCache(cacheConfig, meterRegistry);
+
+        User first = cache.get("farmer@example.com", this::load);
+        User second = cache.get("farmer@example.com", this::load);
+        second.setRole(Role.ADMIN);
+
+        assertThat(databaseReads).hasValue(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(cache.get("farmer@example.com", this::load).getRole()).isEqualTo(Role.MANAGER);
+        assertThat(cache.getHitRate()).isEqualTo(2 / 3.0);
+        assertThat(meterRegistry.get("security.user-cache.hits").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("security.user-cache.misses").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void userLoadedWhileItWasEvictedIsNotCached() {
+        UserPrincipalCache cache = new UserPrincipalCache(cacheConfig, meterRegistry);
+
+        cache.get("farmer@example.com", email -> {
+            User stale = load(email);
+            cache.evict(email);
+            return stale;
+        });
+        cache.get("farmer@example.com", this::load);
+
+        assertThat(databaseReads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictedAndExpiredUsersAreReadAgain() {
+        UserPrincipalCache cache = new UserPrincipalCache(cacheConfig, meterRegistry);
+        cache.get("farmer@example.com", this::load);
+        cache.evict("farmer@example.com");
+        cache.get("farmer@example.com", this::load);
+        assertThat(databaseReads).hasValue(2);
+
+        cacheConfig.setTtl(Duration.ZERO);
+        UserPrincipalCache expiring = new UserPrincipalCache(cacheConfig, meterRegistry);
+        expiring.get("farmer@example.com", this::load);
+        expiring.get("farmer@example.com", this::load);
+        assertThat(databaseReads).hasValue(4);
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        UserPrincipalCache cache = new UserPrincipalCache(cacheConfig, meterRegistry);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.get("nobody@example.com", email -> {
+                databaseReads.incrementAndGet();
+                throw new UsernameNotFoundException("User not found");
+            })).isInstanceOf(UsernameNotFoundException.class);
+        }
+
+        assertThat(databaseReads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void disabledCacheAlwaysReadsTheDatabase() {
+        cacheConfig.setEnabled(false);
+        UserPrincipalCache cache = new UserPrincipalCache(cacheConfig, meterRegistry);
+
+        cache.get("farmer@example.com", this::load);
+        cache.get("farmer@example.com", this::load);
+
+        assertThat(databaseReads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private User load(String email) {
+        databaseReads.incrementAndGet();
+        return User.builder()
+                .id(1L)
+                .firstName("Farmer")
+                .lastName("Example")
+                .email(email)
+                .password("secret")
+                .role(Role.MANAGER)
+                .enabled(true)
+                .build();
+    }
+}
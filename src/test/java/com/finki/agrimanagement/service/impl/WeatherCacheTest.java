@@ -0,0 +1,117 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.WeatherCacheConfig;
+import com.finki.agrimanagement.dto.weather.CurrentWeatherResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherCacheTest {
+
+    private WeatherCacheConfig cacheConfig;
+    private AtomicInteger upstreamCalls;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new WeatherCacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void neighbouringCoordinatesShareOneUpstreamCall() {
+        WeatherCache cache = new WeatherCache(cacheConfig, meterRegistry);
+
+        CurrentWeatherResponseDTO first = cache.get(41.9961, 21.4312, this::fetch);
+        CurrentWeatherResponseDTO second = cache.get(41.9969, 21.4395, this::fetch);
+        cache.get(42.0061, 21.4312, this::fetch);
+
+        assertThat(second).isSameAs(first);
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("weather.cache.hits").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("weather.cache.misses").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntriesAreFetchedAgain() {
+        cacheConfig.setTtl(Duration.ZERO);
+        WeatherCache cache = new WeatherCache(cacheConfig, meterRegistry);
+
+        cache.get(41.99, 21.43, this::fetch);
+        cache.get(41.99, 21.43, this::fetch);
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedCell() {
+        cacheConfig.setMaxEntries(2);
+        WeatherCache cache = new WeatherCache(cacheConfig, meterRegistry);
+
+        cache.get(41.001, 21.001, this::fetch);
+        cache.get(42.001, 21.001, this::fetch);
+        cache.get(41.001, 21.001, this::fetch);
+        cache.get(43.001, 21.001, this::fetch);
+        cache.get(41.001, 21.001, this::fetch);
+        cache.get(42.001, 21.001, this::fetch);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    void concurrentMissesForOneCellAreCoalesced() throws Exception {
+        WeatherCache cache = new WeatherCache(cacheConfig, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+
+        List<Future<CurrentWeatherResponseDTO>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(41.99, 21.43, (lat, lon) -> {
+                    await(release);
+                    return fetch(lat, lon);
+                })));
+            }
+            while (cache.getCoalescedCount() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+
+        for (Future<CurrentWeatherResponseDTO> result : results) {
+            assertThat(result.get()).isSameAs(results.get(0).get());
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getCoalescedCount()).isEqualTo(callers - 1);
+        assertThat(meterRegistry.get("weather.cache.coalesced").functionCounter().count()).isEqualTo(callers - 1);
+    }
+
+    private CurrentWeatherResponseDTO fetch(Double latitude, Double longitude) {
+        upstreamCalls.incrementAndGet();
+        return new CurrentWeatherResponseDTO();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.finki.agrimanagement.service.impl;
+
+import com.finki.agrimanagement.config.WeatherCacheConfig;
+import com.finki.agrimanagement.dto.weather.CoordDTO;
+import com.finki.agrimanagement.dto.weather.RainCheckResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherServiceImplTest {
+
+    private static final String RAIN = """
+            {"weather":[{"main":"Rain","description":"light rain"}]}""";
+    private static final String CLEAR = """
+            {"weather":[{"main":"Clear","description":"clear sky"}]}""";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+    @Test
+    void bulkRainCheckFetchesEachWeatherCellOnceAndConcurrently() {
+        WeatherServiceImpl weatherService = weatherService(2);
+        List<CoordDTO> locations = new ArrayList<>();
+        for (int cell = 0; cell < 6; cell++) {
+            for (int parcel = 0; parcel < 5; parcel++) {
+                locations.add(new CoordDTO(21.401 + parcel * 0.001, 41.901 + cell * 0.1));
+            }
+        }
+
+        Map<CoordDTO, RainCheckResultDTO> results = weatherService.checkRainConditions(locations);
+
+        assertThat(upstreamCalls).hasValue(6);
+        assertThat(maxConcurrentCalls).hasValue(2);
+        assertThat(results).hasSize(30);
+        assertThat(results.get(locations.get(0)).isRaining()).isFalse();
+        assertThat(results.get(locations.get(29)).isRaining()).isTrue();
+        assertThat(results.get(locations.get(29)).getRecommendation()).isEqualTo("SKIP_IRRIGATION");
+
+        weatherService.checkRainConditions(locations);
+        assertThat(upstreamCalls).hasValue(6);
+    }
+
+    @Test
+    void singleRainCheckFallsBackWhenTheUpstreamDoesNotAnswerInTime() {
+        WebClient.Builder hangingUpstream = WebClient.builder().exchangeFunction(request -> Mono.never());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WeatherServiceImpl weatherService = new WeatherServiceImpl(hangingUpstream, "http://weather.test", "key",
+                2, Duration.ofMillis(100), new WeatherCache(new WeatherCacheConfig(), meterRegistry), meterRegistry);
+
+        RainCheckResultDTO result = weatherService.checkRainConditions(41.9, 21.4);
+
+        assertThat(result.getRecommendation()).isEqualTo("PROCEED_WITH_IRRIGATION");
+        assertThat(meterRegistry.get("weather.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    private WeatherServiceImpl weatherService(int maxConcurrentRequests) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            upstreamCalls.incrementAndGet();
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            double latitude = Double.parseDouble(UriComponentsBuilder.fromUri(request.url()).build()
+                    .getQueryParams().getFirst("lat"));
+            ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(latitude > 42.3 ? RAIN : CLEAR)
+                    .build();
+            return Mono.just(response)
+                    .delayElement(Duration.ofMillis(50))
+                    .doOnNext(r -> concurrentCalls.decrementAndGet());
+        });
+        return new WeatherServiceImpl(webClientBuilder, "http://weather.test", "key",
+                maxConcurrentRequests, Duration.ofSeconds(5), new WeatherCache(new WeatherCacheConfig(), meterRegistry),
+                meterRegistry);
+    }
+}